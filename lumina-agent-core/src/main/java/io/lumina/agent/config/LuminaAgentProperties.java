@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Lumina Agent 配置属性
  *
@@ -22,6 +27,101 @@ public class LuminaAgentProperties {
      */
     private LLMConfig llm = new LLMConfig();
 
+    /**
+     * Agent 实例池配置
+     */
+    private PoolConfig pool = new PoolConfig();
+
+    /**
+     * 执行器配置
+     */
+    private ExecutorConfig executor = new ExecutorConfig();
+
+    /**
+     * 准入控制（舱壁隔离）配置
+     */
+    private BulkheadConfig bulkhead = new BulkheadConfig();
+
+    /**
+     * 租户与业务类型配额配置
+     */
+    private QuotaConfig quota = new QuotaConfig();
+
+    /**
+     * 批量执行配置
+     */
+    private BatchConfig batch = new BatchConfig();
+
+    /**
+     * LLM 响应缓存配置
+     */
+    private ResponseCacheConfig responseCache = new ResponseCacheConfig();
+
+    /**
+     * 工具结果缓存配置
+     */
+    private ToolCacheConfig toolCache = new ToolCacheConfig();
+
+    /**
+     * 请求合并（Single-Flight）配置
+     */
+    private CoalesceConfig coalesce = new CoalesceConfig();
+
+    /**
+     * 执行截止时间配置
+     */
+    private DeadlineConfig deadline = new DeadlineConfig();
+
+    /**
+     * 执行时间线配置
+     */
+    private TimelineConfig timeline = new TimelineConfig();
+
+    /**
+     * 提示词模板配置
+     */
+    private PromptConfig prompt = new PromptConfig();
+
+    /**
+     * 会话记忆配置
+     */
+    private MemoryConfig memory = new MemoryConfig();
+
+    /**
+     * 对冲请求配置
+     */
+    private HedgeConfig hedge = new HedgeConfig();
+
+    /**
+     * 模型熔断配置
+     */
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    /**
+     * 多 Agent 执行配置（PlanAndExecute / MultiAgent）
+     */
+    private MultiAgentConfig multiAgent = new MultiAgentConfig();
+
+    /**
+     * 工具调用配置
+     */
+    private ToolCallConfig toolCall = new ToolCallConfig();
+
+    /**
+     * 工具执行器（按分类隔离）配置
+     */
+    private ToolExecutorConfig toolExecutor = new ToolExecutorConfig();
+
+    /**
+     * 模拟模型配置
+     */
+    private SimulatorConfig simulator = new SimulatorConfig();
+
+    /**
+     * 启动预热配置
+     */
+    private WarmupConfig warmup = new WarmupConfig();
+
     /**
      * LLM 配置
      */
@@ -38,7 +138,7 @@ public class LuminaAgentProperties {
         private String model = "qwen-plus";
 
         /**
-         * 模型类型（dashscope/openai/claude，默认：dashscope）
+         * 模型类型（dashscope/openai/claude/simulator，默认：dashscope）
          */
         private String type = "dashscope";
 
@@ -67,5 +167,753 @@ public class LuminaAgentProperties {
          */
         private Boolean enableThinking = false;
     }
-}
 
+    /**
+     * Agent 实例池配置
+     */
+    @Data
+    public static class PoolConfig {
+        /**
+         * 是否启用实例池（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 每个配置指纹最多保留的空闲实例数（默认：8）
+         */
+        private Integer maxIdlePerKey = 8;
+
+        /**
+         * 全部配置指纹合计最多保留的空闲实例数（默认：64）
+         */
+        private Integer maxIdleTotal = 64;
+
+        /**
+         * 空闲实例过期时间（秒，默认：300）
+         */
+        private Long idleTimeout = 300L;
+
+        /**
+         * 空闲实例清理间隔（秒，默认：60）
+         */
+        private Long evictionInterval = 60L;
+    }
+
+    /**
+     * 执行器配置
+     */
+    @Data
+    public static class ExecutorConfig {
+        /**
+         * 执行器类型（virtual/bounded-elastic，默认：bounded-elastic）
+         *
+         * <p>virtual 模式下 Agent 执行、工具调用以及 Web 容器请求处理均使用虚拟线程。
+         */
+        private String type = "bounded-elastic";
+
+        /**
+         * 虚拟线程名称前缀（默认：lumina-agent-vt-）
+         */
+        private String threadNamePrefix = "lumina-agent-vt-";
+    }
+
+    /**
+     * 准入控制（舱壁隔离）配置
+     *
+     * <p>每个业务类型一个舱壁，超过最大并发的请求进入有界等待队列，队列已满或等待超时则快速拒绝。
+     */
+    @Data
+    public static class BulkheadConfig {
+        /**
+         * 是否启用准入控制（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 默认最大并发执行数（默认：50）
+         */
+        private Integer maxConcurrency = 50;
+
+        /**
+         * 默认最大等待队列长度（默认：100）
+         */
+        private Integer maxQueueSize = 100;
+
+        /**
+         * 默认排队超时时间（毫秒，默认：2000）
+         */
+        private Long queueTimeout = 2000L;
+
+        /**
+         * 按业务类型覆盖的规则（业务类型 -> 规则）
+         */
+        private Map<String, BulkheadRule> businessTypes = new HashMap<>();
+    }
+
+    /**
+     * 业务类型舱壁规则（为空的字段使用默认配置）
+     */
+    @Data
+    public static class BulkheadRule {
+        /**
+         * 最大并发执行数
+         */
+        private Integer maxConcurrency;
+
+        /**
+         * 最大等待队列长度
+         */
+        private Integer maxQueueSize;
+
+        /**
+         * 排队超时时间（毫秒）
+         */
+        private Long queueTimeout;
+    }
+
+    /**
+     * 配额配置
+     *
+     * <p>按租户和业务类型分别限制每分钟请求数和每分钟 Token 数（令牌桶，状态保存在 Redis 中由各节点共享）。
+     * 各节点从 Redis 预取一小批额度到本地租约，热路径不必每次访问 Redis。
+     * 额度不足时在等待上限内延后执行，仍不足则快速拒绝（429）。
+     */
+    @Data
+    public static class QuotaConfig {
+        /**
+         * 是否启用配额（默认：false）
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 每个租户的默认配额（为空的字段表示不限制）
+         */
+        private QuotaRule tenant = new QuotaRule();
+
+        /**
+         * 按租户覆盖的配额（租户 ID -> 配额）
+         */
+        private Map<String, QuotaRule> tenants = new HashMap<>();
+
+        /**
+         * 每个业务类型的默认配额（为空的字段表示不限制）
+         */
+        private QuotaRule businessType = new QuotaRule();
+
+        /**
+         * 按业务类型覆盖的配额（业务类型 -> 配额）
+         */
+        private Map<String, QuotaRule> businessTypes = new HashMap<>();
+
+        /**
+         * 单次预取的租约额度占每分钟配额的比例（默认：0.02，至少为 1）
+         */
+        private Double leaseRatio = 0.02;
+
+        /**
+         * 本地租约有效期（毫秒，默认：1000，过期后未使用的额度在下次预取时归还）
+         */
+        private Long leaseTtl = 1000L;
+
+        /**
+         * 额度不足时最长延后等待时间（毫秒，默认：2000，0 表示直接拒绝；不超过执行截止时间）
+         */
+        private Long maxWait = 2000L;
+
+        /**
+         * 执行前预扣的输出 Token 数（默认：500，执行结束后按实际用量多退少补）
+         */
+        private Integer estimatedOutputTokens = 500;
+    }
+
+    /**
+     * 配额规则
+     */
+    @Data
+    public static class QuotaRule {
+        /**
+         * 每分钟请求数
+         */
+        private Long requestsPerMinute;
+
+        /**
+         * 每分钟 Token 数（输入 + 输出）
+         */
+        private Long tokensPerMinute;
+    }
+
+    /**
+     * 批量执行配置
+     */
+    @Data
+    public static class BatchConfig {
+        /**
+         * 默认并发数（默认：8）
+         */
+        private Integer defaultParallelism = 8;
+
+        /**
+         * 最大并发数（默认：64）
+         */
+        private Integer maxParallelism = 64;
+
+        /**
+         * 单批最大任务数（默认：10000）
+         */
+        private Integer maxBatchSize = 10000;
+    }
+
+    /**
+     * LLM 响应缓存配置
+     *
+     * <p>两级缓存：进程内 LRU（L1）+ Redis（L2）。命中时直接返回缓存结果，不再调用 LLM。
+     * <p>只对 Agent 实际挂载的工具全部可缓存（{@code @AgentTool(cacheable = true)} 且 ttl 大于 0）的执行生效。
+     * 工具集包含写工具或不可缓存工具时（包括未配置工具子集、默认挂载全部工具的 Agent），响应缓存不生效；
+     * 需要使用时，通过 Agent 的工具配置（{@code toolConfig.tools}）只挂载只读可缓存的工具。
+     */
+    @Data
+    public static class ResponseCacheConfig {
+        /**
+         * 是否启用响应缓存（默认：false）
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 进程内缓存最大条目数（默认：1000）
+         */
+        private Integer localMaxSize = 1000;
+
+        /**
+         * 是否启用 Redis 二级缓存（默认：true，未配置 Redis 时自动跳过）
+         */
+        private Boolean redisEnabled = true;
+
+        /**
+         * 默认缓存过期时间（秒，默认：600）
+         */
+        private Long ttl = 600L;
+
+        /**
+         * 按业务类型覆盖的规则（业务类型 -> 规则）
+         */
+        private Map<String, ResponseCacheRule> businessTypes = new HashMap<>();
+    }
+
+    /**
+     * 业务类型响应缓存规则（为空的字段使用默认配置）
+     */
+    @Data
+    public static class ResponseCacheRule {
+        /**
+         * 是否启用缓存
+         */
+        private Boolean enabled;
+
+        /**
+         * 缓存过期时间（秒）
+         */
+        private Long ttl;
+    }
+
+    /**
+     * 工具结果缓存配置
+     *
+     * <p>只对声明为可缓存（{@code @AgentTool(cacheable = true)}）的工具生效，过期时间由工具声明。
+     */
+    @Data
+    public static class ToolCacheConfig {
+        /**
+         * 是否启用工具结果缓存和执行内去重（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 进程内缓存最大条目数（默认：10000）
+         */
+        private Integer maxSize = 10000;
+    }
+
+    /**
+     * 请求合并（Single-Flight）配置
+     *
+     * <p>相同业务类型、相同配置指纹、相同任务的并发执行只运行一次，其余请求订阅首个请求的结果。
+     * <p>与响应缓存相同，只对 Agent 实际挂载的工具全部可缓存的执行生效：工具集包含写工具或不可缓存工具时
+     * （包括未配置工具子集、默认挂载全部工具的 Agent），请求合并不生效。
+     */
+    @Data
+    public static class CoalesceConfig {
+        /**
+         * 是否启用请求合并（默认：false）
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 单次执行最多合并的跟随请求数，超出后独立执行（默认：100）
+         */
+        private Integer maxFollowers = 100;
+
+        /**
+         * 按业务类型覆盖的规则（业务类型 -> 规则）
+         */
+        private Map<String, CoalesceRule> businessTypes = new HashMap<>();
+    }
+
+    /**
+     * 业务类型请求合并规则（为空的字段使用默认配置）
+     */
+    @Data
+    public static class CoalesceRule {
+        /**
+         * 是否启用请求合并
+         */
+        private Boolean enabled;
+
+        /**
+         * 单次执行最多合并的跟随请求数
+         */
+        private Integer maxFollowers;
+    }
+
+    /**
+     * 执行截止时间配置
+     *
+     * <p>请求未指定超时时间时使用默认值，指定的超时时间不能超过上限。
+     */
+    @Data
+    public static class DeadlineConfig {
+        /**
+         * 默认超时时间（毫秒，默认：120000）
+         */
+        private Long defaultTimeout = 120000L;
+
+        /**
+         * 最大超时时间（毫秒，默认：600000）
+         */
+        private Long maxTimeout = 600000L;
+    }
+
+    /**
+     * 执行时间线配置
+     */
+    @Data
+    public static class TimelineConfig {
+        /**
+         * 是否记录执行时间线（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 保留最近的时间线条数（环形缓冲区容量，默认：200）
+         */
+        private Integer capacity = 200;
+
+        /**
+         * 单次执行最多记录的步骤数（默认：256）
+         */
+        private Integer maxSteps = 256;
+
+        /**
+         * 是否在执行结果的 metadata 中返回时间线（默认：true）
+         */
+        private Boolean includeInResult = true;
+    }
+
+    /**
+     * 提示词模板配置
+     */
+    @Data
+    public static class PromptConfig {
+        /**
+         * 模板文件变更检查间隔（毫秒，默认：5000，0 表示不检查，修改后需手动刷新）
+         */
+        private Long reloadInterval = 5000L;
+
+        /**
+         * Agent 配置中内联模板的最大缓存个数（默认：256）
+         */
+        private Integer inlineCacheSize = 256;
+    }
+
+    /**
+     * 会话记忆配置
+     */
+    @Data
+    public static class MemoryConfig {
+        /**
+         * 会话记忆过期时间（秒，默认：604800，即 7 天）
+         */
+        private Long ttl = 604800L;
+
+        /**
+         * 每个会话最多保存的消息条数（默认：100）
+         */
+        private Integer maxSize = 100;
+
+        /**
+         * 加载历史的 Token 预算（估算值，默认：2000）
+         */
+        private Integer historyTokenBudget = 2000;
+
+        /**
+         * 加载历史时最多读取的消息条数（默认：40）
+         */
+        private Integer historyMaxMessages = 40;
+
+        /**
+         * 会话压缩配置
+         */
+        private CompactionConfig compaction = new CompactionConfig();
+    }
+
+    /**
+     * 会话压缩配置
+     *
+     * <p>会话消息的估算 Token 数超过阈值后，在后台把较早的消息连同已有摘要压缩为一条新摘要，
+     * 只保留最近的消息原文，每轮加载的历史大小保持稳定。
+     */
+    @Data
+    public static class CompactionConfig {
+        /**
+         * 是否启用会话压缩（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 触发压缩的会话消息 Token 数（估算值，默认：3000）
+         */
+        private Integer triggerTokens = 3000;
+
+        /**
+         * 压缩后保留原文的最近消息 Token 数（估算值，默认：1000）
+         */
+        private Integer keepRecentTokens = 1000;
+
+        /**
+         * 摘要最大 Token 数（默认：400）
+         */
+        private Integer maxSummaryTokens = 400;
+
+        /**
+         * 摘要模型类型（为空时使用全局 LLM 配置；simulator 使用本地模拟模型）
+         */
+        private String modelType;
+
+        /**
+         * 摘要模型名称（为空时使用全局 LLM 配置，建议使用低成本模型）
+         */
+        private String modelName;
+
+        /**
+         * 摘要生成超时时间（毫秒，默认：30000）
+         */
+        private Long timeout = 30000L;
+    }
+
+    /**
+     * 对冲请求配置
+     *
+     * <p>主模型在对冲延迟内未返回首个响应时，向备用模型（或备用端点）发起相同请求，先返回者胜出，另一个被取消。
+     */
+    @Data
+    public static class HedgeConfig {
+        /**
+         * 是否启用对冲请求（默认：false）
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 备用模型名称（为空时使用主模型）
+         */
+        private String model;
+
+        /**
+         * 备用端点 API Key（为空时使用主模型的 API Key）
+         */
+        private String apiKey;
+
+        /**
+         * 备用端点 Base URL（为空时使用默认端点）
+         */
+        private String baseUrl;
+
+        /**
+         * 对冲延迟取主模型首个响应耗时的百分位（默认：95）
+         */
+        private Double delayPercentile = 95.0;
+
+        /**
+         * 样本不足时使用的对冲延迟（毫秒，默认：3000）
+         */
+        private Long initialDelay = 3000L;
+
+        /**
+         * 对冲延迟下限（毫秒，默认：200）
+         */
+        private Long minDelay = 200L;
+
+        /**
+         * 对冲延迟上限（毫秒，默认：15000）
+         */
+        private Long maxDelay = 15000L;
+
+        /**
+         * 计算百分位所需的最少样本数（默认：20）
+         */
+        private Integer minSamples = 20;
+
+        /**
+         * 保留的最近样本数（默认：512）
+         */
+        private Integer sampleWindow = 512;
+
+        /**
+         * 对冲请求数占主请求数的比例上限（默认：0.05）
+         */
+        private Double maxHedgeRatio = 0.05;
+    }
+
+    /**
+     * 模型熔断配置
+     *
+     * <p>按模型统计最近调用的失败率和慢调用率，超过阈值时熔断，熔断期间请求直接失败，不再等待模型超时。
+     */
+    @Data
+    public static class CircuitBreakerConfig {
+        /**
+         * 是否启用熔断（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 统计窗口大小（最近 N 次调用，默认：50）
+         */
+        private Integer windowSize = 50;
+
+        /**
+         * 计算失败率所需的最少调用数（默认：20）
+         */
+        private Integer minimumCalls = 20;
+
+        /**
+         * 失败率阈值（百分比，默认：50）
+         */
+        private Double failureRateThreshold = 50.0;
+
+        /**
+         * 慢调用率阈值（百分比，默认：80）
+         */
+        private Double slowCallRateThreshold = 80.0;
+
+        /**
+         * 慢调用耗时阈值（毫秒，默认：30000）
+         */
+        private Long slowCallDuration = 30000L;
+
+        /**
+         * 熔断持续时间（毫秒，默认：30000，之后进入半开状态放行探测请求）
+         */
+        private Long openDuration = 30000L;
+
+        /**
+         * 半开状态放行的探测请求数（全部成功后恢复，默认：3）
+         */
+        private Integer halfOpenProbes = 3;
+    }
+
+    /**
+     * 多 Agent 执行配置
+     */
+    @Data
+    public static class MultiAgentConfig {
+        /**
+         * 单个任务最多拆分的子任务数（默认：5）
+         */
+        private Integer maxSubtasks = 5;
+
+        /**
+         * 子任务最大并发数（默认：3）
+         */
+        private Integer maxConcurrency = 3;
+    }
+
+    /**
+     * 工具调用配置
+     *
+     * <p>模型在同一步骤中返回多个工具调用时并发执行，并发数受步骤内上限约束；
+     * 声明为不可并行（parallelSafe = false）的工具独占执行。
+     */
+    @Data
+    public static class ToolCallConfig {
+        /**
+         * 是否并发执行同一步骤的工具调用（默认：true）
+         */
+        private Boolean parallel = true;
+
+        /**
+         * 单个步骤内工具调用的最大并发数（默认：4）
+         */
+        private Integer maxParallelism = 4;
+
+        /**
+         * 任一工具调用失败时是否取消同一步骤中的其他调用（默认：true）
+         */
+        private Boolean failFast = true;
+    }
+
+    /**
+     * 工具执行器配置
+     *
+     * <p>每个工具分类一个独立的有界执行器（舱壁），慢工具只占满所在分类的线程和队列，不影响其他分类和 Agent 执行。
+     * 队列已满时直接拒绝，超过超时时间的调用被取消，均以错误结果返回给模型。
+     */
+    @Data
+    public static class ToolExecutorConfig {
+        /**
+         * 是否按分类隔离工具执行（默认：true，关闭时工具调用使用 Agent 执行器）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 默认每个分类的最大并发执行数（默认：16）
+         */
+        private Integer maxConcurrency = 16;
+
+        /**
+         * 默认每个分类的最大等待队列长度（默认：64）
+         */
+        private Integer maxQueueSize = 64;
+
+        /**
+         * 默认工具执行超时时间（毫秒，含排队时间，默认：30000）
+         */
+        private Long timeout = 30000L;
+
+        /**
+         * 按工具分类覆盖的规则（分类 -> 规则）
+         */
+        private Map<String, ToolExecutorRule> categories = new HashMap<>();
+    }
+
+    /**
+     * 工具分类执行器规则（为空的字段使用默认配置）
+     */
+    @Data
+    public static class ToolExecutorRule {
+        /**
+         * 最大并发执行数
+         */
+        private Integer maxConcurrency;
+
+        /**
+         * 最大等待队列长度
+         */
+        private Integer maxQueueSize;
+
+        /**
+         * 工具执行超时时间（毫秒）
+         */
+        private Long timeout;
+    }
+
+    /**
+     * 模拟模型配置
+     *
+     * <p>模型类型为 {@code simulator} 时使用本地模拟模型，不访问网络、不消耗 Token，用于压测和容量评估。
+     */
+    @Data
+    public static class SimulatorConfig {
+        /**
+         * 首个 Token 延迟（毫秒，默认：800）
+         */
+        private Long firstTokenLatency = 800L;
+
+        /**
+         * 延迟抖动比例（0-1，默认：0.2，即在 ±20% 范围内随机）
+         */
+        private Double latencyJitter = 0.2;
+
+        /**
+         * 输出速度（Token/秒，默认：50）
+         */
+        private Double tokensPerSecond = 50.0;
+
+        /**
+         * 最终回答的 Token 数（默认：200）
+         */
+        private Integer outputTokens = 200;
+
+        /**
+         * 每个流式分片的 Token 数（默认：8）
+         */
+        private Integer chunkTokens = 8;
+
+        /**
+         * 工具调用脚本（每个元素对应一个推理步骤，元素内多个工具名以逗号分隔，* 表示全部可用工具；
+         * 脚本执行完后返回最终回答）
+         */
+        private List<String> toolCallScript = new ArrayList<>();
+
+        /**
+         * 错误注入比例（0-1，默认：0，在首个 Token 前返回错误）
+         */
+        private Double errorRate = 0.0;
+
+        /**
+         * 卡死注入比例（0-1，默认：0，不返回任何响应直到被取消，用于验证超时控制）
+         */
+        private Double stallRate = 0.0;
+    }
+
+    /**
+     * 启动预热配置
+     *
+     * <p>应用启动时、Web 服务器开始监听和注册到 Nacos 之前，预加载业务类型配置、提示词模板、工具集和模型客户端，
+     * 并使用桩模型执行合成请求预热 JIT，预热完成后才开始接收流量。
+     */
+    @Data
+    public static class WarmupConfig {
+        /**
+         * 是否启用启动预热（默认：true）
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 预热总超时时间（毫秒，默认：60000，超时后跳过剩余预热直接接收流量）
+         */
+        private Long timeout = 60000L;
+
+        /**
+         * 需要预热的业务类型（ClassPath agent-config 目录下的业务类型自动发现，仅在 Nacos 中维护的需在此列出）
+         */
+        private List<String> businessTypes = new ArrayList<>();
+
+        /**
+         * 每个业务类型预先创建的池化 Agent 实例数（默认：2，不超过实例池单指纹空闲上限）
+         */
+        private Integer pooledAgents = 2;
+
+        /**
+         * 每个业务类型的合成执行次数（默认：20，0 表示不执行）
+         */
+        private Integer syntheticExecutions = 20;
+
+        /**
+         * 合成执行并发数（默认：4）
+         */
+        private Integer concurrency = 4;
+
+        /**
+         * 合成执行使用的桩模型（默认无延迟、不调用工具；如需预热工具调用路径，只应在脚本中列出只读工具）
+         */
+        private SimulatorConfig stubModel = defaultStubModel();
+
+        private static SimulatorConfig defaultStubModel() {
+            SimulatorConfig stubModel = new SimulatorConfig();
+            stubModel.setFirstTokenLatency(0L);
+            stubModel.setLatencyJitter(0.0);
+            stubModel.setTokensPerSecond(100000.0);
+            stubModel.setOutputTokens(32);
+            return stubModel;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package io.lumina.agent.engine;
 
 import io.lumina.agent.model.AgentConfig;
+import io.lumina.agent.model.BatchItemResult;
+import io.lumina.agent.model.ExecuteChunk;
 import io.lumina.agent.model.ExecuteResult;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Agent 执行引擎接口
  *
@@ -34,6 +39,33 @@ public interface AgentExecutionEngine {
      */
     ExecuteResult executeSync(String businessType, String task, AgentConfig config);
 
+    /**
+     * 流式执行 Agent
+     *
+     * <p>推理过程、工具调用和文本增量产生后立即推送，最后推送完成或失败片段。
+     * 取消订阅会终止执行。
+     *
+     * @param businessType 业务类型
+     * @param task         任务描述
+     * @param config       Agent 配置
+     * @return 执行片段流
+     */
+    Flux<ExecuteChunk> stream(String businessType, String task, AgentConfig config);
+
+    /**
+     * 批量执行 Agent
+     *
+     * <p>配置、提示词模板和工具集只准备一次，任务按并发上限并行执行，结果按完成顺序返回。
+     * 单个任务失败不影响其他任务。
+     *
+     * @param businessType 业务类型
+     * @param tasks        任务描述列表
+     * @param config       Agent 配置
+     * @param parallelism  并发上限（为空时使用默认配置）
+     * @return 批量执行结果流（按完成顺序）
+     */
+    Flux<BatchItemResult> executeBatch(String businessType, List<String> tasks, AgentConfig config, Integer parallelism);
+
     /**
      * 获取引擎名称
      */
@@ -0,0 +1,161 @@
+package io.lumina.agent.engine.admission;
+
+import io.lumina.common.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agent 执行舱壁
+ *
+ * <p>限制单个业务类型的并发执行数。并发已满时请求进入有界等待队列，
+ * 队列已满或排队超时则抛出 {@link BusinessException#tooManyRequests(String)}，不会无限排队。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class AgentBulkhead {
+
+    /**
+     * 业务类型
+     */
+    @Getter
+    private final String businessType;
+
+    @Getter
+    private final int maxConcurrency;
+
+    @Getter
+    private final int maxQueueSize;
+
+    @Getter
+    private final long queueTimeout;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public AgentBulkhead(String businessType, int maxConcurrency, int maxQueueSize, long queueTimeout) {
+        this.businessType = businessType;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeout = queueTimeout;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * 申请执行许可（排队时间不超过给定上限）
+     *
+     * <p>获取成功后必须关闭返回的许可以归还并发名额。
+     *
+     * @param maxWait 最长排队时间（毫秒），实际排队时间取与配置值的较小者
+     * @return 执行许可
+     * @throws BusinessException 队列已满、排队超时或等待被中断时抛出（429）
+     */
+    public Permit acquire(long maxWait) {
+        if (permits.tryAcquire()) {
+            admittedCount.incrementAndGet();
+            return new Permit(this);
+        }
+
+        if (waiting.incrementAndGet() > maxQueueSize) {
+            waiting.decrementAndGet();
+            throw reject("Agent 执行繁忙，等待队列已满");
+        }
+
+        try {
+            if (!permits.tryAcquire(Math.min(queueTimeout, maxWait), TimeUnit.MILLISECONDS)) {
+                throw reject("Agent 执行繁忙，排队超时");
+            }
+            admittedCount.incrementAndGet();
+            return new Permit(this);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Agent 执行排队被中断");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * 归还执行许可
+     */
+    private void release() {
+        permits.release();
+    }
+
+    /**
+     * 当前执行中的数量
+     */
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * 当前排队中的数量
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * 饱和度（执行中数量 / 最大并发数）
+     */
+    public double getSaturation() {
+        return maxConcurrency > 0 ? (double) getActive() / maxConcurrency : 1.0d;
+    }
+
+    /**
+     * 获取舱壁统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("businessType", businessType);
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("maxQueueSize", maxQueueSize);
+        stats.put("queueTimeout", queueTimeout);
+        stats.put("active", getActive());
+        stats.put("waiting", getWaiting());
+        stats.put("saturation", getSaturation());
+        stats.put("admitted", admittedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        return stats;
+    }
+
+    private BusinessException reject(String reason) {
+        rejectedCount.incrementAndGet();
+        return BusinessException.tooManyRequests(reason + ": businessType=" + businessType);
+    }
+
+    /**
+     * 执行许可（重复关闭只归还一次）
+     */
+    public static class Permit implements AutoCloseable {
+
+        /**
+         * 未启用准入控制时使用的空许可
+         */
+        public static final Permit NOOP = new Permit(null);
+
+        private final AgentBulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AgentBulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void close() {
+            if (bulkhead != null && released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.lumina.agent.engine.admission;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 舱壁注册表
+ *
+ * <p>按业务类型懒创建 {@link AgentBulkhead}，规则来自 {@code lumina.agent.bulkhead} 配置。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BulkheadRegistry {
+
+    private final LuminaAgentProperties.BulkheadConfig bulkheadConfig;
+    private final Map<String, AgentBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadRegistry(LuminaAgentProperties agentProperties) {
+        this.bulkheadConfig = agentProperties.getBulkhead();
+    }
+
+    /**
+     * 是否启用准入控制
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(bulkheadConfig.getEnabled());
+    }
+
+    /**
+     * 申请业务类型的执行许可（排队时间不超过给定上限）
+     *
+     * @param businessType 业务类型
+     * @param maxWait      最长排队时间（毫秒）
+     * @return 执行许可
+     * @throws io.lumina.common.exception.BusinessException 超出容量时抛出（429）
+     */
+    public AgentBulkhead.Permit acquire(String businessType, long maxWait) {
+        if (!isEnabled()) {
+            return AgentBulkhead.Permit.NOOP;
+        }
+        return getBulkhead(businessType).acquire(maxWait);
+    }
+
+    /**
+     * 获取业务类型对应的舱壁
+     *
+     * @param businessType 业务类型
+     * @return 舱壁
+     */
+    public AgentBulkhead getBulkhead(String businessType) {
+        String key = businessType != null ? businessType : "default";
+        return bulkheads.computeIfAbsent(key, this::createBulkhead);
+    }
+
+    /**
+     * 获取全部舱壁统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (AgentBulkhead bulkhead : bulkheads.values()) {
+            stats.add(bulkhead.getStats());
+        }
+        return stats;
+    }
+
+    private AgentBulkhead createBulkhead(String businessType) {
+        LuminaAgentProperties.BulkheadRule rule = bulkheadConfig.getBusinessTypes().get(businessType);
+
+        int maxConcurrency = rule != null && rule.getMaxConcurrency() != null
+                ? rule.getMaxConcurrency() : bulkheadConfig.getMaxConcurrency();
+        int maxQueueSize = rule != null && rule.getMaxQueueSize() != null
+                ? rule.getMaxQueueSize() : bulkheadConfig.getMaxQueueSize();
+        long queueTimeout = rule != null && rule.getQueueTimeout() != null
+                ? rule.getQueueTimeout() : bulkheadConfig.getQueueTimeout();
+
+        log.info("创建 Agent 舱壁: businessType={}, maxConcurrency={}, maxQueueSize={}, queueTimeout={}ms",
+                businessType, maxConcurrency, maxQueueSize, queueTimeout);
+        return new AgentBulkhead(businessType, maxConcurrency, maxQueueSize, queueTimeout);
+    }
+}
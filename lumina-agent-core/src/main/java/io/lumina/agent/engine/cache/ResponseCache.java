@@ -0,0 +1,247 @@
+package io.lumina.agent.engine.cache;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLM 响应缓存
+ *
+ * <p>两级缓存：L1 为进程内有界 LRU，L2 为 Redis（通过 {@link RedisTemplate}，未配置时跳过）。
+ * L2 命中后回填 L1。过期时间按业务类型配置，并记录各业务类型的命中/未命中次数。
+ * <p>L2 键由各租户共享，请求指纹须包含租户 ID 和渲染后的提示词（见
+ * {@link io.lumina.agent.engine.pool.AgentFingerprint#ofRequest(String, Long, String)}）。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    /**
+     * Redis Key 前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "lumina:agent:response:";
+
+    private final LuminaAgentProperties.ResponseCacheConfig cacheConfig;
+
+    /**
+     * 进程内 LRU 缓存（访问顺序）
+     */
+    private final LinkedHashMap<String, CacheEntry> localCache;
+
+    private final Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Redis 模板（可选，如果未配置则只使用进程内缓存）
+     */
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    public ResponseCache(LuminaAgentProperties agentProperties) {
+        this.cacheConfig = agentProperties.getResponseCache();
+        int maxSize = cacheConfig.getLocalMaxSize();
+        this.localCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 业务类型是否启用响应缓存
+     *
+     * @param businessType 业务类型
+     * @return 是否启用
+     */
+    public boolean isEnabled(String businessType) {
+        if (!Boolean.TRUE.equals(cacheConfig.getEnabled())) {
+            return false;
+        }
+        LuminaAgentProperties.ResponseCacheRule rule = getRule(businessType);
+        return rule == null || rule.getEnabled() == null || rule.getEnabled();
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param businessType 业务类型
+     * @param key          请求指纹（须包含租户）
+     * @return 缓存的响应，未命中时返回 null
+     */
+    public String get(String businessType, String key) {
+        CacheStats cacheStats = getStats(businessType);
+
+        String value = getLocal(key);
+        if (value != null) {
+            cacheStats.localHits.incrementAndGet();
+            return value;
+        }
+
+        value = getRemote(key);
+        if (value != null) {
+            cacheStats.redisHits.incrementAndGet();
+            putLocal(key, value, getTtl(businessType));
+            return value;
+        }
+
+        cacheStats.misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param businessType 业务类型
+     * @param key          请求指纹（须包含租户）
+     * @param value        响应内容
+     */
+    public void put(String businessType, String key, String value) {
+        if (value == null) {
+            return;
+        }
+        long ttl = getTtl(businessType);
+        if (ttl <= 0) {
+            return;
+        }
+        putLocal(key, value, ttl);
+        putRemote(key, value, ttl);
+        getStats(businessType).puts.incrementAndGet();
+    }
+
+    /**
+     * 清空进程内缓存
+     */
+    public void clearLocal() {
+        synchronized (localCache) {
+            localCache.clear();
+        }
+        log.info("响应缓存已清空（进程内）");
+    }
+
+    /**
+     * 获取各业务类型缓存统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        stats.forEach((businessType, cacheStats) -> result.add(cacheStats.toMap(businessType)));
+        return result;
+    }
+
+    /**
+     * 进程内缓存当前条目数
+     */
+    public int getLocalSize() {
+        synchronized (localCache) {
+            return localCache.size();
+        }
+    }
+
+    private String getLocal(String key) {
+        synchronized (localCache) {
+            CacheEntry entry = localCache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                localCache.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    private void putLocal(String key, String value, long ttl) {
+        long expiresAt = System.currentTimeMillis() + ttl * 1000;
+        synchronized (localCache) {
+            localCache.put(key, new CacheEntry(value, expiresAt));
+        }
+    }
+
+    private String getRemote(String key) {
+        if (!isRedisEnabled()) {
+            return null;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+            return value != null ? value.toString() : null;
+        } catch (Exception e) {
+            log.warn("从 Redis 读取响应缓存失败: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, String value, long ttl) {
+        if (!isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key, value, Duration.ofSeconds(ttl));
+        } catch (Exception e) {
+            log.warn("写入 Redis 响应缓存失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private boolean isRedisEnabled() {
+        return redisTemplate != null && Boolean.TRUE.equals(cacheConfig.getRedisEnabled());
+    }
+
+    private long getTtl(String businessType) {
+        LuminaAgentProperties.ResponseCacheRule rule = getRule(businessType);
+        return rule != null && rule.getTtl() != null ? rule.getTtl() : cacheConfig.getTtl();
+    }
+
+    private LuminaAgentProperties.ResponseCacheRule getRule(String businessType) {
+        return businessType != null ? cacheConfig.getBusinessTypes().get(businessType) : null;
+    }
+
+    private CacheStats getStats(String businessType) {
+        return stats.computeIfAbsent(businessType != null ? businessType : "default", k -> new CacheStats());
+    }
+
+    /**
+     * 进程内缓存条目
+     *
+     * @param value     响应内容
+     * @param expiresAt 过期时间（毫秒时间戳）
+     */
+    private record CacheEntry(String value, long expiresAt) {
+    }
+
+    /**
+     * 业务类型缓存统计
+     */
+    private static class CacheStats {
+        private final AtomicLong localHits = new AtomicLong();
+        private final AtomicLong redisHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong puts = new AtomicLong();
+
+        private Map<String, Object> toMap(String businessType) {
+            long hits = localHits.get() + redisHits.get();
+            long total = hits + misses.get();
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("businessType", businessType);
+            map.put("localHits", localHits.get());
+            map.put("redisHits", redisHits.get());
+            map.put("misses", misses.get());
+            map.put("puts", puts.get());
+            map.put("hitRate", total > 0 ? (double) hits / total : 0.0d);
+            return map;
+        }
+    }
+}
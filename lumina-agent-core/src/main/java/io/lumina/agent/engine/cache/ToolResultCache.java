@@ -0,0 +1,316 @@
+package io.lumina.agent.engine.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.agentscope.core.message.ToolResultBlock;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.tool.ToolDefinition;
+import io.lumina.common.core.BaseContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 工具结果缓存
+ *
+ * <p>只对声明为可缓存（{@code @AgentTool(cacheable = true)}）的只读幂等工具生效，按（租户、工具、规范化参数）缓存：
+ * <ul>
+ *     <li>跨执行：进程内有界 LRU，有效期取工具声明的 {@code ttl}（为 0 时不跨执行缓存）</li>
+ *     <li>执行内：同一次执行（含子 Agent）中参数相同的调用只执行一次，并发的重复调用共享同一结果</li>
+ * </ul>
+ * <p>只缓存执行成功的结果：抛出异常、超时或返回 {@code success=false} 的结果（由调用方通过 {@code succeeded} 判断）都不缓存，
+ * 避免短暂的依赖故障在 ttl 内被返回给整个租户。写工具（声明了 {@code invalidates} 或不可并行的工具）执行成功后，
+ * 清除当前租户下相关工具的缓存结果（跨执行和执行内），默认相关工具为同分类的工具。
+ * <p>执行内状态通过 {@link RunScope} 随 Reactor Context（键 {@link RunScope#CONTEXT_KEY}）传递，同时携带租户 ID
+ * （工具在执行器线程上运行，不能依赖线程上下文中的租户）。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ToolResultCache {
+
+    /**
+     * 参数规范化（对象字段按名称排序）
+     */
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final LuminaAgentProperties.ToolCacheConfig cacheConfig;
+
+    /**
+     * 进程内 LRU 缓存（访问顺序）
+     */
+    private final LinkedHashMap<CacheKey, CacheEntry> localCache;
+
+    private final Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+
+    public ToolResultCache(LuminaAgentProperties agentProperties) {
+        this.cacheConfig = agentProperties.getToolCache();
+        int maxSize = cacheConfig.getMaxSize();
+        this.localCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 是否启用工具结果缓存
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(cacheConfig.getEnabled());
+    }
+
+    /**
+     * 创建单次执行的缓存作用域
+     *
+     * @param tenantId 租户 ID
+     * @return 执行内缓存作用域
+     */
+    public RunScope newRun(Long tenantId) {
+        return new RunScope(tenantId);
+    }
+
+    /**
+     * 通过缓存执行工具调用
+     *
+     * <p>可缓存的工具先查跨执行缓存，再在执行内去重；写工具执行成功后清除相关缓存；其他工具直接执行。
+     *
+     * @param definition 工具定义
+     * @param paramsJson 调用参数（JSON）
+     * @param context    Reactor Context
+     * @param call       实际的工具调用
+     * @param succeeded  实际调用是否成功（结果发出后判断）
+     * @param onHit      命中缓存或执行内去重时的回调
+     * @return 工具调用结果
+     */
+    public Mono<ToolResultBlock> execute(ToolDefinition definition, String paramsJson, ContextView context,
+                                         Mono<ToolResultBlock> call, BooleanSupplier succeeded, Runnable onHit) {
+        if (!isEnabled()) {
+            return call;
+        }
+        RunScope run = context.getOrDefault(RunScope.CONTEXT_KEY, null);
+        String tenant = String.valueOf(run != null ? run.tenantId : BaseContext.getTenantId());
+
+        if (definition.isCacheable()) {
+            return cached(definition, paramsJson, tenant, run, call, succeeded, onHit);
+        }
+        if (isWriteTool(definition)) {
+            return call.doOnNext(result -> {
+                if (succeeded.getAsBoolean()) {
+                    invalidate(tenant, definition, run);
+                }
+            });
+        }
+        return call;
+    }
+
+    /**
+     * 清空进程内缓存
+     */
+    public void clear() {
+        synchronized (localCache) {
+            localCache.clear();
+        }
+        log.info("工具结果缓存已清空");
+    }
+
+    /**
+     * 获取各工具缓存统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        stats.forEach((toolName, cacheStats) -> result.add(cacheStats.toMap(toolName)));
+        return result;
+    }
+
+    private Mono<ToolResultBlock> cached(ToolDefinition definition, String paramsJson, String tenant, RunScope run,
+                                         Mono<ToolResultBlock> call, BooleanSupplier succeeded, Runnable onHit) {
+        CacheStats cacheStats = stats.computeIfAbsent(definition.getName(), k -> new CacheStats());
+        CacheKey key = new CacheKey(tenant, definition.getCategory(), definition.getName(), canonicalize(paramsJson));
+
+        ToolResultBlock cachedResult = getLocal(key);
+        if (cachedResult != null) {
+            cacheStats.hits.incrementAndGet();
+            onHit.run();
+            return Mono.just(cachedResult);
+        }
+
+        Mono<ToolResultBlock> load = call.doOnNext(result -> {
+            if (succeeded.getAsBoolean()) {
+                putLocal(key, result, definition.getCacheTtl());
+                cacheStats.puts.incrementAndGet();
+            } else if (run != null) {
+                // 失败结果不在执行内复用，重试时重新执行
+                run.calls.remove(key);
+            }
+        });
+        if (run == null) {
+            cacheStats.misses.incrementAndGet();
+            return load;
+        }
+
+        boolean[] leader = new boolean[1];
+        Mono<ToolResultBlock> shared = run.calls.computeIfAbsent(key, k -> {
+            leader[0] = true;
+            return load.cache();
+        });
+        if (leader[0]) {
+            cacheStats.misses.incrementAndGet();
+        } else {
+            cacheStats.dedupHits.incrementAndGet();
+            onHit.run();
+        }
+        return shared;
+    }
+
+    /**
+     * 清除写工具相关的缓存结果（声明的工具，未声明时为同分类工具）
+     */
+    private void invalidate(String tenant, ToolDefinition definition, RunScope run) {
+        List<String> targets = definition.getInvalidates();
+        int removed;
+        synchronized (localCache) {
+            int before = localCache.size();
+            localCache.keySet().removeIf(key -> key.matches(tenant, definition.getCategory(), targets));
+            removed = before - localCache.size();
+        }
+        if (run != null) {
+            run.calls.keySet().removeIf(key -> key.matches(tenant, definition.getCategory(), targets));
+        }
+        stats.computeIfAbsent(definition.getName(), k -> new CacheStats()).invalidations.incrementAndGet();
+        log.debug("写工具执行成功，清除相关缓存结果: tool={}, tenant={}, removed={}", definition.getName(), tenant, removed);
+    }
+
+    private static boolean isWriteTool(ToolDefinition definition) {
+        return !definition.isParallelSafe()
+                || (definition.getInvalidates() != null && !definition.getInvalidates().isEmpty());
+    }
+
+    /**
+     * 规范化参数（字段排序后重新序列化，无法解析时使用原始参数）
+     */
+    private static String canonicalize(String paramsJson) {
+        try {
+            return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.readValue(paramsJson, Object.class));
+        } catch (Exception e) {
+            return paramsJson;
+        }
+    }
+
+    private ToolResultBlock getLocal(CacheKey key) {
+        synchronized (localCache) {
+            CacheEntry entry = localCache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                localCache.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    private void putLocal(CacheKey key, ToolResultBlock value, long ttl) {
+        if (ttl <= 0) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + ttl * 1000;
+        synchronized (localCache) {
+            localCache.put(key, new CacheEntry(value, expiresAt));
+        }
+    }
+
+    /**
+     * 单次执行的缓存作用域（执行内去重）
+     */
+    public static final class RunScope {
+
+        /**
+         * Reactor Context 中的键
+         */
+        public static final String CONTEXT_KEY = RunScope.class.getName();
+
+        private final Long tenantId;
+
+        /**
+         * 执行内的调用结果（缓存键 -> 共享的调用结果）
+         */
+        private final Map<CacheKey, Mono<ToolResultBlock>> calls = new ConcurrentHashMap<>();
+
+        private RunScope(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param tenant   租户
+     * @param category 工具分类
+     * @param tool     工具名称
+     * @param args     规范化参数
+     */
+    private record CacheKey(String tenant, String category, String tool, String args) {
+
+        /**
+         * 是否属于写工具需要清除的范围
+         */
+        boolean matches(String tenant, String category, List<String> tools) {
+            if (!this.tenant.equals(tenant)) {
+                return false;
+            }
+            return tools != null && !tools.isEmpty() ? tools.contains(tool) : Objects.equals(this.category, category);
+        }
+    }
+
+    /**
+     * 进程内缓存条目
+     *
+     * @param value     工具结果
+     * @param expiresAt 过期时间（毫秒时间戳）
+     */
+    private record CacheEntry(ToolResultBlock value, long expiresAt) {
+    }
+
+    /**
+     * 工具缓存统计
+     */
+    private static class CacheStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong dedupHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong puts = new AtomicLong();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private Map<String, Object> toMap(String toolName) {
+            long served = hits.get() + dedupHits.get();
+            long total = served + misses.get();
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("tool", toolName);
+            map.put("hits", hits.get());
+            map.put("dedupHits", dedupHits.get());
+            map.put("misses", misses.get());
+            map.put("puts", puts.get());
+            map.put("invalidations", invalidations.get());
+            map.put("hitRate", total > 0 ? (double) served / total : 0.0d);
+            return map;
+        }
+    }
+}
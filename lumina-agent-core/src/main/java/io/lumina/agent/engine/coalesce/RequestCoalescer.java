@@ -0,0 +1,205 @@
+package io.lumina.agent.engine.coalesce;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.model.ExecuteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并器（Single-Flight）
+ *
+ * <p>相同请求键的并发执行只运行一次：首个请求作为领导者执行，其余请求作为跟随者订阅领导者的
+ * {@code Mono<ExecuteResult>}。每次执行的跟随者数量有上限，超出后独立执行。
+ * 执行结束后立即移除，之后到达的请求重新执行（结果复用交给响应缓存）。
+ * <p>领导者和跟随者全部取消后，执行被取消并立即移除；只要仍有调用方在等待，执行就会继续。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final LuminaAgentProperties.CoalesceConfig coalesceConfig;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, CoalesceStats> stats = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(LuminaAgentProperties agentProperties) {
+        this.coalesceConfig = agentProperties.getCoalesce();
+    }
+
+    /**
+     * 业务类型是否启用请求合并
+     *
+     * @param businessType 业务类型
+     * @return 是否启用
+     */
+    public boolean isEnabled(String businessType) {
+        if (!Boolean.TRUE.equals(coalesceConfig.getEnabled())) {
+            return false;
+        }
+        LuminaAgentProperties.CoalesceRule rule = getRule(businessType);
+        return rule == null || rule.getEnabled() == null || rule.getEnabled();
+    }
+
+    /**
+     * 执行（相同请求键的并发执行合并为一次）
+     *
+     * @param businessType 业务类型
+     * @param requestKey   请求指纹（须包含租户，不同租户的请求不能合并）
+     * @param execution    实际执行（仅领导者订阅）
+     * @return 执行结果
+     */
+    public Mono<ExecuteResult> execute(String businessType, String requestKey,
+                                       Supplier<Mono<ExecuteResult>> execution) {
+        String key = businessType + ":" + requestKey;
+        CoalesceStats coalesceStats = getStats(businessType);
+
+        Flight flight = new Flight();
+        flight.result = Mono.defer(execution)
+                .takeUntilOther(flight.cancelled.asMono())
+                .doFinally(signal -> flights.remove(key, flight))
+                .cache();
+
+        Flight existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            coalesceStats.leaders.incrementAndGet();
+            return flight.result.doOnCancel(() -> flight.leave(key));
+        }
+
+        if (existing.followers.incrementAndGet() > getMaxFollowers(businessType)) {
+            existing.followers.decrementAndGet();
+            coalesceStats.overflows.incrementAndGet();
+            log.debug("合并请求跟随者已满，独立执行: businessType={}", businessType);
+            return Mono.defer(execution);
+        }
+
+        if (!existing.tryJoin()) {
+            // 执行已被全部调用方取消，移除后重新发起
+            existing.followers.decrementAndGet();
+            flights.remove(key, existing);
+            return execute(businessType, requestKey, execution);
+        }
+
+        coalesceStats.followers.incrementAndGet();
+        return existing.result
+                .map(RequestCoalescer::copyForFollower)
+                .doOnCancel(() -> existing.leave(key));
+    }
+
+    /**
+     * 当前执行中的合并请求数
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    /**
+     * 获取各业务类型合并统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        stats.forEach((businessType, coalesceStats) -> result.add(coalesceStats.toMap(businessType)));
+        return result;
+    }
+
+    private int getMaxFollowers(String businessType) {
+        LuminaAgentProperties.CoalesceRule rule = getRule(businessType);
+        return rule != null && rule.getMaxFollowers() != null
+                ? rule.getMaxFollowers() : coalesceConfig.getMaxFollowers();
+    }
+
+    private LuminaAgentProperties.CoalesceRule getRule(String businessType) {
+        return businessType != null ? coalesceConfig.getBusinessTypes().get(businessType) : null;
+    }
+
+    private CoalesceStats getStats(String businessType) {
+        return stats.computeIfAbsent(businessType != null ? businessType : "default", k -> new CoalesceStats());
+    }
+
+    /**
+     * 为跟随者复制结果（避免多个调用方共享同一可变对象）
+     */
+    private static ExecuteResult copyForFollower(ExecuteResult source) {
+        ExecuteResult copy = new ExecuteResult();
+        copy.setSuccess(source.getSuccess());
+        copy.setResult(source.getResult());
+        copy.setError(source.getError());
+        copy.setDuration(source.getDuration());
+        copy.setTimestamp(source.getTimestamp());
+        copy.setTokenUsage(source.getTokenUsage());
+
+        Map<String, Object> metadata = source.getMetadata() != null
+                ? new HashMap<>(source.getMetadata()) : new HashMap<>();
+        metadata.put("coalesced", true);
+        copy.setMetadata(metadata);
+        return copy;
+    }
+
+    /**
+     * 执行中的合并请求
+     */
+    private class Flight {
+        private final AtomicInteger followers = new AtomicInteger();
+
+        /**
+         * 仍在等待结果的调用方数量（领导者 + 跟随者），降为 0 时取消执行
+         */
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+        private final Sinks.Empty<Void> cancelled = Sinks.empty();
+        private Mono<ExecuteResult> result;
+
+        /**
+         * 加入执行（执行已被全部调用方取消时返回 false）
+         */
+        private boolean tryJoin() {
+            int current;
+            do {
+                current = subscribers.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!subscribers.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * 调用方取消等待，最后一个离开时取消执行
+         */
+        private void leave(String key) {
+            if (subscribers.decrementAndGet() == 0) {
+                flights.remove(key, this);
+                cancelled.tryEmitEmpty();
+            }
+        }
+    }
+
+    /**
+     * 业务类型合并统计
+     */
+    private static class CoalesceStats {
+        private final AtomicLong leaders = new AtomicLong();
+        private final AtomicLong followers = new AtomicLong();
+        private final AtomicLong overflows = new AtomicLong();
+
+        private Map<String, Object> toMap(String businessType) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("businessType", businessType);
+            map.put("leaders", leaders.get());
+            map.put("followers", followers.get());
+            map.put("overflows", overflows.get());
+            return map;
+        }
+    }
+}
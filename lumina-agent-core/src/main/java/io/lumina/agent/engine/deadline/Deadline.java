@@ -0,0 +1,102 @@
+package io.lumina.agent.engine.deadline;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 执行截止时间
+ *
+ * <p>在请求进入引擎时确定，随 Reactor Context（键 {@link #CONTEXT_KEY}）传递到模型调用和工具调用，
+ * 各环节按剩余时间设置超时。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class Deadline {
+
+    /**
+     * Reactor Context 中的键
+     */
+    public static final String CONTEXT_KEY = Deadline.class.getName();
+
+    /**
+     * 超时时间（毫秒）
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 截止时间（System.nanoTime 基准）
+     */
+    private final long deadlineNanos;
+
+    private Deadline(long startTime, long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        long elapsedMillis = Math.max(0, System.currentTimeMillis() - startTime);
+        this.deadlineNanos = System.nanoTime() + Duration.ofMillis(timeoutMillis - elapsedMillis).toNanos();
+    }
+
+    /**
+     * 创建截止时间
+     *
+     * @param startTime     请求开始时间（毫秒时间戳）
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 截止时间
+     */
+    public static Deadline of(long startTime, long timeoutMillis) {
+        return new Deadline(startTime, timeoutMillis);
+    }
+
+    /**
+     * 从 Reactor Context 中读取截止时间
+     *
+     * @param context Reactor Context
+     * @return 截止时间，未设置时返回 null
+     */
+    public static Deadline fromContext(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 超时时间（毫秒）
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 剩余时间（已过期时为 0）
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 是否已过期
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 为流设置整体截止时间
+     *
+     * <p>与 {@link Flux#timeout(Duration)}（每个元素之间的超时）不同，超过截止时间后取消上游，
+     * 并以 {@link TimeoutException} 结束。
+     *
+     * @param source 上游流
+     * @return 受截止时间约束的流
+     */
+    public <T> Flux<T> bound(Flux<T> source) {
+        AtomicBoolean expired = new AtomicBoolean();
+        return source
+                .takeUntilOther(Mono.delay(remaining()).doOnNext(tick -> expired.set(true)))
+                .concatWith(Mono.defer(() -> expired.get()
+                        ? Mono.error(new TimeoutException("Deadline exceeded: timeout=" + timeoutMillis + "ms"))
+                        : Mono.empty()));
+    }
+}
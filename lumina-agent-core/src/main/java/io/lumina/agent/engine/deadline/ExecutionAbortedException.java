@@ -0,0 +1,40 @@
+package io.lumina.agent.engine.deadline;
+
+import lombok.Getter;
+
+/**
+ * Agent 执行中止异常
+ *
+ * <p>执行超过截止时间或被调用方取消时抛出，携带中止前已产生的部分结果。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Getter
+public class ExecutionAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 是否因超过截止时间中止（否则为调用方取消）
+     */
+    private final boolean deadlineExceeded;
+
+    /**
+     * 中止前最后一条有效输出（可能为空）
+     */
+    private final String partialResult;
+
+    /**
+     * 中止前已产生的消息数（不含用户输入）
+     */
+    private final int completedSteps;
+
+    public ExecutionAbortedException(String message, boolean deadlineExceeded,
+                                     String partialResult, int completedSteps) {
+        super(message);
+        this.deadlineExceeded = deadlineExceeded;
+        this.partialResult = partialResult;
+        this.completedSteps = completedSteps;
+    }
+}
@@ -1,34 +1,77 @@
 package io.lumina.agent.engine.impl;
 
 import io.agentscope.core.ReActAgent;
-import io.agentscope.core.formatter.dashscope.DashScopeChatFormatter;
+import io.agentscope.core.agent.EventType;
+import io.agentscope.core.agent.StreamOptions;
 import io.agentscope.core.memory.InMemoryMemory;
-import io.agentscope.core.model.DashScopeChatModel;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.model.Model;
 import io.agentscope.core.model.Msg;
-import io.agentscope.core.tool.Toolkit;
 import io.lumina.agent.config.LuminaAgentProperties;
 import io.lumina.agent.engine.AgentExecutionEngine;
+import io.lumina.agent.engine.admission.AgentBulkhead;
+import io.lumina.agent.engine.admission.BulkheadRegistry;
+import io.lumina.agent.engine.cache.ResponseCache;
+import io.lumina.agent.engine.cache.ToolResultCache;
+import io.lumina.agent.engine.coalesce.RequestCoalescer;
+import io.lumina.agent.engine.deadline.Deadline;
+import io.lumina.agent.engine.deadline.ExecutionAbortedException;
+import io.lumina.agent.engine.metrics.RunMetrics;
+import io.lumina.agent.engine.metrics.RunMetricsAggregator;
+import io.lumina.agent.engine.plan.TaskPlan;
+import io.lumina.agent.engine.pool.AgentFingerprint;
+import io.lumina.agent.engine.pool.AgentPool;
+import io.lumina.agent.engine.pool.PooledAgent;
+import io.lumina.agent.engine.quota.QuotaManager;
+import io.lumina.agent.engine.trace.RunTimeline;
+import io.lumina.agent.engine.trace.RunTimelineBuffer;
+import io.lumina.agent.executor.AgentExecutors;
+import io.lumina.agent.llm.ChatModelFactory;
+import io.lumina.agent.llm.CircuitOpenException;
+import io.lumina.agent.llm.ModelCircuitBreaker;
 import io.lumina.agent.loader.ConfigLoader;
 import io.lumina.agent.loader.PromptLoader;
-import io.lumina.agent.manager.EnhancedToolManager;
+import io.lumina.agent.loader.PromptTemplate;
+import io.lumina.agent.manager.MemoryCompactor;
 import io.lumina.agent.manager.MemoryManager;
+import io.lumina.agent.manager.ToolkitSnapshotManager;
 import io.lumina.agent.model.AgentConfig;
+import io.lumina.agent.model.BatchItemResult;
+import io.lumina.agent.model.ExecuteChunk;
 import io.lumina.agent.model.ExecuteResult;
-import io.lumina.agent.tool.ToolDefinition;
-import io.lumina.agent.tool.ToolDefinitionToAgentToolAdapter;
+import io.lumina.agent.tool.ToolCallScope;
+import io.lumina.common.core.BaseContext;
+import io.lumina.common.exception.BusinessException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Agent 执行引擎默认实现
  *
  * <p>基于 AgentScope 的 Agent 执行引擎实现。
  * <p>支持 ReAct Agent 模式,集成 LLM 和工具调用。
+ * <p>Agent 实例按配置指纹池化复用，模型客户端按模型指纹共享。
+ * <p>支持同步执行、基于 Flux 的流式执行和批量执行。
+ * <p>同步与批量执行可启用两级响应缓存和请求合并，相同请求直接返回缓存结果或共享同一次执行。
+ * <p>可按租户和业务类型限制每分钟请求数和 Token 数，超出配额的执行延后或被拒绝。
+ * <p>每次执行都有截止时间，超时或调用方取消时取消模型与工具调用，并在结果中返回已完成的部分状态。
+ * <p>每次执行统计 Token 用量和耗时拆分（排队、模型、工具），并按业务类型和租户汇总。
+ * <p>每次执行记录逐步的时间线（模型调用、工具调用），保存在环形缓冲区中供排查使用。
  *
  * @author Lumina Team
  * @since 1.0.0
@@ -37,13 +80,63 @@ import java.util.List;
 @Component
 public class DefaultAgentExecutionEngine implements AgentExecutionEngine {
 
+    /**
+     * 流式执行选项（推送全部事件，文本按增量推送）
+     */
+    private static final StreamOptions STREAM_OPTIONS = StreamOptions.builder()
+            .eventTypes(EventType.ALL)
+            .incremental(true)
+            .build();
+
+    /**
+     * Agent 类型
+     */
+    private static final String REACT_AGENT_TYPE = "ReAct";
+    private static final String PLAN_AND_EXECUTE_AGENT_TYPE = "PlanAndExecute";
+    private static final String MULTI_AGENT_TYPE = "MultiAgent";
+
+    /**
+     * 规划-执行模式提示词（prompts/planner.txt、prompts/merger.txt）
+     */
+    private static final String PLANNER_PROMPT = "planner";
+    private static final String MERGER_PROMPT = "merger";
+
     private final ConfigLoader configLoader;
     private final PromptLoader promptLoader;
     private final MemoryManager memoryManager;
     private final LuminaAgentProperties agentProperties;
+    private final AgentPool agentPool;
+    private final ChatModelFactory chatModelFactory;
+
+    @Autowired
+    private ToolkitSnapshotManager toolkitSnapshotManager;
+
+    @Autowired
+    private AgentExecutors agentExecutors;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private QuotaManager quotaManager;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ToolResultCache toolResultCache;
 
-    @Autowired(required = false)
-    private EnhancedToolManager enhancedToolManager;
+    @Autowired
+    private MemoryCompactor memoryCompactor;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private RunMetricsAggregator runMetricsAggregator;
+
+    @Autowired
+    private RunTimelineBuffer runTimelineBuffer;
 
     @Autowired
     private ApplicationContext applicationContext;
@@ -52,94 +145,596 @@ public class DefaultAgentExecutionEngine implements AgentExecutionEngine {
             ConfigLoader configLoader,
             PromptLoader promptLoader,
             MemoryManager memoryManager,
-            LuminaAgentProperties agentProperties) {
+            LuminaAgentProperties agentProperties,
+            AgentPool agentPool,
+            ChatModelFactory chatModelFactory) {
         this.configLoader = configLoader;
         this.promptLoader = promptLoader;
         this.memoryManager = memoryManager;
         this.agentProperties = agentProperties;
+        this.agentPool = agentPool;
+        this.chatModelFactory = chatModelFactory;
     }
 
     @Override
     public Mono<ExecuteResult> execute(String businessType, String task, AgentConfig config) {
-        return Mono.fromCallable(() -> executeSync(businessType, task, config))
-                .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic());
+        // 租户上下文在切换线程前捕获
+        Long tenantId = BaseContext.getTenantId();
+        return Mono.fromCallable(() -> executeSync(businessType, task, config, tenantId))
+                .subscribeOn(agentExecutors.getScheduler());
     }
 
     @Override
     public ExecuteResult executeSync(String businessType, String task, AgentConfig config) {
+        return executeSync(businessType, task, config, BaseContext.getTenantId());
+    }
+
+    /**
+     * 同步执行 Agent
+     *
+     * @param tenantId 租户 ID（用于执行统计）
+     */
+    private ExecuteResult executeSync(String businessType, String task, AgentConfig config, Long tenantId) {
         long startTime = System.currentTimeMillis();
 
+        PreparedExecution prepared;
         try {
             log.info("开始执行 Agent: businessType={}, task={}", businessType, task);
 
-            // 加载配置
-            AgentConfig agentConfig = config != null ? config : configLoader.loadConfig(businessType);
+            // 加载配置、提示词模板和工具集
+            prepared = prepare(businessType, config, false, tenantId);
+        } catch (Exception e) {
+            return failure(businessType, e, startTime);
+        }
+
+        return executePrepared(prepared, task, startTime, resolveDeadline(prepared.config(), startTime));
+    }
+
+    @Override
+    public Flux<BatchItemResult> executeBatch(String businessType, List<String> tasks,
+                                              AgentConfig config, Integer parallelism) {
+        LuminaAgentProperties.BatchConfig batchConfig = agentProperties.getBatch();
+        if (tasks == null || tasks.isEmpty()) {
+            return Flux.error(BusinessException.of("批量任务不能为空"));
+        }
+        if (tasks.size() > batchConfig.getMaxBatchSize()) {
+            return Flux.error(BusinessException.of("批量任务数超过上限: " + batchConfig.getMaxBatchSize()));
+        }
+        int concurrency = Math.min(
+                parallelism != null && parallelism > 0 ? parallelism : batchConfig.getDefaultParallelism(),
+                batchConfig.getMaxParallelism());
+
+        Long tenantId = BaseContext.getTenantId();
+        return Mono.fromCallable(() -> prepare(businessType, config, false, tenantId))
+                .subscribeOn(agentExecutors.getScheduler())
+                .flatMapMany(prepared -> {
+                    log.info("开始批量执行 Agent: businessType={}, tasks={}, parallelism={}",
+                            businessType, tasks.size(), concurrency);
+                    // 按完成顺序返回结果
+                    return Flux.range(0, tasks.size())
+                            .flatMap(index -> Mono
+                                    .fromCallable(() -> executeBatchItem(businessType, prepared, index, tasks.get(index)))
+                                    .subscribeOn(agentExecutors.getScheduler()), concurrency);
+                });
+    }
+
+    /**
+     * 执行单个批量任务（每个任务独立申请执行许可，失败不影响其他任务）
+     */
+    private BatchItemResult executeBatchItem(String businessType, PreparedExecution prepared, int index, String task) {
+        long startTime = System.currentTimeMillis();
+        ExecuteResult result;
+        try {
+            result = executePrepared(prepared, task, startTime, resolveDeadline(prepared.config(), startTime));
+        } catch (Exception e) {
+            result = failure(businessType, e, startTime);
+        }
+        return BatchItemResult.of(index, task, result);
+    }
+
+    /**
+     * 执行已准备好的任务
+     *
+     * <p>启用请求合并时，相同请求的并发执行共享一次上游执行，跟随者不占用执行许可。
+     * 会话执行的结果依赖会话历史，不参与合并；挂载了不可缓存工具（有副作用或结果依赖当前用户）的执行也不参与合并。
+     * 合并键包含租户 ID 和渲染后的提示词，不同租户的请求不会共享同一次执行。
+     * 共享执行在 Agent 执行器上独立运行，不占用领导者的请求线程：领导者被取消（如客户端断开）时，
+     * 只要仍有跟随者在等待，执行就会继续，全部调用方取消后才取消执行。
+     * 跟随者沿用领导者的开始时间和截止时间。
+     * <p>模型处于熔断状态时直接返回失败，不占用执行许可和 Agent 实例。
+     *
+     * @throws BusinessException 超出业务类型容量时抛出（429）
+     */
+    private ExecuteResult executePrepared(PreparedExecution prepared, String task, long startTime, Deadline deadline) {
+        String businessType = prepared.businessType();
+        CircuitOpenException circuitOpen = checkCircuit(prepared);
+        if (circuitOpen != null) {
+            return circuitOpen(businessType, circuitOpen, startTime);
+        }
+        if (!requestCoalescer.isEnabled(businessType) || sessionIdOf(prepared) != null
+                || !prepared.toolkitSnapshot().isCacheable()) {
+            return admitAndRun(prepared, task, startTime, deadline);
+        }
+
+        String requestKey = requestKey(prepared, renderPrompt(prepared, task));
+        return requestCoalescer.execute(businessType, requestKey,
+                        () -> Mono.fromCallable(() -> admitAndRun(prepared, task, startTime, deadline))
+                                .subscribeOn(agentExecutors.getScheduler()))
+                .block();
+    }
+
+    /**
+     * 申请执行许可后执行任务
+     *
+     * <p>先申请租户与业务类型配额，再申请舱壁执行许可；排队时间（含配额延后等待）计入截止时间，
+     * 申请许可前或获得许可时已超时则不再执行，以超时结果返回（而不是 429）。
+     * <p>执行结果附带 Token 用量和耗时拆分（排队、模型、工具），并按业务类型和租户汇总；配额按实际 Token 用量结算。
+     *
+     * @throws BusinessException 超出配额或业务类型容量时抛出（429）
+     */
+    private ExecuteResult admitAndRun(PreparedExecution prepared, String task, long startTime, Deadline deadline) {
+        long queueStart = System.currentTimeMillis();
+        // 配额：超出租户或业务类型配额时延后或拒绝
+        QuotaManager.Grant grant = acquireQuota(prepared, task, deadline);
+        if (deadline.isExpired()) {
+            grant.cancel();
+            return aborted(prepared.businessType(), queueTimeout(deadline), startTime);
+        }
+        // 准入控制：超出业务类型容量时快速拒绝
+        AgentBulkhead.Permit permit;
+        try {
+            permit = bulkheadRegistry.acquire(prepared.businessType(), deadline.remaining().toMillis());
+        } catch (RuntimeException e) {
+            grant.cancel();
+            if (deadline.isExpired()) {
+                // 排队等待被截止时间截断，按超时返回
+                return aborted(prepared.businessType(), queueTimeout(deadline), startTime);
+            }
+            throw e;
+        }
+        try (permit) {
+            RunMetrics metrics = new RunMetrics(System.currentTimeMillis() - queueStart);
+            // 预热桩模型的执行不计入执行统计和时间线
+            boolean warmup = isWarmup(prepared);
+            RunTimeline timeline = warmup ? null : runTimelineBuffer.start(prepared.businessType(), prepared.tenantId());
+
+            ExecuteResult result;
+            try {
+                if (deadline.isExpired()) {
+                    throw queueTimeout(deadline);
+                }
+                result = runPrepared(prepared, task, startTime, deadline,
+                        runContext(deadline, metrics, timeline, prepared.tenantId()));
+            } catch (ExecutionAbortedException e) {
+                result = aborted(prepared.businessType(), e, startTime);
+            } catch (CircuitOpenException e) {
+                result = circuitOpen(prepared.businessType(), e, startTime);
+            } catch (Exception e) {
+                result = failure(prepared.businessType(), e, startTime);
+            }
+
+            grant.settle(metrics.getPromptTokens() + metrics.getCompletionTokens());
+            result.setTokenUsage(metrics.toTokenUsage());
+            putMetadata(result, "timing", metrics.toTiming());
+            if (!warmup) {
+                runMetricsAggregator.record(prepared.businessType(), prepared.tenantId(), metrics,
+                        result.getDuration() != null ? result.getDuration() : 0L, Boolean.TRUE.equals(result.getSuccess()));
+            }
+            finishTimeline(timeline, result);
+            return result;
+        }
+    }
+
+    /**
+     * 申请配额（1 个请求和预估 Token 数，预热桩模型的执行不计入）
+     *
+     * @throws BusinessException 超出配额且延后等待超时时抛出（429）
+     */
+    private QuotaManager.Grant acquireQuota(PreparedExecution prepared, String task, Deadline deadline) {
+        if (!quotaManager.isEnabled() || isWarmup(prepared)) {
+            return QuotaManager.Grant.NOOP;
+        }
+        long estimatedTokens = MemoryManager.estimateTokens(renderPrompt(prepared, task))
+                + agentProperties.getQuota().getEstimatedOutputTokens();
+        return quotaManager.acquire(prepared.businessType(), prepared.tenantId(), estimatedTokens,
+                deadline.remaining().toMillis());
+    }
+
+    /**
+     * 是否为预热桩模型的执行（不调用真实模型，不计入配额、执行统计和时间线）
+     */
+    private static boolean isWarmup(PreparedExecution prepared) {
+        return ChatModelFactory.WARMUP_TYPE.equalsIgnoreCase(prepared.llmConfig().getModelType());
+    }
 
-            // 加载提示词
-            String promptTemplate = agentConfig.getPromptTemplate();
-            if (promptTemplate == null || promptTemplate.isEmpty()) {
-                promptTemplate = promptLoader.loadPrompt(businessType);
+    /**
+     * 使用已准备好的配置执行任务
+     */
+    private ExecuteResult runPrepared(PreparedExecution prepared, String task, long startTime,
+                                      Deadline deadline, Context runContext) {
+        // 响应缓存：命中时跳过 LLM 调用（会话执行的结果依赖会话历史，不缓存；
+        // 挂载了不可缓存工具的执行可能产生副作用或依赖当前用户的数据，同样不缓存）
+        SessionTurn session = openSession(prepared, task);
+        String prompt = renderPrompt(prepared, task);
+        String cacheKey = null;
+        if (session == null && prepared.toolkitSnapshot().isCacheable()
+                && responseCache.isEnabled(prepared.businessType())) {
+            cacheKey = requestKey(prepared, prompt);
+            String cached = responseCache.get(prepared.businessType(), cacheKey);
+            if (cached != null) {
+                long duration = System.currentTimeMillis() - startTime;
+                log.info("Agent 响应缓存命中: businessType={}, duration={}ms", prepared.businessType(), duration);
+
+                ExecuteResult executeResult = ExecuteResult.success(cached);
+                executeResult.setDuration(duration);
+                putMetadata(executeResult, "cacheHit", true);
+                return executeResult;
             }
+        }
 
-            // 填充提示词
-            String prompt = promptLoader.fillTemplate(promptTemplate, task);
+        List<TaskPlan.SubtaskResult> subtaskResults = null;
+        String result;
+        if (session == null && isMultiAgent(prepared.config())) {
+            PlanOutcome outcome = executePlanned(prepared, prompt, cacheKey, deadline, runContext);
+            result = outcome.result();
+            subtaskResults = outcome.subtaskResults();
+        } else {
+            result = executeAgentWithAgentScope(prepared, prompt, cacheKey, session, deadline, runContext);
+        }
 
-            // 执行 Agent
-            String result = executeAgentWithAgentScope(agentConfig, prompt);
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Agent 执行成功: businessType={}, duration={}ms", prepared.businessType(), duration);
 
-            long duration = System.currentTimeMillis() - startTime;
+        ExecuteResult executeResult = ExecuteResult.success(result);
+        executeResult.setDuration(duration);
+        if (subtaskResults != null) {
+            putMetadata(executeResult, "subtasks", subtaskResults.stream()
+                    .map(subtaskResult -> Map.of("name", subtaskResult.subtask().name(),
+                            "success", subtaskResult.success()))
+                    .toList());
+        }
+        if (session != null) {
+            putMetadata(executeResult, "sessionId", session.sessionId());
+            putMetadata(executeResult, "historyMessages", session.history().size());
+        }
+        return executeResult;
+    }
 
-            log.info("Agent 执行成功: businessType={}, duration={}ms", businessType, duration);
+    /**
+     * 构建失败结果
+     */
+    private ExecuteResult failure(String businessType, Exception e, long startTime) {
+        long duration = System.currentTimeMillis() - startTime;
+        log.error("Agent 执行失败: businessType={}, error={}", businessType, e.getMessage(), e);
 
-            ExecuteResult executeResult = ExecuteResult.success(result);
-            executeResult.setDuration(duration);
+        ExecuteResult executeResult = ExecuteResult.failure(e.getMessage());
+        executeResult.setDuration(duration);
+        return executeResult;
+    }
 
-            return executeResult;
+    /**
+     * 构建单次执行的 Reactor Context（截止时间、执行统计、时间线、工具调用作用域、工具结果缓存作用域）
+     */
+    private Context runContext(Deadline deadline, RunMetrics metrics, RunTimeline timeline, Long tenantId) {
+        Context context = withToolCallScope(Context.of(Deadline.CONTEXT_KEY, deadline, RunMetrics.CONTEXT_KEY, metrics,
+                ToolResultCache.RunScope.CONTEXT_KEY, toolResultCache.newRun(tenantId)));
+        return timeline != null ? context.put(RunTimeline.CONTEXT_KEY, timeline) : context;
+    }
 
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Agent 执行失败: businessType={}, error={}", businessType, e.getMessage(), e);
+    /**
+     * 写入新的工具调用作用域（每个 Agent 独立划分步骤和并发名额）
+     */
+    private Context withToolCallScope(Context context) {
+        LuminaAgentProperties.ToolCallConfig toolCallConfig = agentProperties.getToolCall();
+        int parallelism = Boolean.TRUE.equals(toolCallConfig.getParallel()) ? toolCallConfig.getMaxParallelism() : 1;
+        return context.put(ToolCallScope.CONTEXT_KEY,
+                new ToolCallScope(parallelism, Boolean.TRUE.equals(toolCallConfig.getFailFast())));
+    }
 
-            ExecuteResult executeResult = ExecuteResult.failure(e.getMessage());
-            executeResult.setDuration(duration);
-            return executeResult;
+    /**
+     * 结束时间线并保存，按配置写入执行结果
+     */
+    private void finishTimeline(RunTimeline timeline, ExecuteResult result) {
+        if (timeline == null) {
+            return;
+        }
+        timeline.finish(timelineStatus(result), result.getDuration() != null ? result.getDuration() : 0L);
+        runTimelineBuffer.add(timeline);
+
+        putMetadata(result, "runId", timeline.getRunId());
+        if (runTimelineBuffer.isIncludeInResult()) {
+            putMetadata(result, "timeline", timeline.toMap());
         }
     }
 
+    /**
+     * 时间线最终状态
+     */
+    private static String timelineStatus(ExecuteResult result) {
+        Map<String, Object> metadata = result.getMetadata();
+        if (metadata != null && metadata.containsKey("deadlineExceeded")) {
+            return "deadline_exceeded";
+        }
+        if (metadata != null && metadata.containsKey("cancelled")) {
+            return "cancelled";
+        }
+        if (metadata != null && metadata.containsKey("cacheHit")) {
+            return "cache_hit";
+        }
+        return Boolean.TRUE.equals(result.getSuccess()) ? "success" : "failed";
+    }
+
+    /**
+     * 写入结果附加信息
+     */
+    private static void putMetadata(ExecuteResult executeResult, String key, Object value) {
+        if (executeResult.getMetadata() == null) {
+            executeResult.setMetadata(new HashMap<>());
+        }
+        executeResult.getMetadata().put(key, value);
+    }
+
+    /**
+     * 检查模型熔断状态（不占用半开探测名额）
+     *
+     * @return 处于熔断状态时返回熔断异常，否则返回 null
+     */
+    private CircuitOpenException checkCircuit(PreparedExecution prepared) {
+        ModelCircuitBreaker circuitBreaker = chatModelFactory.getCircuitBreaker(prepared.llmConfig());
+        if (circuitBreaker == null || !circuitBreaker.isOpen()) {
+            return null;
+        }
+        return new CircuitOpenException(circuitBreaker.getName(), circuitBreaker.getRetryAfterMillis());
+    }
+
+    /**
+     * 构建熔断快速失败结果
+     */
+    private ExecuteResult circuitOpen(String businessType, CircuitOpenException e, long startTime) {
+        long duration = System.currentTimeMillis() - startTime;
+        log.warn("Agent 执行快速失败（模型熔断）: businessType={}, model={}, retryAfter={}ms",
+                businessType, e.getModelName(), e.getRetryAfterMillis());
+
+        ExecuteResult executeResult = ExecuteResult.failure(e.getMessage());
+        executeResult.setDuration(duration);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("circuitOpen", true);
+        metadata.put("model", e.getModelName());
+        metadata.put("retryAfter", e.getRetryAfterMillis());
+        executeResult.setMetadata(metadata);
+        return executeResult;
+    }
+
+    /**
+     * 构建中止结果（超时或取消），附带中止前的部分状态
+     */
+    private ExecuteResult aborted(String businessType, ExecutionAbortedException e, long startTime) {
+        long duration = System.currentTimeMillis() - startTime;
+        log.warn("Agent 执行中止: businessType={}, reason={}, completedSteps={}, duration={}ms",
+                businessType, e.getMessage(), e.getCompletedSteps(), duration);
+
+        ExecuteResult executeResult = ExecuteResult.failure(e.getMessage());
+        executeResult.setDuration(duration);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(e.isDeadlineExceeded() ? "deadlineExceeded" : "cancelled", true);
+        metadata.put("completedSteps", e.getCompletedSteps());
+        if (e.getPartialResult() != null) {
+            metadata.put("partialResult", e.getPartialResult());
+        }
+        executeResult.setMetadata(metadata);
+        return executeResult;
+    }
+
+    @Override
+    public Flux<ExecuteChunk> stream(String businessType, String task, AgentConfig config) {
+        Long tenantId = BaseContext.getTenantId();
+        return Flux.defer(() -> doStream(businessType, task, config, tenantId))
+                .subscribeOn(agentExecutors.getScheduler());
+    }
+
+    /**
+     * 流式执行 Agent
+     *
+     * <p>与同步执行相同的准入顺序：先申请配额，再申请舱壁执行许可；排队时间计入截止时间，不会超过剩余时间。
+     * 配额和执行许可在流结束（完成、失败或取消）时结算和归还；
+     * 流开始前的步骤失败时立即取消配额并归还许可。
+     */
+    private Flux<ExecuteChunk> doStream(String businessType, String task, AgentConfig config, Long tenantId) {
+        return Flux.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            log.info("开始流式执行 Agent: businessType={}, task={}", businessType, task);
+
+            // 流式执行必须使用流式模型，否则首个 Token 要等到整轮推理结束
+            PreparedExecution prepared = prepare(businessType, config, true, tenantId);
+            String prompt = renderPrompt(prepared, task);
+            Deadline deadline = resolveDeadline(prepared.config(), startTime);
+            CircuitOpenException circuitOpen = checkCircuit(prepared);
+            if (circuitOpen != null) {
+                log.warn("Agent 流式执行快速失败（模型熔断）: businessType={}, model={}",
+                        businessType, circuitOpen.getModelName());
+                return Flux.just(ExecuteChunk.error(circuitOpen.getMessage()));
+            }
+            long queueStart = System.currentTimeMillis();
+            // 配额：超出租户或业务类型配额时延后或拒绝
+            QuotaManager.Grant grant = acquireQuota(prepared, task, deadline);
+            if (deadline.isExpired()) {
+                grant.cancel();
+                return Flux.just(ExecuteChunk.error(queueTimeout(deadline).getMessage()));
+            }
+            boolean warmup = isWarmup(prepared);
+            AgentBulkhead.Permit permit = null;
+            SessionTurn session;
+            RunTimeline timeline;
+            try {
+                // 准入控制：超出业务类型容量时快速拒绝
+                permit = bulkheadRegistry.acquire(businessType, deadline.remaining().toMillis());
+                session = openSession(prepared, task);
+                // 预热桩模型的执行不计入执行统计和时间线
+                timeline = warmup ? null : runTimelineBuffer.start(businessType, tenantId);
+            } catch (RuntimeException e) {
+                if (permit != null) {
+                    permit.close();
+                }
+                grant.cancel();
+                if (permit == null && deadline.isExpired()) {
+                    // 排队等待被截止时间截断，按超时返回
+                    return Flux.just(ExecuteChunk.error(queueTimeout(deadline).getMessage()));
+                }
+                throw e;
+            }
+            AgentBulkhead.Permit admitted = permit;
+            RunMetrics metrics = new RunMetrics(System.currentTimeMillis() - queueStart);
+
+            AtomicLong sequence = new AtomicLong();
+            AtomicBoolean failed = new AtomicBoolean();
+            return Flux.usingWhen(
+                            Mono.fromCallable(() -> borrowAgent(prepared, session)),
+                            pooledAgent -> deadline.bound(pooledAgent.getAgent()
+                                            .stream(buildMessage(prompt), STREAM_OPTIONS)
+                                            .concatMapIterable(ExecuteChunkConverter::toChunks))
+                                    .contextWrite(runContext(deadline, metrics, timeline, tenantId)),
+                            pooledAgent -> Mono.fromRunnable(() -> agentPool.release(pooledAgent)),
+                            (pooledAgent, error) -> Mono.fromRunnable(() -> agentPool.invalidate(pooledAgent)),
+                            pooledAgent -> Mono.fromRunnable(() -> agentPool.invalidate(pooledAgent)))
+                    .doOnNext(chunk -> {
+                        if (session != null && ExecuteChunk.TYPE_DONE.equals(chunk.getType())) {
+                            saveTurnAsync(session, chunk.getContent());
+                        }
+                    })
+                    .doOnComplete(() -> log.info("Agent 流式执行完成: businessType={}, duration={}ms",
+                            businessType, System.currentTimeMillis() - startTime))
+                    .onErrorResume(TimeoutException.class, e -> {
+                        failed.set(true);
+                        log.warn("Agent 流式执行超时: businessType={}, timeout={}ms",
+                                businessType, deadline.getTimeoutMillis());
+                        return Flux.just(ExecuteChunk.error("Agent 执行超时: timeout=" + deadline.getTimeoutMillis() + "ms"));
+                    })
+                    .onErrorResume(e -> {
+                        failed.set(true);
+                        log.error("Agent 流式执行失败: businessType={}, error={}", businessType, e.getMessage(), e);
+                        return Flux.just(ExecuteChunk.error(e.getMessage()));
+                    })
+                    .map(chunk -> {
+                        chunk.setSequence(sequence.getAndIncrement());
+                        return chunk;
+                    })
+                    .doFinally(signal -> {
+                        admitted.close();
+                        long duration = System.currentTimeMillis() - startTime;
+                        boolean success = signal == SignalType.ON_COMPLETE && !failed.get();
+                        grant.settle(metrics.getPromptTokens() + metrics.getCompletionTokens());
+                        if (!warmup) {
+                            runMetricsAggregator.record(businessType, tenantId, metrics, duration, success);
+                        }
+                        if (timeline != null) {
+                            timeline.finish(signal == SignalType.CANCEL ? "cancelled" : success ? "success" : "failed",
+                                    duration);
+                            runTimelineBuffer.add(timeline);
+                        }
+                    });
+        });
+    }
+
     @Override
     public String getEngineName() {
         return "DefaultAgentExecutionEngine";
     }
 
+    /**
+     * 预热业务类型的执行准备路径
+     *
+     * <p>加载配置和提示词模板、构建工具集快照和模型客户端（非流式与流式），并预先创建池化 Agent 实例，
+     * 使首个请求不再承担这些初始化开销。不调用模型。
+     *
+     * @param businessType 业务类型
+     * @param pooledAgents 预先创建的池化 Agent 实例数
+     * @return 加载的 Agent 配置
+     */
+    public AgentConfig prewarm(String businessType, int pooledAgents) {
+        PreparedExecution prepared = prepare(businessType, null, false, null);
+        PreparedExecution streamPrepared = prepare(businessType, prepared.config(), true, null);
+        chatModelFactory.getModel(prepared.llmConfig());
+        chatModelFactory.getModel(streamPrepared.llmConfig());
+        if (isMultiAgent(prepared.config())) {
+            promptLoader.getTemplate(PLANNER_PROMPT);
+            promptLoader.getTemplate(MERGER_PROMPT);
+        }
+
+        // 同时借出再归还，确保实例池中留下多个空闲实例
+        List<PooledAgent> agents = new ArrayList<>(pooledAgents);
+        try {
+            for (int i = 0; i < pooledAgents; i++) {
+                agents.add(borrowAgent(prepared, null));
+            }
+        } finally {
+            agents.forEach(agentPool::release);
+        }
+        log.info("预热业务类型完成: businessType={}, fingerprint={}, pooledAgents={}",
+                businessType, prepared.fingerprint(), agents.size());
+        return prepared.config();
+    }
+
     /**
      * 使用 AgentScope 执行 Agent
      *
      * <p>集成 AgentScope Java SDK 实现 ReAct Agent 执行。
+     * Agent 实例从实例池借出，执行结束后重置状态并归还。
+     * 只有 LLM 正常返回的响应才会写入响应缓存和会话记忆，降级响应不缓存、不写入。
+     * 截止时间通过 Reactor Context 传递给工具调用，超时或被取消时取消整条调用链并抛出
+     * {@link ExecutionAbortedException}（不降级）。
+     *
+     * @param cacheKey   响应缓存键（为空表示不缓存）
+     * @param session    会话（为空表示无状态执行）
+     * @param deadline   执行截止时间
+     * @param runContext 单次执行的 Reactor Context
      */
-    private String executeAgentWithAgentScope(AgentConfig config, String prompt) {
+    private String executeAgentWithAgentScope(PreparedExecution prepared, String prompt, String cacheKey,
+                                              SessionTurn session, Deadline deadline, Context runContext) {
+        AgentConfig config = prepared.config();
         log.info("Agent 配置: name={}, type={}", config.getAgentName(), config.getAgentType());
         log.info("Agent 提示词: {}", prompt);
 
         try {
-            // 创建 AgentScope ReActAgent
-            ReActAgent agent = createReActAgent(config);
-
-            // 构建消息
-            Msg message = Msg.builder()
-                    .textContent(prompt)
-                    .build();
+            // 借出 AgentScope ReActAgent
+            PooledAgent pooledAgent = borrowAgent(prepared, session);
 
-            // 执行 Agent（阻塞等待结果）
-            Msg response = agent.call(message).block();
+            boolean reusable = false;
+            try {
+                // 执行 Agent（阻塞等待结果，超过截止时间取消）
+                int historySize = session != null ? session.history().size() : 0;
+                Msg response = callWithDeadline(pooledAgent, prompt, historySize, deadline, runContext);
+                reusable = true;
 
-            if (response != null && response.getTextContent() != null) {
-                return response.getTextContent();
-            } else {
-                log.warn("Agent 返回空响应");
-                return "Agent 执行完成，但未返回有效响应";
+                if (response != null && response.getTextContent() != null) {
+                    if (cacheKey != null) {
+                        responseCache.put(prepared.businessType(), cacheKey, response.getTextContent());
+                    }
+                    if (session != null) {
+                        saveTurnAsync(session, response.getTextContent());
+                    }
+                    return response.getTextContent();
+                } else {
+                    log.warn("Agent 返回空响应");
+                    return "Agent 执行完成，但未返回有效响应";
+                }
+            } finally {
+                if (reusable) {
+                    agentPool.release(pooledAgent);
+                } else {
+                    agentPool.invalidate(pooledAgent);
+                }
             }
 
+        } catch (ExecutionAbortedException e) {
+            throw e;
         } catch (Exception e) {
+            // 模型熔断时快速失败，不降级为模拟响应
+            CircuitOpenException circuitOpen = findCause(e, CircuitOpenException.class);
+            if (circuitOpen != null) {
+                throw circuitOpen;
+            }
             log.error("AgentScope 执行失败: {}", e.getMessage(), e);
             // 降级到模拟响应
             return generateMockResponse(prompt);
@@ -147,99 +742,439 @@ public class DefaultAgentExecutionEngine implements AgentExecutionEngine {
     }
 
     /**
-     * 创建 AgentScope ReActAgent
+     * 规划-执行模式（PlanAndExecute / MultiAgent）
+     *
+     * <p>协调 Agent（无工具）先把任务拆分为相互独立的子任务，子任务由各自只持有所需工具子集的子 Agent
+     * 并发执行（受 {@code lumina.agent.multi-agent.max-concurrency} 限制），最后由协调 Agent 汇总结果。
+     * 总耗时接近最慢的子任务而非各子任务之和。
+     * <p>规划无法解析时按单 Agent 执行；只有一个子任务时直接返回其结果，不再汇总。
+     * 子 Agent 与协调 Agent 共享同一执行截止时间和 Reactor Context（用量统计、时间线）。
      */
-    private ReActAgent createReActAgent(AgentConfig config) {
-        // 获取 LLM 配置（优先使用传入配置，否则使用默认配置）
-        AgentConfig.LLMConfig llmConfig = config.getLlmConfig();
-        if (llmConfig == null) {
-            llmConfig = new AgentConfig.LLMConfig();
-            llmConfig.setModelType(agentProperties.getLlm().getType());
-            llmConfig.setModelName(agentProperties.getLlm().getModel());
-            llmConfig.setApiKey(getApiKey());
-            llmConfig.setTemperature(agentProperties.getLlm().getTemperature());
-            llmConfig.setMaxTokens(agentProperties.getLlm().getMaxTokens());
+    private PlanOutcome executePlanned(PreparedExecution prepared, String prompt, String cacheKey,
+                                      Deadline deadline, Context runContext) {
+        LuminaAgentProperties.MultiAgentConfig multiAgentConfig = agentProperties.getMultiAgent();
+        List<String> availableTools = prepared.toolkitSnapshot().getToolNames();
+
+        AgentConfig.ToolConfig noTools = new AgentConfig.ToolConfig();
+        noTools.setEnableAll(false);
+        noTools.setTools(List.of());
+        PooledAgent coordinator;
+        try {
+            coordinator = borrowAgent(deriveSubAgent(prepared, "coordinator", noTools), null);
+        } catch (Exception e) {
+            log.error("创建协调 Agent 失败，按单 Agent 执行: {}", e.getMessage(), e);
+            return new PlanOutcome(executeAgentWithAgentScope(prepared, prompt, cacheKey, null, deadline, runContext), null);
         }
 
-        // 构建 DashScope 模型
-        DashScopeChatModel.Builder modelBuilder = DashScopeChatModel.builder()
-                .apiKey(llmConfig.getApiKey() != null ? llmConfig.getApiKey() : getApiKey())
-                .modelName(llmConfig.getModelName() != null ? llmConfig.getModelName() : agentProperties.getLlm().getModel())
-                .stream(agentProperties.getLlm().getStream())
-                .enableThinking(agentProperties.getLlm().getEnableThinking());
+        boolean reusable = false;
+        TaskPlan plan;
+        try {
+            // 1. 规划
+            String planPrompt = promptLoader.getTemplate(PLANNER_PROMPT).render(name -> switch (name) {
+                case "task" -> prompt;
+                case "tools" -> availableTools.isEmpty() ? "(none)" : String.join(", ", availableTools);
+                case "maxSubtasks" -> multiAgentConfig.getMaxSubtasks();
+                default -> null;
+            });
+            Msg planResponse = callWithDeadline(coordinator, planPrompt, 0, deadline, runContext);
+            plan = TaskPlan.parse(planResponse != null ? planResponse.getTextContent() : null,
+                    availableTools, multiAgentConfig.getMaxSubtasks());
+
+            if (!plan.isEmpty()) {
+                log.info("任务规划完成: businessType={}, subtasks={}", prepared.businessType(),
+                        plan.getSubtasks().stream().map(TaskPlan.Subtask::name).toList());
 
-        if (llmConfig.getTemperature() != null) {
-            modelBuilder.defaultOptions(
-                    io.agentscope.core.model.GenerateOptions.builder()
-                            .temperature(llmConfig.getTemperature().floatValue())
-                            .maxTokens(llmConfig.getMaxTokens())
-                            .build());
-        }
+                // 2. 子任务并发执行（结果按规划顺序返回）
+                List<TaskPlan.SubtaskResult> results = Flux.fromIterable(plan.getSubtasks())
+                        .flatMapSequential(subtask -> Mono.fromCallable(
+                                        () -> runSubtask(prepared, subtask, deadline, runContext))
+                                .subscribeOn(agentExecutors.getScheduler()), multiAgentConfig.getMaxConcurrency())
+                        .collectList()
+                        .block();
 
-        DashScopeChatModel model = modelBuilder
-                .formatter(new DashScopeChatFormatter())
-                .build();
+                // 3. 汇总
+                String result;
+                if (results.size() == 1 && results.get(0).success()) {
+                    result = results.get(0).output();
+                } else {
+                    String mergePrompt = promptLoader.getTemplate(MERGER_PROMPT).render(name -> switch (name) {
+                        case "task" -> prompt;
+                        case "results" -> formatSubtaskResults(results);
+                        default -> null;
+                    });
+                    Msg merged = callWithDeadline(coordinator, mergePrompt, 0, deadline, runContext);
+                    result = merged != null && merged.getTextContent() != null
+                            ? merged.getTextContent() : formatSubtaskResults(results);
+                }
+                reusable = true;
+                if (cacheKey != null) {
+                    responseCache.put(prepared.businessType(), cacheKey, result);
+                }
+                return new PlanOutcome(result, results);
+            }
+            reusable = true;
+        } catch (ExecutionAbortedException | CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            CircuitOpenException circuitOpen = findCause(e, CircuitOpenException.class);
+            if (circuitOpen != null) {
+                throw circuitOpen;
+            }
+            ExecutionAbortedException aborted = findCause(e, ExecutionAbortedException.class);
+            if (aborted != null) {
+                throw aborted;
+            }
+            log.error("规划-执行失败，按单 Agent 执行: {}", e.getMessage(), e);
+        } finally {
+            if (reusable) {
+                agentPool.release(coordinator);
+            } else {
+                agentPool.invalidate(coordinator);
+            }
+        }
 
-        // 构建工具集
-        Toolkit toolkit = new Toolkit();
-        registerToolsToToolkit(toolkit);
+        // 规划为空或规划-执行失败时按单 Agent 执行
+        return new PlanOutcome(executeAgentWithAgentScope(prepared, prompt, cacheKey, null, deadline, runContext), null);
+    }
 
-        // 构建 ReActAgent
-        ReActAgent.Builder agentBuilder = ReActAgent.builder()
-                .name(config.getAgentName() != null ? config.getAgentName() : "LuminaAgent")
-                .sysPrompt(config.getPromptTemplate() != null ? config.getPromptTemplate() : "You are a helpful AI assistant.")
-                .model(model)
-                .toolkit(toolkit)
-                .memory(new InMemoryMemory());
+    /**
+     * 执行单个子任务（子 Agent 只持有子任务所需的工具）
+     *
+     * @throws ExecutionAbortedException 超过截止时间或被取消时抛出（整次执行中止）
+     */
+    private TaskPlan.SubtaskResult runSubtask(PreparedExecution parent, TaskPlan.Subtask subtask,
+                                             Deadline deadline, Context runContext) {
+        AgentConfig.ToolConfig toolConfig = parent.config().getToolConfig();
+        if (subtask.tools() != null) {
+            toolConfig = new AgentConfig.ToolConfig();
+            toolConfig.setEnableAll(false);
+            toolConfig.setTools(subtask.tools());
+        }
 
-        return agentBuilder.build();
+        PooledAgent subAgent = borrowAgent(deriveSubAgent(parent, "executor", toolConfig), null);
+        boolean reusable = false;
+        try {
+            Msg response = callWithDeadline(subAgent, subtask.task(), 0, deadline, withToolCallScope(runContext));
+            reusable = true;
+            String output = response != null ? response.getTextContent() : null;
+            log.debug("子任务完成: name={}, tools={}", subtask.name(), subtask.tools());
+            return new TaskPlan.SubtaskResult(subtask, output != null, output != null ? output : "子任务未返回有效响应");
+        } catch (ExecutionAbortedException | CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            CircuitOpenException circuitOpen = findCause(e, CircuitOpenException.class);
+            if (circuitOpen != null) {
+                throw circuitOpen;
+            }
+            log.warn("子任务执行失败: name={}, error={}", subtask.name(), e.getMessage());
+            return new TaskPlan.SubtaskResult(subtask, false, e.getMessage());
+        } finally {
+            if (reusable) {
+                agentPool.release(subAgent);
+            } else {
+                agentPool.invalidate(subAgent);
+            }
+        }
     }
 
     /**
-     * 注册工具到 AgentScope Toolkit
+     * 派生子 Agent 的执行配置（沿用父 Agent 的提示词与模型，使用指定的工具子集）
      *
-     * <p>将 EnhancedToolManager 管理的工具动态适配为 AgentTool 并注册到 Toolkit。
-     * 支持从 @AgentTool 注解扫描的工具自动注册。
+     * <p>同一工具子集的子 Agent 指纹相同，在实例池中复用。
      */
-    private void registerToolsToToolkit(Toolkit toolkit) {
-        if (enhancedToolManager == null) {
-            log.debug("EnhancedToolManager 未配置，跳过工具注册");
-            return;
+    private PreparedExecution deriveSubAgent(PreparedExecution parent, String role, AgentConfig.ToolConfig toolConfig) {
+        AgentConfig parentConfig = parent.config();
+        AgentConfig config = new AgentConfig();
+        config.setAgentName((parentConfig.getAgentName() != null ? parentConfig.getAgentName() : "LuminaAgent") + "-" + role);
+        config.setAgentType(REACT_AGENT_TYPE);
+        config.setLlmConfig(parentConfig.getLlmConfig());
+        config.setPromptTemplate(parentConfig.getPromptTemplate());
+        config.setToolConfig(toolConfig);
+
+        ToolkitSnapshotManager.ToolkitSnapshot toolkitSnapshot = toolkitSnapshotManager.getSnapshot(toolConfig);
+        String fingerprint = AgentFingerprint.of(config, parent.llmConfig(), agentProperties.getLlm(),
+                toolkitSnapshot.getVersion());
+        return new PreparedExecution(parent.businessType(), parent.tenantId(), config, parent.promptTemplate(),
+                parent.compiledPrompt(), parent.llmConfig(), toolkitSnapshot, fingerprint);
+    }
+
+    private static String formatSubtaskResults(List<TaskPlan.SubtaskResult> results) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < results.size(); i++) {
+            TaskPlan.SubtaskResult result = results.get(i);
+            builder.append(i + 1).append(". ").append(result.subtask().name())
+                    .append(result.success() ? "" : "（失败）").append('\n')
+                    .append(result.output()).append("\n\n");
         }
+        return builder.toString().trim();
+    }
 
-        List<ToolDefinition> tools = enhancedToolManager.getAllTools();
-        if (tools == null || tools.isEmpty()) {
-            log.info("未发现可注册的工具");
-            return;
+    /**
+     * 是否使用规划-执行模式
+     */
+    private static boolean isMultiAgent(AgentConfig config) {
+        String agentType = config.getAgentType();
+        return PLAN_AND_EXECUTE_AGENT_TYPE.equalsIgnoreCase(agentType) || MULTI_AGENT_TYPE.equalsIgnoreCase(agentType);
+    }
+
+    /**
+     * 在截止时间内调用 Agent
+     *
+     * @throws ExecutionAbortedException 超过截止时间或调用线程被中断（调用方取消）时抛出
+     */
+    private Msg callWithDeadline(PooledAgent pooledAgent, String prompt, int historySize,
+                                 Deadline deadline, Context runContext) {
+        try {
+            return pooledAgent.getAgent().call(buildMessage(prompt))
+                    .timeout(deadline.remaining())
+                    .contextWrite(runContext)
+                    .block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof TimeoutException) {
+                throw abortedWithPartialState(pooledAgent, prompt, historySize,
+                        "Agent 执行超时: timeout=" + deadline.getTimeoutMillis() + "ms", true);
+            }
+            if (cause instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                throw abortedWithPartialState(pooledAgent, prompt, historySize, "Agent 执行已取消", false);
+            }
+            throw e;
         }
+    }
 
-        int registeredCount = 0;
-        for (ToolDefinition toolDef : tools) {
-            try {
-                // 跳过未启用的工具
-                if (!toolDef.isEnabled()) {
-                    log.debug("跳过未启用的工具: {}", toolDef.getName());
+    /**
+     * 根据 Agent 记忆构建中止异常（记录已完成的步骤数和最后一条有效输出）
+     *
+     * @param historySize 预加载的会话历史条数（不计入本次执行的步骤）
+     */
+    private ExecutionAbortedException abortedWithPartialState(PooledAgent pooledAgent, String prompt, int historySize,
+                                                              String message, boolean deadlineExceeded) {
+        String partialResult = null;
+        int completedSteps = 0;
+        try {
+            List<Msg> messages = pooledAgent.getMemory().getMessages();
+            for (Msg msg : messages.subList(Math.min(historySize, messages.size()), messages.size())) {
+                String text = msg.getTextContent();
+                if (prompt.equals(text)) {
                     continue;
                 }
+                completedSteps++;
+                if (text != null && !text.isBlank()) {
+                    partialResult = text;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("读取 Agent 部分执行状态失败: {}", e.getMessage());
+        }
+        return new ExecutionAbortedException(message, deadlineExceeded, partialResult, completedSteps);
+    }
+
+    /**
+     * 构建排队阶段超时的中止异常
+     */
+    private static ExecutionAbortedException queueTimeout(Deadline deadline) {
+        return new ExecutionAbortedException("Agent 执行超时（排队阶段）: timeout="
+                + deadline.getTimeoutMillis() + "ms", true, null, 0);
+    }
+
+    /**
+     * 解析执行截止时间（优先使用配置中的超时时间，不超过全局上限）
+     *
+     * @param startTime 请求开始时间（毫秒时间戳）
+     */
+    private Deadline resolveDeadline(AgentConfig config, long startTime) {
+        LuminaAgentProperties.DeadlineConfig deadlineConfig = agentProperties.getDeadline();
+        long timeout = config.getTimeout() != null && config.getTimeout() > 0
+                ? Math.min(config.getTimeout(), deadlineConfig.getMaxTimeout())
+                : deadlineConfig.getDefaultTimeout();
+        return Deadline.of(startTime, timeout);
+    }
 
-                // 创建 AgentTool 适配器
-                ToolDefinitionToAgentToolAdapter adapter = 
-                        new ToolDefinitionToAgentToolAdapter(toolDef);
+    /**
+     * 准备执行所需的配置
+     *
+     * <p>加载 Agent 配置、提示词模板、LLM 配置和工具集快照，并计算实例池指纹。
+     * 批量执行时只准备一次，所有任务共享。
+     *
+     * @param stream   是否使用流式模型
+     * @param tenantId 租户 ID（用于执行统计）
+     */
+    private PreparedExecution prepare(String businessType, AgentConfig config, boolean stream, Long tenantId) {
+        // 加载配置（优先使用传入配置）
+        AgentConfig agentConfig = config != null ? config : configLoader.loadConfig(businessType);
 
-                // 注册到 Toolkit
-                toolkit.registerAgentTool(adapter);
+        // 加载提示词模板（编译结果已缓存）
+        String inlineTemplate = agentConfig.getPromptTemplate();
+        PromptTemplate promptTemplate = inlineTemplate == null || inlineTemplate.isEmpty()
+                ? promptLoader.getTemplate(businessType)
+                : promptLoader.compile(inlineTemplate);
 
-                registeredCount++;
-                log.info("工具已注册到 AgentScope Toolkit: {} (分类: {})", 
-                        toolDef.getName(), 
-                        toolDef.getCategory() != null ? toolDef.getCategory() : "default");
+        AgentConfig.LLMConfig llmConfig = resolveLlmConfig(agentConfig);
+        if (stream) {
+            llmConfig.setStream(true);
+        }
 
-            } catch (Exception e) {
-                log.error("注册工具失败: {}", toolDef.getName(), e);
+        ToolkitSnapshotManager.ToolkitSnapshot toolkitSnapshot =
+                toolkitSnapshotManager.getSnapshot(agentConfig.getToolConfig());
+        String fingerprint = AgentFingerprint.of(agentConfig, llmConfig, agentProperties.getLlm(),
+                toolkitSnapshot.getVersion());
+
+        return new PreparedExecution(businessType, tenantId, agentConfig, promptTemplate.getSource(),
+                promptTemplate, llmConfig, toolkitSnapshot, fingerprint);
+    }
+
+    /**
+     * 渲染提示词
+     *
+     * <p>支持的变量：{@code {task}}（兼容 {@code {0}}）、{@code {tenant}}、{@code {businessType}}。
+     * 变量取值不同的请求渲染结果不同，请求指纹（{@link #requestKey}）必须基于渲染结果计算，不能使用原始模板。
+     */
+    private String renderPrompt(PreparedExecution prepared, String task) {
+        return prepared.compiledPrompt().render(name -> switch (name) {
+            case "task", "0" -> task;
+            case "tenant" -> prepared.tenantId() != null ? prepared.tenantId() : "";
+            case "businessType" -> prepared.businessType();
+            default -> null;
+        });
+    }
+
+    /**
+     * 计算请求指纹（租户 ID + 渲染后的提示词，用于请求合并和响应缓存）
+     */
+    private static String requestKey(PreparedExecution prepared, String prompt) {
+        return AgentFingerprint.ofRequest(prepared.fingerprint(), prepared.tenantId(), prompt);
+    }
+
+    /**
+     * 构建用户消息
+     */
+    private Msg buildMessage(String prompt) {
+        return Msg.builder()
+                .textContent(prompt)
+                .build();
+    }
+
+    /**
+     * 从实例池借出 Agent（会话执行时预加载会话历史，归还时随记忆一起重置）
+     */
+    private PooledAgent borrowAgent(PreparedExecution prepared, SessionTurn session) {
+        PooledAgent pooledAgent = agentPool.borrow(prepared.fingerprint(), () -> createPooledAgent(prepared));
+        if (session != null) {
+            for (MemoryManager.Memory memory : session.history()) {
+                pooledAgent.getMemory().addMessage(Msg.builder()
+                        .role(toMsgRole(memory.role()))
+                        .textContent(memory.content())
+                        .build());
             }
         }
+        return pooledAgent;
+    }
 
-        log.info("工具注册完成: 共 {} 个工具，成功注册 {} 个", tools.size(), registeredCount);
+    /**
+     * 会话记忆角色转换为消息角色（会话摘要作为系统消息，模型不会把摘要当作用户的发言）
+     */
+    private static MsgRole toMsgRole(String role) {
+        if (role == null) {
+            return MsgRole.USER;
+        }
+        return switch (role) {
+            case "assistant" -> MsgRole.ASSISTANT;
+            case MemoryManager.SUMMARY_ROLE -> MsgRole.SYSTEM;
+            default -> MsgRole.USER;
+        };
+    }
+
+    /**
+     * 打开会话：加载 Token 预算内的最近历史（未指定会话 ID 时返回 null）
+     */
+    private SessionTurn openSession(PreparedExecution prepared, String task) {
+        String sessionId = sessionIdOf(prepared);
+        if (sessionId == null) {
+            return null;
+        }
+        List<MemoryManager.Memory> history = memoryManager.getHistory(sessionId);
+        log.debug("加载会话历史: sessionId={}, messages={}", sessionId, history.size());
+        return new SessionTurn(sessionId, task, history);
+    }
+
+    /**
+     * 异步保存本轮对话（用户任务和 Agent 回复一次追加），会话超过阈值时随后压缩较早的消息
+     */
+    private void saveTurnAsync(SessionTurn session, String reply) {
+        long now = System.currentTimeMillis();
+        List<MemoryManager.Memory> turn = List.of(
+                new MemoryManager.Memory("user", session.task(), now),
+                new MemoryManager.Memory("assistant", reply, now));
+        Mono.fromRunnable(() -> {
+                    long sessionTokens = memoryManager.addMemories(session.sessionId(), turn);
+                    memoryCompactor.compactIfNeeded(session.sessionId(), sessionTokens);
+                })
+                .subscribeOn(agentExecutors.getScheduler())
+                .subscribe(null, e -> log.error("保存会话记忆失败: sessionId={}, error={}",
+                        session.sessionId(), e.getMessage(), e));
+    }
+
+    private static <T extends Throwable> T findCause(Throwable error, Class<T> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    private static String sessionIdOf(PreparedExecution prepared) {
+        String sessionId = prepared.config().getSessionId();
+        return sessionId != null && !sessionId.isBlank() ? sessionId : null;
+    }
+
+    /**
+     * 解析生效的 LLM 配置
+     *
+     * <p>优先使用传入配置，缺失字段使用全局默认配置补齐。
+     */
+    private AgentConfig.LLMConfig resolveLlmConfig(AgentConfig config) {
+        AgentConfig.LLMConfig source = config.getLlmConfig();
+        AgentConfig.LLMConfig llmConfig = new AgentConfig.LLMConfig();
+        if (source == null) {
+            llmConfig.setModelType(agentProperties.getLlm().getType());
+            llmConfig.setModelName(agentProperties.getLlm().getModel());
+            llmConfig.setApiKey(getApiKey());
+            llmConfig.setTemperature(agentProperties.getLlm().getTemperature());
+            llmConfig.setMaxTokens(agentProperties.getLlm().getMaxTokens());
+            return llmConfig;
+        }
+
+        llmConfig.setModelType(source.getModelType() != null ? source.getModelType() : agentProperties.getLlm().getType());
+        llmConfig.setModelName(source.getModelName() != null ? source.getModelName() : agentProperties.getLlm().getModel());
+        llmConfig.setApiKey(source.getApiKey() != null ? source.getApiKey() : getApiKey());
+        llmConfig.setTemperature(source.getTemperature());
+        llmConfig.setMaxTokens(source.getMaxTokens());
+        llmConfig.setStream(source.getStream());
+        return llmConfig;
+    }
+
+    /**
+     * 创建池化的 AgentScope ReActAgent
+     */
+    private PooledAgent createPooledAgent(PreparedExecution prepared) {
+        AgentConfig config = prepared.config();
+
+        // 复用模型客户端
+        Model model = chatModelFactory.getModel(prepared.llmConfig());
+
+        // 构建 ReActAgent
+        InMemoryMemory memory = new InMemoryMemory();
+        ReActAgent agent = ReActAgent.builder()
+                .name(config.getAgentName() != null ? config.getAgentName() : "LuminaAgent")
+                .sysPrompt(config.getPromptTemplate() != null ? config.getPromptTemplate() : "You are a helpful AI assistant.")
+                .model(model)
+                .toolkit(prepared.toolkitSnapshot().getToolkit())
+                .memory(memory)
+                .build();
+
+        log.info("创建 Agent 实例: name={}, fingerprint={}", config.getAgentName(), prepared.fingerprint());
+        return new PooledAgent(prepared.fingerprint(), agent, memory);
     }
 
     /**
@@ -272,4 +1207,44 @@ public class DefaultAgentExecutionEngine implements AgentExecutionEngine {
         }
     }
 
+    /**
+     * 已准备好的执行配置
+     *
+     * @param businessType    业务类型
+     * @param tenantId        租户 ID
+     * @param config          Agent 配置
+     * @param promptTemplate  提示词模板
+     * @param compiledPrompt  编译后的提示词模板
+     * @param llmConfig       生效的 LLM 配置
+     * @param toolkitSnapshot 工具集快照
+     * @param fingerprint     实例池指纹
+     */
+    private record PreparedExecution(String businessType,
+                                     Long tenantId,
+                                     AgentConfig config,
+                                     String promptTemplate,
+                                     PromptTemplate compiledPrompt,
+                                     AgentConfig.LLMConfig llmConfig,
+                                     ToolkitSnapshotManager.ToolkitSnapshot toolkitSnapshot,
+                                     String fingerprint) {
+    }
+
+    /**
+     * 会话执行上下文
+     *
+     * @param sessionId 会话 ID
+     * @param task      本轮任务（保存到会话记忆）
+     * @param history   Token 预算内的最近历史
+     */
+    private record SessionTurn(String sessionId, String task, List<MemoryManager.Memory> history) {
+    }
+
+    /**
+     * 规划-执行结果
+     *
+     * @param result         汇总结果
+     * @param subtaskResults 子任务结果（按单 Agent 执行时为 null）
+     */
+    private record PlanOutcome(String result, List<TaskPlan.SubtaskResult> subtaskResults) {
+    }
 }
@@ -0,0 +1,102 @@
+package io.lumina.agent.engine.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agentscope.core.agent.Event;
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ThinkingBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.Msg;
+import io.lumina.agent.model.ExecuteChunk;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AgentScope 事件到流式执行片段的转换器
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+final class ExecuteChunkConverter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ExecuteChunkConverter() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * 将 AgentScope 事件转换为执行片段
+     *
+     * @param event AgentScope 事件
+     * @return 执行片段列表（无可推送内容时为空）
+     */
+    static List<ExecuteChunk> toChunks(Event event) {
+        Msg message = event.getMessage();
+        if (message == null || event.getType() == null) {
+            return Collections.emptyList();
+        }
+
+        switch (event.getType()) {
+            case REASONING:
+                return fromReasoning(message, event.isLast());
+            case TOOL_RESULT:
+                return fromToolResult(message);
+            case AGENT_RESULT:
+                return List.of(ExecuteChunk.done(message.getTextContent()));
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 推理事件：思考增量、文本增量和工具调用
+     *
+     * <p>工具调用参数在推理结束前可能不完整，只在最后一个事件中推送。
+     */
+    private static List<ExecuteChunk> fromReasoning(Msg message, boolean last) {
+        List<ExecuteChunk> chunks = new ArrayList<>();
+        for (ContentBlock block : message.getContent()) {
+            if (block instanceof ThinkingBlock thinkingBlock) {
+                chunks.add(ExecuteChunk.of(ExecuteChunk.TYPE_REASONING, thinkingBlock.getThinking()));
+            } else if (block instanceof TextBlock textBlock) {
+                chunks.add(ExecuteChunk.of(ExecuteChunk.TYPE_TEXT, textBlock.getText()));
+            } else if (block instanceof ToolUseBlock toolUseBlock && last) {
+                chunks.add(ExecuteChunk.tool(ExecuteChunk.TYPE_TOOL_CALL,
+                        toolUseBlock.getName(), toJson(toolUseBlock.getInput())));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * 工具结果事件
+     */
+    private static List<ExecuteChunk> fromToolResult(Msg message) {
+        List<ExecuteChunk> chunks = new ArrayList<>();
+        for (ContentBlock block : message.getContent()) {
+            if (block instanceof ToolResultBlock toolResultBlock) {
+                chunks.add(ExecuteChunk.tool(ExecuteChunk.TYPE_TOOL_RESULT,
+                        toolResultBlock.getName(), message.getTextContent()));
+            }
+        }
+        return chunks;
+    }
+
+    private static String toJson(Object value) {
+        if (value == null) {
+            return "{}";
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            log.debug("序列化工具参数失败", e);
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.lumina.agent.engine.metrics;
+
+import io.lumina.agent.model.ExecuteResult;
+import reactor.util.context.ContextView;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单次执行的资源统计
+ *
+ * <p>随 Reactor Context（键 {@link #CONTEXT_KEY}）传递到模型调用和工具调用，
+ * 累计 ReAct 循环中每次模型调用的 Token 用量与耗时、每次工具调用的耗时，以及排队耗时。
+ * 同一次执行中的模型调用和工具调用可能并发，所有计数均为线程安全。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class RunMetrics {
+
+    /**
+     * Reactor Context 中的键
+     */
+    public static final String CONTEXT_KEY = RunMetrics.class.getName();
+
+    private final long queueTime;
+    private final AtomicLong modelCalls = new AtomicLong();
+    private final AtomicLong modelTimeNanos = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private final AtomicLong toolCalls = new AtomicLong();
+    private final AtomicLong toolTimeNanos = new AtomicLong();
+
+    /**
+     * @param queueTime 排队耗时（毫秒）
+     */
+    public RunMetrics(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+    /**
+     * 从 Reactor Context 中读取执行统计
+     *
+     * @param context Reactor Context
+     * @return 执行统计，未设置时返回 null
+     */
+    public static RunMetrics fromContext(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 记录一次模型调用
+     *
+     * @param elapsedNanos     耗时（纳秒）
+     * @param promptTokens     输入 Token 数
+     * @param completionTokens 输出 Token 数
+     */
+    public void recordModelCall(long elapsedNanos, long promptTokens, long completionTokens) {
+        this.modelCalls.incrementAndGet();
+        this.modelTimeNanos.addAndGet(elapsedNanos);
+        this.promptTokens.addAndGet(promptTokens);
+        this.completionTokens.addAndGet(completionTokens);
+    }
+
+    /**
+     * 记录一次工具调用
+     *
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordToolCall(long elapsedNanos) {
+        this.toolCalls.incrementAndGet();
+        this.toolTimeNanos.addAndGet(elapsedNanos);
+    }
+
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public long getModelCalls() {
+        return modelCalls.get();
+    }
+
+    /**
+     * 模型调用累计耗时（毫秒）
+     */
+    public long getModelTime() {
+        return TimeUnit.NANOSECONDS.toMillis(modelTimeNanos.get());
+    }
+
+    public long getPromptTokens() {
+        return promptTokens.get();
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens.get();
+    }
+
+    public long getToolCalls() {
+        return toolCalls.get();
+    }
+
+    /**
+     * 工具调用累计耗时（毫秒）
+     */
+    public long getToolTime() {
+        return TimeUnit.NANOSECONDS.toMillis(toolTimeNanos.get());
+    }
+
+    /**
+     * 转换为 Token 使用量
+     */
+    public ExecuteResult.TokenUsage toTokenUsage() {
+        ExecuteResult.TokenUsage tokenUsage = new ExecuteResult.TokenUsage();
+        tokenUsage.setPromptTokens((int) getPromptTokens());
+        tokenUsage.setCompletionTokens((int) getCompletionTokens());
+        tokenUsage.setTotalTokens((int) (getPromptTokens() + getCompletionTokens()));
+        return tokenUsage;
+    }
+
+    /**
+     * 转换为耗时拆分信息（毫秒）
+     */
+    public Map<String, Object> toTiming() {
+        Map<String, Object> timing = new HashMap<>();
+        timing.put("queueTime", queueTime);
+        timing.put("modelTime", getModelTime());
+        timing.put("toolTime", getToolTime());
+        timing.put("modelCalls", getModelCalls());
+        timing.put("toolCalls", getToolCalls());
+        return timing;
+    }
+}
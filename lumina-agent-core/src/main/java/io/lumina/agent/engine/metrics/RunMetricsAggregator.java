@@ -0,0 +1,119 @@
+package io.lumina.agent.engine.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 执行统计汇总
+ *
+ * <p>按业务类型和租户汇总每次执行的 Token 用量、模型耗时、工具耗时和排队耗时，用于容量评估和定位慢/高成本 Agent。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RunMetricsAggregator {
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次执行
+     *
+     * @param businessType 业务类型
+     * @param tenantId     租户 ID（可为空）
+     * @param metrics      执行统计
+     * @param duration     总耗时（毫秒）
+     * @param success      是否成功
+     */
+    public void record(String businessType, Long tenantId, RunMetrics metrics, long duration, boolean success) {
+        String type = businessType != null ? businessType : "default";
+        String key = type + ":" + (tenantId != null ? tenantId : "-");
+        Aggregate aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate(type, tenantId));
+
+        aggregate.runs.incrementAndGet();
+        if (!success) {
+            aggregate.failures.incrementAndGet();
+        }
+        aggregate.duration.addAndGet(duration);
+        aggregate.queueTime.addAndGet(metrics.getQueueTime());
+        aggregate.modelTime.addAndGet(metrics.getModelTime());
+        aggregate.toolTime.addAndGet(metrics.getToolTime());
+        aggregate.modelCalls.addAndGet(metrics.getModelCalls());
+        aggregate.toolCalls.addAndGet(metrics.getToolCalls());
+        aggregate.promptTokens.addAndGet(metrics.getPromptTokens());
+        aggregate.completionTokens.addAndGet(metrics.getCompletionTokens());
+    }
+
+    /**
+     * 获取按业务类型和租户汇总的统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Aggregate aggregate : aggregates.values()) {
+            stats.add(aggregate.toMap());
+        }
+        return stats;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        aggregates.clear();
+        log.info("执行统计已清空");
+    }
+
+    /**
+     * 业务类型 + 租户维度的累计统计
+     */
+    private static class Aggregate {
+        private final String businessType;
+        private final Long tenantId;
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong duration = new AtomicLong();
+        private final AtomicLong queueTime = new AtomicLong();
+        private final AtomicLong modelTime = new AtomicLong();
+        private final AtomicLong toolTime = new AtomicLong();
+        private final AtomicLong modelCalls = new AtomicLong();
+        private final AtomicLong toolCalls = new AtomicLong();
+        private final AtomicLong promptTokens = new AtomicLong();
+        private final AtomicLong completionTokens = new AtomicLong();
+
+        private Aggregate(String businessType, Long tenantId) {
+            this.businessType = businessType;
+            this.tenantId = tenantId;
+        }
+
+        private Map<String, Object> toMap() {
+            long runCount = runs.get();
+            long totalTokens = promptTokens.get() + completionTokens.get();
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("businessType", businessType);
+            map.put("tenantId", tenantId);
+            map.put("runs", runCount);
+            map.put("failures", failures.get());
+            map.put("duration", duration.get());
+            map.put("queueTime", queueTime.get());
+            map.put("modelTime", modelTime.get());
+            map.put("toolTime", toolTime.get());
+            map.put("modelCalls", modelCalls.get());
+            map.put("toolCalls", toolCalls.get());
+            map.put("promptTokens", promptTokens.get());
+            map.put("completionTokens", completionTokens.get());
+            map.put("totalTokens", totalTokens);
+            map.put("avgDuration", runCount > 0 ? duration.get() / runCount : 0L);
+            map.put("avgTokens", runCount > 0 ? totalTokens / runCount : 0L);
+            return map;
+        }
+    }
+}
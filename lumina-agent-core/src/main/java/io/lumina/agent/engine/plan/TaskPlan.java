@@ -0,0 +1,125 @@
+package io.lumina.agent.engine.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 任务规划
+ *
+ * <p>规划模型把复合任务拆分为相互独立、可并行执行的子任务，每个子任务指定所需的工具子集。
+ * 规划模型输出 JSON：
+ * <pre>
+ * {"subtasks": [{"name": "...", "task": "...", "tools": ["tool_a", "tool_b"]}]}
+ * </pre>
+ * 允许输出中包含 Markdown 代码块等额外文本；无法解析时返回空规划，调用方按单 Agent 执行。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class TaskPlan {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TaskPlan EMPTY = new TaskPlan(Collections.emptyList());
+
+    private final List<Subtask> subtasks;
+
+    private TaskPlan(List<Subtask> subtasks) {
+        this.subtasks = subtasks;
+    }
+
+    /**
+     * 解析规划模型输出
+     *
+     * @param output       规划模型输出
+     * @param allowedTools 父 Agent 可用的工具（子任务只能使用其中的工具）
+     * @param maxSubtasks  最多保留的子任务数
+     * @return 任务规划（无法解析时为空规划）
+     */
+    public static TaskPlan parse(String output, Collection<String> allowedTools, int maxSubtasks) {
+        if (output == null) {
+            return EMPTY;
+        }
+        int start = output.indexOf('{');
+        int end = output.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            log.warn("任务规划输出不是 JSON，按单 Agent 执行");
+            return EMPTY;
+        }
+
+        try {
+            JsonNode nodes = OBJECT_MAPPER.readTree(output.substring(start, end + 1)).path("subtasks");
+            List<Subtask> subtasks = new ArrayList<>();
+            for (JsonNode node : nodes) {
+                if (subtasks.size() >= maxSubtasks) {
+                    log.warn("子任务数超过上限，忽略多余子任务: max={}", maxSubtasks);
+                    break;
+                }
+                String task = node.path("task").asText("").trim();
+                if (task.isEmpty()) {
+                    continue;
+                }
+                String name = node.path("name").asText("subtask-" + (subtasks.size() + 1));
+                subtasks.add(new Subtask(name, task, parseTools(node.get("tools"), allowedTools)));
+            }
+            return subtasks.isEmpty() ? EMPTY : new TaskPlan(Collections.unmodifiableList(subtasks));
+        } catch (Exception e) {
+            log.warn("解析任务规划失败，按单 Agent 执行: {}", e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    /**
+     * 解析子任务工具（未指定时返回 null，表示继承父 Agent 的工具集）
+     */
+    private static List<String> parseTools(JsonNode node, Collection<String> allowedTools) {
+        if (node == null || !node.isArray()) {
+            return null;
+        }
+        List<String> tools = new ArrayList<>();
+        for (JsonNode tool : node) {
+            String toolName = tool.asText();
+            if (allowedTools.contains(toolName)) {
+                tools.add(toolName);
+            } else {
+                log.warn("规划的工具不在 Agent 工具集中，已忽略: {}", toolName);
+            }
+        }
+        return tools;
+    }
+
+    public List<Subtask> getSubtasks() {
+        return subtasks;
+    }
+
+    public boolean isEmpty() {
+        return subtasks.isEmpty();
+    }
+
+    /**
+     * 子任务
+     *
+     * @param name  子任务名称
+     * @param task  子任务描述
+     * @param tools 子任务可用的工具（为 null 时继承父 Agent 的工具集）
+     */
+    public record Subtask(String name, String task, List<String> tools) {
+    }
+
+    /**
+     * 子任务执行结果
+     *
+     * @param subtask 子任务
+     * @param success 是否成功
+     * @param output  输出（失败时为错误信息）
+     */
+    public record SubtaskResult(Subtask subtask, boolean success, String output) {
+    }
+}
@@ -0,0 +1,125 @@
+package io.lumina.agent.engine.pool;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.model.AgentConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Agent 配置指纹
+ *
+ * <p>根据 AgentConfig 与生效的 LLM 配置计算稳定的摘要，用作实例池、模型缓存和响应缓存的键。
+ * <p>API Key 只参与摘要计算，不会以明文出现在键中。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class AgentFingerprint {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private AgentFingerprint() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * 计算 Agent 实例指纹
+     *
+     * @param config         Agent 配置
+     * @param llmConfig      生效的 LLM 配置
+     * @param llmDefaults    全局 LLM 配置（流式、思考模式等全局开关）
+     * @param toolsetVersion 工具注册表版本号
+     * @return 指纹（十六进制摘要）
+     */
+    public static String of(AgentConfig config, AgentConfig.LLMConfig llmConfig,
+                            LuminaAgentProperties.LLMConfig llmDefaults, long toolsetVersion) {
+        StringBuilder builder = new StringBuilder(256);
+        append(builder, config.getAgentName());
+        append(builder, config.getAgentType());
+        append(builder, config.getPromptTemplate());
+        AgentConfig.ToolConfig toolConfig = config.getToolConfig();
+        if (toolConfig != null) {
+            append(builder, toolConfig.getEnableAll());
+            List<String> tools = toolConfig.getTools();
+            append(builder, tools != null ? String.join(",", tools) : null);
+        }
+        append(builder, toolsetVersion);
+        append(builder, ofLlm(llmConfig, llmDefaults));
+        return sha256(builder.toString());
+    }
+
+    /**
+     * 计算模型指纹
+     *
+     * @param llmConfig   生效的 LLM 配置
+     * @param llmDefaults 全局 LLM 配置
+     * @return 指纹（十六进制摘要）
+     */
+    public static String ofLlm(AgentConfig.LLMConfig llmConfig, LuminaAgentProperties.LLMConfig llmDefaults) {
+        StringBuilder builder = new StringBuilder(128);
+        append(builder, llmConfig.getModelType());
+        append(builder, llmConfig.getModelName());
+        append(builder, llmConfig.getApiKey());
+        append(builder, llmConfig.getTemperature());
+        append(builder, llmConfig.getMaxTokens());
+        append(builder, llmDefaults.getBaseUrl());
+        append(builder, llmConfig.getStream() != null ? llmConfig.getStream() : llmDefaults.getStream());
+        append(builder, llmDefaults.getEnableThinking());
+        return sha256(builder.toString());
+    }
+
+    /**
+     * 计算请求指纹（用于响应缓存和请求合并）
+     *
+     * <p>按渲染后的提示词计算，模板变量（如 {@code {tenant}}）不同的请求不会共用指纹；
+     * 租户 ID 始终参与计算，同一请求在不同租户下的执行结果不会共享。
+     *
+     * @param agentFingerprint Agent 实例指纹（已涵盖模型、温度、最大 Token、系统提示词和工具集版本）
+     * @param tenantId         租户 ID
+     * @param prompt           渲染后的提示词（空白差异不影响指纹）
+     * @return 指纹（十六进制摘要）
+     */
+    public static String ofRequest(String agentFingerprint, Long tenantId, String prompt) {
+        StringBuilder builder = new StringBuilder(256);
+        append(builder, agentFingerprint);
+        append(builder, tenantId);
+        append(builder, normalizeTask(prompt));
+        return sha256(builder.toString());
+    }
+
+    /**
+     * 归一化任务描述（Unicode NFKC、去除首尾空白、合并连续空白）
+     *
+     * @param task 任务描述
+     * @return 归一化后的任务描述
+     */
+    public static String normalizeTask(String task) {
+        if (task == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(task, Normalizer.Form.NFKC).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+
+    private static void append(StringBuilder builder, Object value) {
+        builder.append(Objects.toString(value, "")).append(SEPARATOR);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
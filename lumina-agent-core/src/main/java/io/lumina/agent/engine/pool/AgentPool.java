@@ -0,0 +1,207 @@
+package io.lumina.agent.engine.pool;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Agent 实例池
+ *
+ * <p>按配置指纹缓存已构建的 ReActAgent，避免每次执行都重新创建模型客户端、工具集和 Agent。
+ * <p>空闲实例数量受 {@code lumina.agent.pool} 配置约束，超过空闲时间的实例由后台线程清理。
+ * 池中没有可用实例时直接创建新实例，不会阻塞调用方。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AgentPool {
+
+    private final LuminaAgentProperties.PoolConfig poolConfig;
+
+    /**
+     * 空闲实例（按配置指纹分组，后进先出以保持实例温热）
+     */
+    private final Map<String, Deque<PooledAgent>> idleAgents = new ConcurrentHashMap<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 最近一次清空实例池的时间（毫秒），此前创建的实例归还时直接丢弃
+     */
+    private volatile long clearedAt;
+
+    private ScheduledExecutorService evictor;
+
+    public AgentPool(LuminaAgentProperties agentProperties) {
+        this.poolConfig = agentProperties.getPool();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!Boolean.TRUE.equals(poolConfig.getEnabled())) {
+            log.info("Agent 实例池未启用");
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lumina-agent-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = poolConfig.getEvictionInterval();
+        evictor.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.SECONDS);
+        log.info("Agent 实例池初始化完成: maxIdlePerKey={}, maxIdleTotal={}, idleTimeout={}s",
+                poolConfig.getMaxIdlePerKey(), poolConfig.getMaxIdleTotal(), poolConfig.getIdleTimeout());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        clear();
+    }
+
+    /**
+     * 借出 Agent 实例
+     *
+     * @param fingerprint 配置指纹
+     * @param factory     池中无空闲实例时的创建方法
+     * @return Agent 实例
+     */
+    public PooledAgent borrow(String fingerprint, Supplier<PooledAgent> factory) {
+        if (Boolean.TRUE.equals(poolConfig.getEnabled())) {
+            Deque<PooledAgent> deque = idleAgents.get(fingerprint);
+            PooledAgent pooledAgent = deque != null ? deque.pollFirst() : null;
+            if (pooledAgent != null) {
+                idleCount.decrementAndGet();
+                hitCount.incrementAndGet();
+                pooledAgent.markBorrowed();
+                log.debug("复用池化 Agent: fingerprint={}, borrowCount={}",
+                        fingerprint, pooledAgent.getBorrowCount());
+                return pooledAgent;
+            }
+        }
+
+        missCount.incrementAndGet();
+        PooledAgent pooledAgent = factory.get();
+        pooledAgent.markBorrowed();
+        return pooledAgent;
+    }
+
+    /**
+     * 归还 Agent 实例
+     *
+     * <p>重置执行状态后放回池中，超过容量上限或在实例池清空前创建的实例直接丢弃。
+     *
+     * @param pooledAgent Agent 实例
+     */
+    public void release(PooledAgent pooledAgent) {
+        if (pooledAgent == null || !Boolean.TRUE.equals(poolConfig.getEnabled())) {
+            return;
+        }
+        if (pooledAgent.getCreatedAt() <= clearedAt) {
+            log.debug("实例在实例池清空前创建，丢弃实例: fingerprint={}", pooledAgent.getFingerprint());
+            return;
+        }
+
+        try {
+            pooledAgent.reset();
+        } catch (Exception e) {
+            log.warn("重置 Agent 状态失败，丢弃实例: fingerprint={}", pooledAgent.getFingerprint(), e);
+            return;
+        }
+
+        Deque<PooledAgent> deque = idleAgents.computeIfAbsent(
+                pooledAgent.getFingerprint(), k -> new ConcurrentLinkedDeque<>());
+        if (deque.size() >= poolConfig.getMaxIdlePerKey()) {
+            log.debug("Agent 实例池已满，丢弃实例: fingerprint={}", pooledAgent.getFingerprint());
+            return;
+        }
+        if (idleCount.incrementAndGet() > poolConfig.getMaxIdleTotal()) {
+            idleCount.decrementAndGet();
+            log.debug("Agent 实例池总量已满，丢弃实例: fingerprint={}", pooledAgent.getFingerprint());
+            return;
+        }
+        deque.offerFirst(pooledAgent);
+    }
+
+    /**
+     * 废弃 Agent 实例（执行异常时调用，不再放回池中）
+     *
+     * @param pooledAgent Agent 实例
+     */
+    public void invalidate(PooledAgent pooledAgent) {
+        if (pooledAgent != null) {
+            log.debug("废弃 Agent 实例: fingerprint={}", pooledAgent.getFingerprint());
+        }
+    }
+
+    /**
+     * 清空实例池（清空时仍被借出的实例归还时丢弃）
+     */
+    public void clear() {
+        clearedAt = System.currentTimeMillis();
+        idleAgents.clear();
+        idleCount.set(0);
+        log.info("Agent 实例池已清空");
+    }
+
+    /**
+     * 获取实例池统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", poolConfig.getEnabled());
+        stats.put("keys", idleAgents.size());
+        stats.put("idle", idleCount.get());
+        stats.put("hits", hitCount.get());
+        stats.put("misses", missCount.get());
+        stats.put("evictions", evictionCount.get());
+        return stats;
+    }
+
+    /**
+     * 清理超过空闲时间的实例
+     */
+    private void evictIdle() {
+        long expireBefore = System.currentTimeMillis()
+                - TimeUnit.SECONDS.toMillis(poolConfig.getIdleTimeout());
+        int evicted = 0;
+
+        for (Map.Entry<String, Deque<PooledAgent>> entry : idleAgents.entrySet()) {
+            Iterator<PooledAgent> iterator = entry.getValue().iterator();
+            while (iterator.hasNext()) {
+                PooledAgent pooledAgent = iterator.next();
+                if (pooledAgent.getLastReturnedAt() < expireBefore && entry.getValue().remove(pooledAgent)) {
+                    idleCount.decrementAndGet();
+                    evicted++;
+                }
+            }
+        }
+
+        if (evicted > 0) {
+            evictionCount.addAndGet(evicted);
+            log.info("清理空闲 Agent 实例: {} 个", evicted);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.lumina.agent.engine.pool;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.core.memory.InMemoryMemory;
+import lombok.Getter;
+
+/**
+ * 池化的 Agent 实例
+ *
+ * <p>持有 ReActAgent 及其记忆，归还实例池前会重置单次执行的状态。
+ * <p>同一时刻只允许被一个执行借出，不能并发调用。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Getter
+public class PooledAgent {
+
+    /**
+     * 配置指纹
+     */
+    private final String fingerprint;
+
+    /**
+     * AgentScope ReActAgent
+     */
+    private final ReActAgent agent;
+
+    /**
+     * 单次执行使用的记忆
+     */
+    private final InMemoryMemory memory;
+
+    /**
+     * 创建时间（毫秒）
+     */
+    private final long createdAt;
+
+    /**
+     * 最近一次归还时间（毫秒）
+     */
+    private volatile long lastReturnedAt;
+
+    /**
+     * 借出次数
+     */
+    private volatile int borrowCount;
+
+    public PooledAgent(String fingerprint, ReActAgent agent, InMemoryMemory memory) {
+        this.fingerprint = fingerprint;
+        this.agent = agent;
+        this.memory = memory;
+        this.createdAt = System.currentTimeMillis();
+        this.lastReturnedAt = this.createdAt;
+    }
+
+    /**
+     * 标记借出
+     */
+    void markBorrowed() {
+        borrowCount++;
+    }
+
+    /**
+     * 重置单次执行状态并标记归还
+     */
+    void reset() {
+        memory.clear();
+        lastReturnedAt = System.currentTimeMillis();
+    }
+}
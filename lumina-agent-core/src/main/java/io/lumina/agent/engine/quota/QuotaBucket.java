@@ -0,0 +1,140 @@
+package io.lumina.agent.engine.quota;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 配额令牌桶（本地租约）
+ *
+ * <p>令牌桶本身保存在共享存储中（见 {@link LeaseSource}），本地只持有一小批预取的额度：
+ * 本地额度足够时直接扣减，不足时向共享存储申请新租约。
+ * 本地额度允许为负（实际 Token 用量超过预扣值时记为欠额，下次申请租约时补齐）。
+ * 租约过期后未使用的额度在下次申请时一并归还，避免各节点囤积额度。
+ * <p>申请租约时持有锁，同一令牌桶的并发请求只发起一次申请；使用 {@link ReentrantLock} 而非 synchronized，
+ * 避免虚拟线程在等待 Redis 响应时占住载体线程。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class QuotaBucket {
+
+    /**
+     * 共享令牌桶存储
+     */
+    @FunctionalInterface
+    public interface LeaseSource {
+
+        /**
+         * 申请租约
+         *
+         * @param key      令牌桶键
+         * @param capacity 桶容量（每分钟额度）
+         * @param want     期望申请的额度
+         * @param min      最少需要的额度（不足时不分配）
+         * @param returned 归还的未使用额度
+         * @return [分配的额度, 建议等待时间（毫秒，分配成功时为 0）]
+         */
+        long[] lease(String key, long capacity, long want, long min, long returned);
+    }
+
+    @Getter
+    private final String key;
+
+    @Getter
+    private final long capacity;
+
+    private final long leaseSize;
+    private final long leaseTtl;
+    private final LeaseSource source;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long available;
+    private long leaseExpiresAt;
+
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    public QuotaBucket(String key, long capacity, double leaseRatio, long leaseTtl, LeaseSource source) {
+        this.key = key;
+        this.capacity = capacity;
+        this.leaseSize = Math.max(1L, Math.round(capacity * leaseRatio));
+        this.leaseTtl = leaseTtl;
+        this.source = source;
+    }
+
+    /**
+     * 扣减额度
+     *
+     * @param amount 额度
+     * @return 0 表示扣减成功，否则为建议等待时间（毫秒）
+     */
+    public long take(long amount) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (available >= amount && now < leaseExpiresAt) {
+                available -= amount;
+                admittedCount.incrementAndGet();
+                return 0L;
+            }
+
+            // 过期租约的剩余额度归还，欠额保留
+            long returned = 0L;
+            if (now >= leaseExpiresAt && available > 0) {
+                returned = available;
+                available = 0L;
+            }
+            // 单次请求超过桶容量时最多申请满桶，超出部分记为欠额
+            long min = Math.min(amount - available, capacity);
+            long[] lease = source.lease(key, capacity, Math.max(min, leaseSize), min, returned);
+            leaseCount.incrementAndGet();
+            if (lease[0] <= 0) {
+                throttledCount.incrementAndGet();
+                return Math.max(1L, lease[1]);
+            }
+            available += lease[0] - amount;
+            leaseExpiresAt = now + leaseTtl;
+            admittedCount.incrementAndGet();
+            return 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 调整本地额度（正数为退还，负数为补扣，补扣后允许为负）
+     *
+     * @param amount 额度
+     */
+    public void adjust(long amount) {
+        if (amount == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            available += amount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取令牌桶统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("key", key);
+        stats.put("capacityPerMinute", capacity);
+        stats.put("leaseSize", leaseSize);
+        stats.put("localAvailable", available);
+        stats.put("admitted", admittedCount.get());
+        stats.put("throttled", throttledCount.get());
+        stats.put("leases", leaseCount.get());
+        return stats;
+    }
+}
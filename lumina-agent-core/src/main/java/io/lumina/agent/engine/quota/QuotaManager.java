@@ -0,0 +1,335 @@
+package io.lumina.agent.engine.quota;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 租户与业务类型配额管理
+ *
+ * <p>按租户和业务类型分别维护每分钟请求数和每分钟 Token 数两个令牌桶（规则来自 {@code lumina.agent.quota} 配置），
+ * 一次执行需同时通过全部相关令牌桶。令牌桶状态保存在 Redis 中（Lua 脚本原子地补充和扣减），各节点共享；
+ * 各节点通过 {@link QuotaBucket} 预取本地租约，热路径不必每次访问 Redis。
+ * 未配置 Redis 或访问 Redis 失败时退化为进程内令牌桶（按节点限制）。
+ * <p>Token 按预估值预扣，执行结束后按实际用量多退少补；额度不足时在等待上限内延后，仍不足则抛出
+ * {@link BusinessException#tooManyRequests(String)}。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class QuotaManager {
+
+    /**
+     * Redis Key 前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "lumina:agent:quota:";
+
+    /**
+     * 申请租约：补充令牌、归还未使用额度，额度不少于最少需要值时分配；
+     * 返回分配的额度，不足时返回负的建议等待时间（毫秒）
+     */
+    private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local want = tonumber(ARGV[2])
+            local min = tonumber(ARGV[3])
+            local returned = tonumber(ARGV[4])
+            local rate = capacity / 60000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate + returned)
+            local granted = 0
+            if tokens >= want then
+                granted = want
+            elseif tokens >= min then
+                granted = math.floor(tokens)
+            end
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], 120000)
+            if granted > 0 then
+                return granted
+            end
+            return -math.max(1, math.ceil((min - tokens) / rate))
+            """, Long.class);
+
+    private static final String REQUESTS = "requests";
+    private static final String TOKENS = "tokens";
+
+    private final LuminaAgentProperties.QuotaConfig quotaConfig;
+
+    /**
+     * 本地租约令牌桶（令牌桶键 -> 令牌桶，不限制的维度不创建）
+     */
+    private final Map<String, QuotaBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 进程内令牌桶（未配置 Redis 或 Redis 不可用时使用）
+     */
+    private final Map<String, LocalTokenBucket> localBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong deferredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Redis 模板（可选，如果未配置则只按节点限制）
+     */
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    public QuotaManager(LuminaAgentProperties agentProperties) {
+        this.quotaConfig = agentProperties.getQuota();
+    }
+
+    /**
+     * 是否启用配额
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(quotaConfig.getEnabled());
+    }
+
+    /**
+     * 申请一次执行的配额（1 个请求 + 预估 Token 数）
+     *
+     * @param businessType    业务类型
+     * @param tenantId        租户 ID（为空时只检查业务类型配额）
+     * @param estimatedTokens 预估 Token 数
+     * @param maxWait         最长延后等待时间（毫秒），实际取与配置值的较小者
+     * @return 配额凭证（执行结束后按实际 Token 用量结算）
+     * @throws BusinessException 额度不足且等待超时时抛出（429）
+     */
+    public Grant acquire(String businessType, Long tenantId, long estimatedTokens, long maxWait) {
+        if (!isEnabled()) {
+            return Grant.NOOP;
+        }
+
+        List<QuotaBucket> requestBuckets = new ArrayList<>(2);
+        List<QuotaBucket> tokenBuckets = new ArrayList<>(2);
+        if (tenantId != null) {
+            String tenant = String.valueOf(tenantId);
+            LuminaAgentProperties.QuotaRule rule = quotaConfig.getTenants().get(tenant);
+            addBucket(requestBuckets, "tenant:" + tenant, REQUESTS, rule,
+                    quotaConfig.getTenant(), LuminaAgentProperties.QuotaRule::getRequestsPerMinute);
+            addBucket(tokenBuckets, "tenant:" + tenant, TOKENS, rule,
+                    quotaConfig.getTenant(), LuminaAgentProperties.QuotaRule::getTokensPerMinute);
+        }
+        String type = businessType != null ? businessType : "default";
+        LuminaAgentProperties.QuotaRule rule = quotaConfig.getBusinessTypes().get(type);
+        addBucket(requestBuckets, "businessType:" + type, REQUESTS, rule,
+                quotaConfig.getBusinessType(), LuminaAgentProperties.QuotaRule::getRequestsPerMinute);
+        addBucket(tokenBuckets, "businessType:" + type, TOKENS, rule,
+                quotaConfig.getBusinessType(), LuminaAgentProperties.QuotaRule::getTokensPerMinute);
+        if (requestBuckets.isEmpty() && tokenBuckets.isEmpty()) {
+            return Grant.NOOP;
+        }
+
+        long waitUntil = System.currentTimeMillis() + Math.max(0L, Math.min(maxWait, quotaConfig.getMaxWait()));
+        boolean deferred = false;
+        while (true) {
+            long wait = takeAll(requestBuckets, tokenBuckets, estimatedTokens);
+            if (wait == 0L) {
+                return new Grant(requestBuckets, tokenBuckets, estimatedTokens);
+            }
+
+            long remaining = waitUntil - System.currentTimeMillis();
+            if (wait > remaining) {
+                rejectedCount.incrementAndGet();
+                log.warn("配额不足，拒绝执行: businessType={}, tenantId={}, retryAfter={}ms",
+                        businessType, tenantId, wait);
+                throw BusinessException.tooManyRequests("配额不足，请稍后重试: businessType=" + businessType
+                        + ", retryAfter=" + wait + "ms");
+            }
+            if (!deferred) {
+                deferred = true;
+                deferredCount.incrementAndGet();
+            }
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejectedCount.incrementAndGet();
+                throw BusinessException.tooManyRequests("配额等待被中断: businessType=" + businessType);
+            }
+        }
+    }
+
+    /**
+     * 获取配额统计信息（延后与拒绝次数、各令牌桶的本地租约状态）
+     */
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> bucketStats = new ArrayList<>();
+        for (QuotaBucket bucket : buckets.values()) {
+            bucketStats.add(bucket.getStats());
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("distributed", redisTemplate != null);
+        stats.put("deferred", deferredCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("buckets", bucketStats);
+        return stats;
+    }
+
+    /**
+     * 依次扣减全部令牌桶，任一不足时退还已扣减的额度
+     *
+     * @return 0 表示全部扣减成功，否则为建议等待时间（毫秒）
+     */
+    private long takeAll(List<QuotaBucket> requestBuckets, List<QuotaBucket> tokenBuckets, long tokens) {
+        List<QuotaBucket> taken = new ArrayList<>(requestBuckets.size() + tokenBuckets.size());
+        long wait = 0L;
+        for (QuotaBucket bucket : requestBuckets) {
+            wait = bucket.take(1L);
+            if (wait > 0L) {
+                break;
+            }
+            taken.add(bucket);
+        }
+        if (wait == 0L) {
+            for (QuotaBucket bucket : tokenBuckets) {
+                wait = bucket.take(tokens);
+                if (wait > 0L) {
+                    break;
+                }
+                taken.add(bucket);
+            }
+        }
+        if (wait > 0L) {
+            for (QuotaBucket bucket : taken) {
+                bucket.adjust(requestBuckets.contains(bucket) ? 1L : tokens);
+            }
+        }
+        return wait;
+    }
+
+    private void addBucket(List<QuotaBucket> target, String subject, String metric,
+                           LuminaAgentProperties.QuotaRule rule, LuminaAgentProperties.QuotaRule defaults,
+                           Function<LuminaAgentProperties.QuotaRule, Long> limit) {
+        Long capacity = rule != null && limit.apply(rule) != null ? limit.apply(rule) : limit.apply(defaults);
+        if (capacity == null || capacity <= 0) {
+            return;
+        }
+        String key = subject + ":" + metric;
+        target.add(buckets.computeIfAbsent(key, k -> {
+            log.info("创建配额令牌桶: key={}, capacityPerMinute={}", k, capacity);
+            return new QuotaBucket(k, capacity, quotaConfig.getLeaseRatio(), quotaConfig.getLeaseTtl(), this::lease);
+        }));
+    }
+
+    /**
+     * 申请租约（优先使用 Redis 共享令牌桶，不可用时使用进程内令牌桶）
+     */
+    private long[] lease(String key, long capacity, long want, long min, long returned) {
+        if (redisTemplate != null) {
+            try {
+                Long result = redisTemplate.execute(LEASE_SCRIPT, RedisSerializer.string(),
+                        new GenericToStringSerializer<>(Long.class), Collections.singletonList(REDIS_KEY_PREFIX + key),
+                        String.valueOf(capacity), String.valueOf(want), String.valueOf(min), String.valueOf(returned));
+                if (result != null) {
+                    return result > 0 ? new long[]{result, 0L} : new long[]{0L, -result};
+                }
+            } catch (Exception e) {
+                log.warn("从 Redis 申请配额租约失败，使用进程内令牌桶: key={}, error={}", key, e.getMessage());
+            }
+        }
+        return localBuckets.computeIfAbsent(key, k -> new LocalTokenBucket(capacity))
+                .lease(want, min, returned);
+    }
+
+    /**
+     * 配额凭证
+     *
+     * <p>执行结束后调用 {@link #settle(long)} 按实际 Token 用量结算；未执行（如被舱壁拒绝）时调用 {@link #cancel()} 全额退还。
+     * 只结算一次。
+     */
+    public static class Grant {
+
+        /**
+         * 未启用配额时使用的空凭证
+         */
+        public static final Grant NOOP = new Grant(List.of(), List.of(), 0L);
+
+        private final List<QuotaBucket> requestBuckets;
+        private final List<QuotaBucket> tokenBuckets;
+        private final long estimatedTokens;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Grant(List<QuotaBucket> requestBuckets, List<QuotaBucket> tokenBuckets, long estimatedTokens) {
+            this.requestBuckets = requestBuckets;
+            this.tokenBuckets = tokenBuckets;
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        /**
+         * 按实际 Token 用量结算（多退少补）
+         *
+         * @param actualTokens 实际 Token 用量
+         */
+        public void settle(long actualTokens) {
+            if (settled.compareAndSet(false, true)) {
+                tokenBuckets.forEach(bucket -> bucket.adjust(estimatedTokens - actualTokens));
+            }
+        }
+
+        /**
+         * 全额退还
+         */
+        public void cancel() {
+            if (settled.compareAndSet(false, true)) {
+                requestBuckets.forEach(bucket -> bucket.adjust(1L));
+                tokenBuckets.forEach(bucket -> bucket.adjust(estimatedTokens));
+            }
+        }
+    }
+
+    /**
+     * 进程内令牌桶（与 Redis 脚本逻辑一致）
+     */
+    private static class LocalTokenBucket {
+
+        private final long capacity;
+        private final double rate;
+        private double tokens;
+        private long timestamp;
+
+        LocalTokenBucket(long capacity) {
+            this.capacity = capacity;
+            this.rate = capacity / 60000.0;
+            this.tokens = capacity;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        synchronized long[] lease(long want, long min, long returned) {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + Math.max(0L, now - timestamp) * rate + returned);
+            timestamp = now;
+            long granted = tokens >= want ? want : tokens >= min ? (long) Math.floor(tokens) : 0L;
+            tokens -= granted;
+            if (granted > 0) {
+                return new long[]{granted, 0L};
+            }
+            return new long[]{0L, Math.max(1L, (long) Math.ceil((min - tokens) / rate))};
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.lumina.agent.engine.trace;
+
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单次执行的时间线
+ *
+ * <p>随 Reactor Context（键 {@link #CONTEXT_KEY}）传递到模型调用和工具调用，按步骤记录每次模型调用
+ * （耗时、Token 用量）和每次工具调用（参数大小、耗时、状态），用于逐步定位执行耗时。
+ * 步骤数有上限，超出后只计数不记录。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class RunTimeline {
+
+    /**
+     * Reactor Context 中的键
+     */
+    public static final String CONTEXT_KEY = RunTimeline.class.getName();
+
+    /**
+     * 步骤类型：模型调用
+     */
+    public static final String STEP_MODEL = "model";
+
+    /**
+     * 步骤类型：工具调用
+     */
+    public static final String STEP_TOOL = "tool";
+
+    private final String runId;
+    private final String businessType;
+    private final Long tenantId;
+    private final int maxSteps;
+    private final long startTime;
+    private final long startNanos;
+    private final List<Step> steps = new ArrayList<>();
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private final AtomicInteger toolCalls = new AtomicInteger();
+    private final AtomicInteger droppedSteps = new AtomicInteger();
+
+    private volatile String status = "running";
+    private volatile Long duration;
+
+    public RunTimeline(String runId, String businessType, Long tenantId, int maxSteps) {
+        this.runId = runId;
+        this.businessType = businessType;
+        this.tenantId = tenantId;
+        this.maxSteps = maxSteps;
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 从 Reactor Context 中读取时间线
+     *
+     * @param context Reactor Context
+     * @return 时间线，未设置时返回 null
+     */
+    public static RunTimeline fromContext(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 记录一次模型调用（一次模型调用对应一轮 ReAct 推理）
+     *
+     * @param modelName        模型名称
+     * @param callStartNanos   调用开始时间（System.nanoTime）
+     * @param elapsedNanos     耗时（纳秒）
+     * @param promptTokens     输入 Token 数
+     * @param completionTokens 输出 Token 数
+     * @param status           状态
+     */
+    public void recordModelCall(String modelName, long callStartNanos, long elapsedNanos,
+                                long promptTokens, long completionTokens, String status) {
+        modelCalls.incrementAndGet();
+        addStep(new Step(STEP_MODEL, modelName, offsetMillis(callStartNanos), toMillis(elapsedNanos), status,
+                null, promptTokens, completionTokens));
+    }
+
+    /**
+     * 记录一次工具调用
+     *
+     * @param toolName       工具名称
+     * @param argSize        参数大小（字符数）
+     * @param callStartNanos 调用开始时间（System.nanoTime）
+     * @param elapsedNanos   耗时（纳秒）
+     * @param status         状态
+     */
+    public void recordToolCall(String toolName, int argSize, long callStartNanos, long elapsedNanos, String status) {
+        toolCalls.incrementAndGet();
+        addStep(new Step(STEP_TOOL, toolName, offsetMillis(callStartNanos), toMillis(elapsedNanos), status,
+                argSize, null, null));
+    }
+
+    /**
+     * 结束时间线
+     *
+     * @param status   最终状态
+     * @param duration 总耗时（毫秒）
+     */
+    public void finish(String status, long duration) {
+        this.status = status;
+        this.duration = duration;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getBusinessType() {
+        return businessType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * ReAct 迭代次数（模型调用次数）
+     */
+    public int getIterations() {
+        return modelCalls.get();
+    }
+
+    /**
+     * 转换为可序列化的结构（步骤按开始时间排序）
+     */
+    public Map<String, Object> toMap() {
+        List<Step> sortedSteps;
+        synchronized (steps) {
+            sortedSteps = new ArrayList<>(steps);
+        }
+        sortedSteps.sort(Comparator.comparingLong(Step::startOffset));
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("runId", runId);
+        map.put("businessType", businessType);
+        map.put("tenantId", tenantId);
+        map.put("startTime", startTime);
+        map.put("duration", duration);
+        map.put("status", status);
+        map.put("iterations", modelCalls.get());
+        map.put("toolCalls", toolCalls.get());
+        map.put("droppedSteps", droppedSteps.get());
+        map.put("steps", sortedSteps);
+        return map;
+    }
+
+    private void addStep(Step step) {
+        synchronized (steps) {
+            if (steps.size() < maxSteps) {
+                steps.add(step);
+                return;
+            }
+        }
+        droppedSteps.incrementAndGet();
+    }
+
+    private long offsetMillis(long callStartNanos) {
+        return toMillis(callStartNanos - startNanos);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * 时间线步骤
+     *
+     * @param type             步骤类型（model/tool）
+     * @param name             模型名称或工具名称
+     * @param startOffset      相对执行开始的偏移（毫秒）
+     * @param duration         耗时（毫秒）
+     * @param status           状态
+     * @param argSize          工具参数大小（字符数，仅工具调用）
+     * @param promptTokens     输入 Token 数（仅模型调用）
+     * @param completionTokens 输出 Token 数（仅模型调用）
+     */
+    public record Step(String type,
+                       String name,
+                       long startOffset,
+                       long duration,
+                       String status,
+                       Integer argSize,
+                       Long promptTokens,
+                       Long completionTokens) {
+    }
+}
@@ -0,0 +1,108 @@
+package io.lumina.agent.engine.trace;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 执行时间线环形缓冲区
+ *
+ * <p>保留最近 N 次执行的时间线，写满后覆盖最旧的记录，内存占用有上限。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Component
+public class RunTimelineBuffer {
+
+    private final LuminaAgentProperties.TimelineConfig timelineConfig;
+    private final AtomicReferenceArray<RunTimeline> slots;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public RunTimelineBuffer(LuminaAgentProperties agentProperties) {
+        this.timelineConfig = agentProperties.getTimeline();
+        this.slots = new AtomicReferenceArray<>(Math.max(1, timelineConfig.getCapacity()));
+    }
+
+    /**
+     * 是否启用执行时间线
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(timelineConfig.getEnabled());
+    }
+
+    /**
+     * 是否在执行结果中返回时间线
+     */
+    public boolean isIncludeInResult() {
+        return Boolean.TRUE.equals(timelineConfig.getIncludeInResult());
+    }
+
+    /**
+     * 开始记录一次执行（未启用时返回 null）
+     *
+     * @param businessType 业务类型
+     * @param tenantId     租户 ID
+     * @return 时间线
+     */
+    public RunTimeline start(String businessType, Long tenantId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return new RunTimeline(UUID.randomUUID().toString(), businessType, tenantId, timelineConfig.getMaxSteps());
+    }
+
+    /**
+     * 保存已结束的时间线
+     *
+     * @param timeline 时间线
+     */
+    public void add(RunTimeline timeline) {
+        if (timeline == null) {
+            return;
+        }
+        int index = (int) (cursor.getAndIncrement() % slots.length());
+        slots.set(index, timeline);
+    }
+
+    /**
+     * 按执行 ID 查询时间线
+     *
+     * @param runId 执行 ID
+     * @return 时间线，不存在（或已被覆盖）时返回 null
+     */
+    public RunTimeline get(String runId) {
+        for (int i = 0; i < slots.length(); i++) {
+            RunTimeline timeline = slots.get(i);
+            if (timeline != null && timeline.getRunId().equals(runId)) {
+                return timeline;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查询最近的时间线（从新到旧）
+     *
+     * @param businessType 业务类型（为空表示全部）
+     * @param limit        最大条数
+     * @return 时间线列表
+     */
+    public List<RunTimeline> recent(String businessType, int limit) {
+        List<RunTimeline> result = new ArrayList<>();
+        long end = cursor.get();
+        long start = Math.max(0, end - slots.length());
+        for (long i = end - 1; i >= start && result.size() < limit; i--) {
+            RunTimeline timeline = slots.get((int) (i % slots.length()));
+            if (timeline != null && (businessType == null || businessType.equals(timeline.getBusinessType()))) {
+                result.add(timeline);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,265 @@
+package io.lumina.agent.engine.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.engine.impl.DefaultAgentExecutionEngine;
+import io.lumina.agent.executor.AgentExecutors;
+import io.lumina.agent.llm.ChatModelFactory;
+import io.lumina.agent.loader.PromptLoader;
+import io.lumina.agent.model.AgentConfig;
+import io.lumina.agent.model.ExecuteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agent 运行时启动预热
+ *
+ * <p>在 Web 服务器开始监听之前执行（生命周期阶段早于 Web 服务器），预热完成前实例不接收请求，
+ * 也不会注册到 Nacos（服务注册在 Web 服务器启动后触发），实例加入负载均衡时即处于稳定延迟：
+ * <ul>
+ *     <li>加载全部已知业务类型的配置（含 Nacos 阻塞读取）和 ClassPath 下的全部提示词模板</li>
+ *     <li>构建工具集快照和模型客户端，预先创建池化 Agent 实例</li>
+ *     <li>使用桩模型（{@link ChatModelFactory#WARMUP_TYPE}）执行合成请求（同步与流式交替），预热执行链路、工具分发和 Jackson 序列化的 JIT</li>
+ * </ul>
+ * <p>预热受总超时时间约束，单个业务类型失败或超时只记录日志，不阻止应用启动。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AgentWarmup implements SmartLifecycle {
+
+    /**
+     * 生命周期阶段（早于 Web 服务器启动和优雅停机阶段）
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final String AGENT_CONFIG_PATTERN = "classpath*:agent-config/*.yaml";
+    private static final String PROMPT_PATTERN = "classpath*:prompts/*.txt";
+
+    private static final String SYNTHETIC_TASK = "预热请求 #%d：请简要介绍你能提供的帮助。";
+
+    private final LuminaAgentProperties.WarmupConfig warmupConfig;
+    private final DefaultAgentExecutionEngine executionEngine;
+    private final PromptLoader promptLoader;
+    private final AgentExecutors agentExecutors;
+
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private volatile String state = "PENDING";
+    private volatile long startedAt;
+    private volatile long durationMs;
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<String, Object>> businessTypes = new ConcurrentHashMap<>();
+
+    public AgentWarmup(LuminaAgentProperties agentProperties,
+                       DefaultAgentExecutionEngine executionEngine,
+                       PromptLoader promptLoader,
+                       AgentExecutors agentExecutors) {
+        this.warmupConfig = agentProperties.getWarmup();
+        this.executionEngine = executionEngine;
+        this.promptLoader = promptLoader;
+        this.agentExecutors = agentExecutors;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!Boolean.TRUE.equals(warmupConfig.getEnabled())) {
+            state = "DISABLED";
+            return;
+        }
+
+        startedAt = System.currentTimeMillis();
+        state = "RUNNING";
+        Set<String> types = discoverBusinessTypes();
+        log.info("开始启动预热: businessTypes={}", types);
+
+        try {
+            preloadPrompts();
+            Flux.fromIterable(types)
+                    .flatMap(type -> Mono.fromRunnable(() -> warmUp(type))
+                            .subscribeOn(agentExecutors.getScheduler()))
+                    .then()
+                    .block(Duration.ofMillis(warmupConfig.getTimeout()));
+            state = "COMPLETED";
+        } catch (Exception e) {
+            // 超时或失败时直接接收流量（未完成的预热任务在后台继续）
+            state = "INCOMPLETE";
+            log.warn("启动预热未完成，开始接收流量: timeout={}ms, error={}", warmupConfig.getTimeout(), e.getMessage());
+        } finally {
+            durationMs = System.currentTimeMillis() - startedAt;
+        }
+        log.info("启动预热结束: state={}, duration={}ms", state, durationMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 获取预热状态
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state);
+        status.put("startedAt", startedAt);
+        status.put("durationMs", "RUNNING".equals(state) ? System.currentTimeMillis() - startedAt : durationMs);
+        status.put("prompts", List.copyOf(prompts));
+        status.put("businessTypes", new ArrayList<>(businessTypes.values()));
+        return status;
+    }
+
+    /**
+     * 预热单个业务类型：准备执行路径后执行合成请求
+     */
+    private void warmUp(String businessType) {
+        Map<String, Object> stats = new ConcurrentHashMap<>();
+        stats.put("businessType", businessType);
+        businessTypes.put(businessType, stats);
+        long start = System.currentTimeMillis();
+
+        AgentConfig config;
+        try {
+            config = executionEngine.prewarm(businessType, warmupConfig.getPooledAgents());
+            stats.put("prepareMs", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            stats.put("error", String.valueOf(e.getMessage()));
+            log.warn("预热业务类型失败: businessType={}, error={}", businessType, e.getMessage(), e);
+            return;
+        }
+
+        int executions = warmupConfig.getSyntheticExecutions();
+        if (executions <= 0) {
+            return;
+        }
+        AgentConfig syntheticConfig = syntheticConfig(config);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long syntheticStart = System.currentTimeMillis();
+        Flux.range(0, executions)
+                .flatMap(i -> Mono.fromCallable(() -> runSynthetic(businessType, syntheticConfig, i))
+                                .subscribeOn(agentExecutors.getScheduler())
+                                .onErrorReturn(false),
+                        Math.max(1, warmupConfig.getConcurrency()))
+                .doOnNext(ok -> (ok ? succeeded : failed).incrementAndGet())
+                .blockLast();
+        stats.put("syntheticExecutions", succeeded.get());
+        stats.put("syntheticFailures", failed.get());
+        stats.put("syntheticMs", System.currentTimeMillis() - syntheticStart);
+        log.info("业务类型合成执行完成: businessType={}, succeeded={}, failed={}",
+                businessType, succeeded.get(), failed.get());
+    }
+
+    /**
+     * 执行一次合成请求（偶数次同步执行，奇数次流式执行），并序列化结果预热 Jackson
+     */
+    private boolean runSynthetic(String businessType, AgentConfig config, int index) throws IOException {
+        String task = String.format(SYNTHETIC_TASK, index);
+        if (index % 2 == 1) {
+            List<?> chunks = executionEngine.stream(businessType, task, config).collectList().block();
+            serialize(chunks);
+            return true;
+        }
+        ExecuteResult result = executionEngine.executeSync(businessType, task, config);
+        serialize(result);
+        return Boolean.TRUE.equals(result.getSuccess());
+    }
+
+    private void serialize(Object value) throws IOException {
+        if (objectMapper != null) {
+            objectMapper.writeValueAsBytes(value);
+        }
+    }
+
+    /**
+     * 合成执行使用的配置：保留工具、提示词和 Agent 类型，模型替换为桩模型，不使用会话
+     */
+    private static AgentConfig syntheticConfig(AgentConfig config) {
+        AgentConfig.LLMConfig llmConfig = new AgentConfig.LLMConfig();
+        llmConfig.setModelType(ChatModelFactory.WARMUP_TYPE);
+        llmConfig.setModelName(config.getLlmConfig() != null && config.getLlmConfig().getModelName() != null
+                ? config.getLlmConfig().getModelName() : ChatModelFactory.WARMUP_TYPE);
+
+        AgentConfig synthetic = new AgentConfig();
+        synthetic.setAgentName(config.getAgentName());
+        synthetic.setAgentType(config.getAgentType());
+        synthetic.setLlmConfig(llmConfig);
+        synthetic.setToolConfig(config.getToolConfig());
+        synthetic.setMemoryConfig(config.getMemoryConfig());
+        synthetic.setPromptTemplate(config.getPromptTemplate());
+        synthetic.setTimeout(config.getTimeout());
+        synthetic.setExtraParams(config.getExtraParams());
+        return synthetic;
+    }
+
+    /**
+     * 需要预热的业务类型（配置中列出的和 ClassPath agent-config 目录下的）
+     */
+    private Set<String> discoverBusinessTypes() {
+        Set<String> types = new LinkedHashSet<>(warmupConfig.getBusinessTypes());
+        types.addAll(resourceNames(AGENT_CONFIG_PATTERN, ".yaml"));
+        return types;
+    }
+
+    /**
+     * 预加载 ClassPath 下的全部提示词模板
+     */
+    private void preloadPrompts() {
+        for (String name : resourceNames(PROMPT_PATTERN, ".txt")) {
+            try {
+                promptLoader.getTemplate(name);
+                prompts.add(name);
+            } catch (Exception e) {
+                log.warn("预加载提示词模板失败: name={}, error={}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static List<String> resourceNames(String pattern, String suffix) {
+        List<String> names = new ArrayList<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(pattern)) {
+                String filename = resource.getFilename();
+                if (filename != null && filename.endsWith(suffix)) {
+                    names.add(filename.substring(0, filename.length() - suffix.length()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("扫描预热资源失败: pattern={}, error={}", pattern, e.getMessage());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,75 @@
+package io.lumina.agent.executor;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Agent 执行器
+ *
+ * <p>统一提供 Agent 执行和工具调用使用的调度器，由 {@code lumina.agent.executor.type} 控制：
+ * <ul>
+ *     <li>bounded-elastic：使用 Reactor boundedElastic 线程池（线程数上限为 CPU 核数 × 10）</li>
+ *     <li>virtual：每个任务一个虚拟线程，阻塞等待 LLM 响应时不占用平台线程</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AgentExecutors {
+
+    /**
+     * 虚拟线程模式
+     */
+    public static final String TYPE_VIRTUAL = "virtual";
+
+    private final boolean virtual;
+    private final ExecutorService executorService;
+    private final Scheduler scheduler;
+
+    public AgentExecutors(LuminaAgentProperties agentProperties) {
+        LuminaAgentProperties.ExecutorConfig executorConfig = agentProperties.getExecutor();
+        this.virtual = TYPE_VIRTUAL.equalsIgnoreCase(executorConfig.getType());
+
+        if (virtual) {
+            this.executorService = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(executorConfig.getThreadNamePrefix(), 0).factory());
+            this.scheduler = Schedulers.fromExecutorService(executorService, "lumina-agent-virtual");
+            log.info("Agent 执行器使用虚拟线程");
+        } else {
+            this.executorService = null;
+            this.scheduler = Schedulers.boundedElastic();
+            log.info("Agent 执行器使用 boundedElastic 线程池");
+        }
+    }
+
+    /**
+     * 获取 Agent 执行与工具调用使用的调度器
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * 是否使用虚拟线程
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executorService != null) {
+            scheduler.dispose();
+            executorService.shutdown();
+        }
+    }
+}
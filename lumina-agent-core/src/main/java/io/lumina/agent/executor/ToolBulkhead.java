@@ -0,0 +1,121 @@
+package io.lumina.agent.executor;
+
+import io.lumina.agent.tool.ToolDefinition;
+import lombok.Getter;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 工具分类执行舱壁
+ *
+ * <p>一个工具分类独占一个有界线程池（最大并发数 + 有界等待队列），队列已满时直接拒绝，不会无限堆积。
+ * 超时的调用被取消并中断执行线程；不响应中断的阻塞调用仍会占用线程，但只影响所在分类。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class ToolBulkhead {
+
+    /**
+     * 工具分类
+     */
+    @Getter
+    private final String category;
+
+    @Getter
+    private final int maxConcurrency;
+
+    @Getter
+    private final int maxQueueSize;
+
+    /**
+     * 分类默认超时时间（毫秒）
+     */
+    @Getter
+    private final long timeout;
+
+    private final ThreadPoolExecutor executor;
+
+    @Getter
+    private final Scheduler scheduler;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    public ToolBulkhead(String category, int maxConcurrency, int maxQueueSize, long timeout, ThreadFactory threadFactory) {
+        this.category = category;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.timeout = timeout;
+
+        BlockingQueue<Runnable> queue = maxQueueSize > 0 ? new ArrayBlockingQueue<>(maxQueueSize) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS,
+                queue, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.scheduler = Schedulers.fromExecutorService(executor, "lumina-tool-" + category);
+    }
+
+    /**
+     * 工具的执行超时时间（工具声明优先，否则使用分类配置）
+     *
+     * @param definition 工具定义
+     * @return 超时时间，不限制时返回 null
+     */
+    public Duration resolveTimeout(ToolDefinition definition) {
+        long millis = definition.getTimeout() > 0 ? definition.getTimeout() : timeout;
+        return millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    /**
+     * 记录一次拒绝（队列已满）
+     */
+    public void recordRejected() {
+        rejectedCount.incrementAndGet();
+    }
+
+    /**
+     * 记录一次超时
+     */
+    public void recordTimeout() {
+        timeoutCount.incrementAndGet();
+    }
+
+    /**
+     * 获取舱壁统计信息
+     */
+    public Map<String, Object> getStats() {
+        int active = executor.getActiveCount();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("category", category);
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("maxQueueSize", maxQueueSize);
+        stats.put("timeout", timeout);
+        stats.put("active", active);
+        stats.put("queued", executor.getQueue().size());
+        stats.put("saturation", maxConcurrency > 0 ? (double) active / maxConcurrency : 1.0d);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("timedOut", timeoutCount.get());
+        return stats;
+    }
+
+    /**
+     * 关闭执行器
+     */
+    void shutdown() {
+        scheduler.dispose();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,95 @@
+package io.lumina.agent.executor;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.tool.ToolDefinition;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 工具执行器
+ *
+ * <p>按工具分类懒创建 {@link ToolBulkhead}，规则来自 {@code lumina.agent.tool-executor} 配置。
+ * 线程类型跟随 Agent 执行器（{@code lumina.agent.executor.type}）：virtual 模式下使用虚拟线程，否则使用平台线程。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ToolExecutors {
+
+    private static final String DEFAULT_CATEGORY = "default";
+
+    private final LuminaAgentProperties.ToolExecutorConfig executorConfig;
+    private final boolean virtual;
+    private final Map<String, ToolBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public ToolExecutors(LuminaAgentProperties agentProperties, AgentExecutors agentExecutors) {
+        this.executorConfig = agentProperties.getToolExecutor();
+        this.virtual = agentExecutors.isVirtual();
+    }
+
+    /**
+     * 是否按分类隔离工具执行
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(executorConfig.getEnabled());
+    }
+
+    /**
+     * 获取工具所在分类的舱壁
+     *
+     * @param definition 工具定义
+     * @return 舱壁，未启用时返回 null
+     */
+    public ToolBulkhead getBulkhead(ToolDefinition definition) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String category = definition.getCategory() != null ? definition.getCategory() : DEFAULT_CATEGORY;
+        return bulkheads.computeIfAbsent(category, this::createBulkhead);
+    }
+
+    /**
+     * 获取全部舱壁统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (ToolBulkhead bulkhead : bulkheads.values()) {
+            stats.add(bulkhead.getStats());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        bulkheads.values().forEach(ToolBulkhead::shutdown);
+    }
+
+    private ToolBulkhead createBulkhead(String category) {
+        LuminaAgentProperties.ToolExecutorRule rule = executorConfig.getCategories().get(category);
+
+        int maxConcurrency = rule != null && rule.getMaxConcurrency() != null
+                ? rule.getMaxConcurrency() : executorConfig.getMaxConcurrency();
+        int maxQueueSize = rule != null && rule.getMaxQueueSize() != null
+                ? rule.getMaxQueueSize() : executorConfig.getMaxQueueSize();
+        long timeout = rule != null && rule.getTimeout() != null
+                ? rule.getTimeout() : executorConfig.getTimeout();
+
+        String prefix = "lumina-tool-" + category + "-";
+        ThreadFactory threadFactory = virtual
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+
+        log.info("创建工具执行舱壁: category={}, maxConcurrency={}, maxQueueSize={}, timeout={}ms, virtual={}",
+                category, maxConcurrency, maxQueueSize, timeout, virtual);
+        return new ToolBulkhead(category, maxConcurrency, maxQueueSize, timeout, threadFactory);
+    }
+}
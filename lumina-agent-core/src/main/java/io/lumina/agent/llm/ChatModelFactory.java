@@ -0,0 +1,197 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.formatter.dashscope.DashScopeChatFormatter;
+import io.agentscope.core.model.DashScopeChatModel;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.engine.pool.AgentFingerprint;
+import io.lumina.agent.engine.pool.AgentPool;
+import io.lumina.agent.model.AgentConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 模型客户端工厂
+ *
+ * <p>根据生效的 LLM 配置构建模型客户端，并按模型指纹缓存复用。
+ * <p>模型客户端本身无会话状态，可以被多个 Agent 实例共享。
+ * <p>返回的模型客户端均包装为 {@link MeteredModel}，按执行统计 Token 用量和模型耗时；
+ * 启用对冲请求时，主模型与备用模型组合为 {@link HedgedModel}；启用熔断时按模型包装 {@link CircuitBreakerModel}。
+ * <p>模型类型为 {@code simulator} 时构建本地 {@link SimulatorModel}，用于离线压测；
+ * 模型类型为 {@code warmup} 时使用启动预热的桩模型配置构建 {@link SimulatorModel}。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ChatModelFactory {
+
+    /**
+     * 模拟模型类型
+     */
+    public static final String SIMULATOR_TYPE = "simulator";
+
+    /**
+     * 启动预热桩模型类型
+     */
+    public static final String WARMUP_TYPE = "warmup";
+
+    private final LuminaAgentProperties agentProperties;
+
+    private final AgentPool agentPool;
+
+    /**
+     * 模型客户端缓存（模型指纹 -> 模型客户端）
+     */
+    private final Map<String, Model> modelCache = new ConcurrentHashMap<>();
+
+    /**
+     * 对冲模型客户端（模型指纹 -> 对冲模型客户端，用于统计）
+     */
+    private final Map<String, HedgedModel> hedgedModels = new ConcurrentHashMap<>();
+
+    /**
+     * 模型熔断器（模型类型:模型名称 -> 熔断器）
+     */
+    private final Map<String, ModelCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public ChatModelFactory(LuminaAgentProperties agentProperties, AgentPool agentPool) {
+        this.agentProperties = agentProperties;
+        this.agentPool = agentPool;
+    }
+
+    /**
+     * 获取模型客户端（不存在时创建）
+     *
+     * @param llmConfig 生效的 LLM 配置
+     * @return 模型客户端
+     */
+    public Model getModel(AgentConfig.LLMConfig llmConfig) {
+        String fingerprint = AgentFingerprint.ofLlm(llmConfig, agentProperties.getLlm());
+        return modelCache.computeIfAbsent(fingerprint, k -> {
+            Model model = createHedgedModel(k, llmConfig);
+            ModelCircuitBreaker circuitBreaker = getCircuitBreaker(llmConfig);
+            if (circuitBreaker != null) {
+                model = new CircuitBreakerModel(model, circuitBreaker);
+            }
+            return new MeteredModel(model);
+        });
+    }
+
+    /**
+     * 获取模型熔断器（未启用熔断时返回 null）
+     *
+     * @param llmConfig 生效的 LLM 配置
+     * @return 熔断器
+     */
+    public ModelCircuitBreaker getCircuitBreaker(AgentConfig.LLMConfig llmConfig) {
+        LuminaAgentProperties.CircuitBreakerConfig breakerConfig = agentProperties.getCircuitBreaker();
+        if (!Boolean.TRUE.equals(breakerConfig.getEnabled())) {
+            return null;
+        }
+        // 按模型统计（同一模型的流式与非流式调用共享熔断状态）
+        String key = llmConfig.getModelType() + ":" + llmConfig.getModelName();
+        return circuitBreakers.computeIfAbsent(key, k -> new ModelCircuitBreaker(k, breakerConfig));
+    }
+
+    /**
+     * 获取各模型熔断统计
+     */
+    public List<Map<String, Object>> getCircuitBreakerStats() {
+        return circuitBreakers.values().stream()
+                .map(ModelCircuitBreaker::getStats)
+                .toList();
+    }
+
+    /**
+     * 获取对冲请求统计
+     */
+    public List<Map<String, Object>> getHedgeStats() {
+        return hedgedModels.values().stream()
+                .map(HedgedModel::getStats)
+                .toList();
+    }
+
+    /**
+     * 清除模型客户端缓存
+     *
+     * <p>池中空闲的 Agent 实例持有旧的模型客户端，且配置指纹不变，一并清空，之后借出的实例使用新建的模型客户端。
+     */
+    public void clearCache() {
+        modelCache.clear();
+        hedgedModels.clear();
+        agentPool.clear();
+        log.info("已清除模型客户端缓存");
+    }
+
+    /**
+     * 构建模型客户端（启用对冲请求时组合备用模型）
+     */
+    private Model createHedgedModel(String fingerprint, AgentConfig.LLMConfig llmConfig) {
+        Model primary = createModel(llmConfig, null);
+        LuminaAgentProperties.HedgeConfig hedgeConfig = agentProperties.getHedge();
+        if (!Boolean.TRUE.equals(hedgeConfig.getEnabled())) {
+            return primary;
+        }
+
+        AgentConfig.LLMConfig backupConfig = new AgentConfig.LLMConfig();
+        backupConfig.setModelType(llmConfig.getModelType());
+        backupConfig.setModelName(hedgeConfig.getModel() != null ? hedgeConfig.getModel() : llmConfig.getModelName());
+        backupConfig.setApiKey(hedgeConfig.getApiKey() != null ? hedgeConfig.getApiKey() : llmConfig.getApiKey());
+        backupConfig.setTemperature(llmConfig.getTemperature());
+        backupConfig.setMaxTokens(llmConfig.getMaxTokens());
+        backupConfig.setStream(llmConfig.getStream());
+        Model backup = createModel(backupConfig, hedgeConfig.getBaseUrl());
+
+        HedgedModel hedgedModel = new HedgedModel(primary, backup, hedgeConfig);
+        hedgedModels.put(fingerprint, hedgedModel);
+        return hedgedModel;
+    }
+
+    /**
+     * 构建模型客户端（DashScope、本地模拟模型或预热桩模型）
+     *
+     * @param baseUrl 端点地址（为空时使用默认端点）
+     */
+    private Model createModel(AgentConfig.LLMConfig llmConfig, String baseUrl) {
+        if (SIMULATOR_TYPE.equalsIgnoreCase(llmConfig.getModelType())) {
+            log.info("创建模拟模型客户端: model={}", llmConfig.getModelName());
+            return new SimulatorModel(llmConfig.getModelName(), agentProperties.getSimulator());
+        }
+        if (WARMUP_TYPE.equalsIgnoreCase(llmConfig.getModelType())) {
+            log.info("创建预热桩模型客户端: model={}", llmConfig.getModelName());
+            return new SimulatorModel(llmConfig.getModelName(), agentProperties.getWarmup().getStubModel());
+        }
+
+        LuminaAgentProperties.LLMConfig llmDefaults = agentProperties.getLlm();
+
+        DashScopeChatModel.Builder modelBuilder = DashScopeChatModel.builder()
+                .apiKey(llmConfig.getApiKey())
+                .modelName(llmConfig.getModelName())
+                .stream(llmConfig.getStream() != null ? llmConfig.getStream() : llmDefaults.getStream())
+                .enableThinking(llmDefaults.getEnableThinking());
+
+        if (baseUrl != null && !baseUrl.isEmpty()) {
+            modelBuilder.baseUrl(baseUrl);
+        }
+
+        if (llmConfig.getTemperature() != null) {
+            modelBuilder.defaultOptions(
+                    GenerateOptions.builder()
+                            .temperature(llmConfig.getTemperature().floatValue())
+                            .maxTokens(llmConfig.getMaxTokens())
+                            .build());
+        }
+
+        log.info("创建模型客户端: type={}, model={}", llmConfig.getModelType(), llmConfig.getModelName());
+        return modelBuilder
+                .formatter(new DashScopeChatFormatter())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.agentscope.core.model.ToolSchema;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * 带熔断的模型客户端
+ *
+ * <p>调用前申请熔断器许可，熔断期间立即返回 {@link CircuitOpenException}，不发起网络请求。
+ * 调用结束后记录结果：失败计入失败率，耗时超过阈值计入慢调用率；
+ * 被取消的调用（如超过执行截止时间）耗时超过慢调用阈值时按慢调用记录，否则不计入统计。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class CircuitBreakerModel implements Model {
+
+    private final Model delegate;
+    private final ModelCircuitBreaker circuitBreaker;
+
+    public CircuitBreakerModel(Model delegate, ModelCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Flux.error(new CircuitOpenException(getModelName(), circuitBreaker.getRetryAfterMillis()));
+            }
+
+            long startNanos = System.nanoTime();
+            return delegate.stream(messages, tools, options)
+                    .doFinally(signal -> {
+                        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                        switch (signal) {
+                            case ON_COMPLETE -> circuitBreaker.onResult(elapsedMillis, false);
+                            case ON_ERROR -> circuitBreaker.onResult(elapsedMillis, true);
+                            default -> circuitBreaker.onCancelled(elapsedMillis);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public String getModelName() {
+        return delegate.getModelName();
+    }
+}
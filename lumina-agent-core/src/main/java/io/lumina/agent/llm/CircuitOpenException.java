@@ -0,0 +1,33 @@
+package io.lumina.agent.llm;
+
+import lombok.Getter;
+
+/**
+ * 模型熔断异常
+ *
+ * <p>模型处于熔断状态时抛出，调用方应直接返回失败，不再降级或重试。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Getter
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 模型名称
+     */
+    private final String modelName;
+
+    /**
+     * 距离进入半开状态的剩余时间（毫秒）
+     */
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String modelName, long retryAfterMillis) {
+        super("模型已熔断，请稍后重试: model=" + modelName + ", retryAfter=" + retryAfterMillis + "ms");
+        this.modelName = modelName;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
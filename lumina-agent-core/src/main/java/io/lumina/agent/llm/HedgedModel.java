@@ -0,0 +1,184 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.agentscope.core.model.ToolSchema;
+import io.lumina.agent.config.LuminaAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对冲请求模型客户端
+ *
+ * <p>主模型在对冲延迟内未返回首个响应时，向备用模型发起相同请求，先返回首个响应者胜出，另一个请求被取消。
+ * 对冲延迟取主模型最近首个响应耗时的百分位（如 p95），即只有落在长尾上的请求才会触发对冲。
+ * <p>对冲次数受比例上限约束：每个主请求积累 {@code maxHedgeRatio} 个额度，每次对冲消耗 1 个，
+ * 保证对冲请求数不超过主请求数的固定比例，额外成本有上限。
+ * <p>备用请求失败不影响主请求；主请求在对冲发出前失败时直接返回失败。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class HedgedModel implements Model {
+
+    /**
+     * 对冲额度上限（避免长时间无对冲后集中爆发）
+     */
+    private static final double MAX_CREDITS = 10.0;
+
+    /**
+     * 每积累多少个新样本重新计算一次百分位
+     */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private final Model primary;
+    private final Model backup;
+    private final LuminaAgentProperties.HedgeConfig hedgeConfig;
+
+    /**
+     * 主模型首个响应耗时样本（毫秒，环形缓冲区）
+     */
+    private final long[] samples;
+    private int sampleCount;
+    private int sampleCursor;
+    private volatile long hedgeDelay;
+
+    private double credits;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    public HedgedModel(Model primary, Model backup, LuminaAgentProperties.HedgeConfig hedgeConfig) {
+        this.primary = primary;
+        this.backup = backup;
+        this.hedgeConfig = hedgeConfig;
+        this.samples = new long[Math.max(1, hedgeConfig.getSampleWindow())];
+        this.hedgeDelay = hedgeConfig.getInitialDelay();
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+        return Flux.defer(() -> {
+            requests.incrementAndGet();
+            addCredit();
+
+            long startNanos = System.nanoTime();
+            long delay = hedgeDelay;
+            AtomicBoolean primaryStarted = new AtomicBoolean();
+            AtomicBoolean hedgeFired = new AtomicBoolean();
+
+            Flux<ChatResponse> primaryFlux = primary.stream(messages, tools, options)
+                    .doOnNext(response -> {
+                        if (primaryStarted.compareAndSet(false, true)) {
+                            recordSample(elapsedMillis(startNanos));
+                        }
+                    })
+                    .doFinally(signal -> {
+                        // 被对冲请求取代时，记录已等待的时间（首个响应耗时至少为该值）
+                        if (signal == SignalType.CANCEL && primaryStarted.compareAndSet(false, true)) {
+                            recordSample(elapsedMillis(startNanos));
+                        }
+                    });
+
+            // 未获得对冲额度时不发出任何信号，结果完全由主请求决定
+            Flux<ChatResponse> backupFlux = Mono.delay(Duration.ofMillis(delay))
+                    .flatMapMany(tick -> {
+                        if (!tryAcquireCredit()) {
+                            throttled.incrementAndGet();
+                            return Flux.<ChatResponse>never();
+                        }
+                        hedgeFired.set(true);
+                        hedged.incrementAndGet();
+                        log.debug("主模型 {}ms 内未返回首个响应，发起对冲请求: primary={}, backup={}",
+                                delay, primary.getModelName(), backup.getModelName());
+                        return backup.stream(messages, tools, options)
+                                .onErrorResume(e -> {
+                                    log.warn("对冲请求失败，继续等待主模型: {}", e.getMessage());
+                                    return Flux.never();
+                                });
+                    });
+
+            return Flux.firstWithSignal(primaryFlux, backupFlux)
+                    .doOnNext(response -> {
+                        if (hedgeFired.get() && !primaryStarted.get()) {
+                            hedgeWins.incrementAndGet();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public String getModelName() {
+        return primary.getModelName();
+    }
+
+    /**
+     * 获取对冲统计
+     */
+    public Map<String, Object> getStats() {
+        long requestCount = requests.get();
+        long hedgedCount = hedged.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primary", primary.getModelName());
+        stats.put("backup", backup.getModelName());
+        stats.put("hedgeDelay", hedgeDelay);
+        stats.put("requests", requestCount);
+        stats.put("hedged", hedgedCount);
+        stats.put("hedgeWins", hedgeWins.get());
+        stats.put("throttled", throttled.get());
+        stats.put("hedgeRatio", requestCount > 0 ? (double) hedgedCount / requestCount : 0.0);
+        return stats;
+    }
+
+    private synchronized void addCredit() {
+        credits = Math.min(MAX_CREDITS, credits + hedgeConfig.getMaxHedgeRatio());
+    }
+
+    private synchronized boolean tryAcquireCredit() {
+        if (credits < 1.0) {
+            return false;
+        }
+        credits -= 1.0;
+        return true;
+    }
+
+    private synchronized void recordSample(long millis) {
+        samples[sampleCursor] = millis;
+        sampleCursor = (sampleCursor + 1) % samples.length;
+        sampleCount++;
+        if (sampleCount >= hedgeConfig.getMinSamples() && sampleCount % RECOMPUTE_INTERVAL == 0) {
+            hedgeDelay = computeDelay();
+        }
+    }
+
+    /**
+     * 计算对冲延迟（调用方持有锁）
+     */
+    private long computeDelay() {
+        int size = Math.min(sampleCount, samples.length);
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(hedgeConfig.getDelayPercentile() / 100.0 * size) - 1;
+        long percentile = sorted[Math.max(0, Math.min(size - 1, index))];
+        return Math.max(hedgeConfig.getMinDelay(), Math.min(hedgeConfig.getMaxDelay(), percentile));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
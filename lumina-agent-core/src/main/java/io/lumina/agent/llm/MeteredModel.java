@@ -0,0 +1,79 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.agentscope.core.model.ToolSchema;
+import io.lumina.agent.engine.metrics.RunMetrics;
+import io.lumina.agent.engine.trace.RunTimeline;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 带用量统计的模型客户端
+ *
+ * <p>包装实际的模型客户端，调用链中携带 {@link RunMetrics} / {@link RunTimeline} 时记录每次模型调用的耗时和 Token 用量。
+ * 流式响应中的用量按最后一次上报的值计算（各提供方在最后一个分片或每个分片中上报累计值）。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class MeteredModel implements Model {
+
+    private final Model delegate;
+
+    public MeteredModel(Model delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+        return Flux.deferContextual(context -> {
+            RunMetrics metrics = RunMetrics.fromContext(context);
+            RunTimeline timeline = RunTimeline.fromContext(context);
+            if (metrics == null && timeline == null) {
+                return delegate.stream(messages, tools, options);
+            }
+
+            long startNanos = System.nanoTime();
+            AtomicReference<ChatUsage> lastUsage = new AtomicReference<>();
+            return delegate.stream(messages, tools, options)
+                    .doOnNext(response -> {
+                        if (response.getUsage() != null) {
+                            lastUsage.set(response.getUsage());
+                        }
+                    })
+                    .doFinally(signal -> {
+                        long elapsedNanos = System.nanoTime() - startNanos;
+                        ChatUsage usage = lastUsage.get();
+                        long promptTokens = usage != null ? usage.getInputTokens() : 0;
+                        long completionTokens = usage != null ? usage.getOutputTokens() : 0;
+                        if (metrics != null) {
+                            metrics.recordModelCall(elapsedNanos, promptTokens, completionTokens);
+                        }
+                        if (timeline != null) {
+                            timeline.recordModelCall(getModelName(), startNanos, elapsedNanos,
+                                    promptTokens, completionTokens, statusOf(signal));
+                        }
+                    });
+        });
+    }
+
+    private static String statusOf(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case CANCEL -> "cancelled";
+            default -> "error";
+        };
+    }
+
+    @Override
+    public String getModelName() {
+        return delegate.getModelName();
+    }
+}
@@ -0,0 +1,229 @@
+package io.lumina.agent.llm;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模型熔断器
+ *
+ * <p>按调用次数滑动窗口统计最近 N 次调用的失败率和慢调用率：
+ * <ul>
+ *     <li>CLOSED：正常放行，调用数达到最小值且失败率或慢调用率超过阈值时熔断</li>
+ *     <li>OPEN：直接拒绝，熔断持续时间结束后进入半开状态</li>
+ *     <li>HALF_OPEN：放行有限个探测请求，全部成功则恢复，任一失败或慢调用则重新熔断</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class ModelCircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final LuminaAgentProperties.CircuitBreakerConfig config;
+
+    /**
+     * 滑动窗口（环形缓冲区）
+     */
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int windowCount;
+    private int windowCursor;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong openedCount = new AtomicLong();
+
+    public ModelCircuitBreaker(String name, LuminaAgentProperties.CircuitBreakerConfig config) {
+        this.name = name;
+        this.config = config;
+        int windowSize = Math.max(1, config.getWindowSize());
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * 申请调用许可（半开状态下占用一个探测名额）
+     *
+     * @return 是否允许调用
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() < openUntil) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= config.getHalfOpenProbes()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /**
+     * 是否处于熔断状态（不占用探测名额，用于执行前快速检查）
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() < openUntil;
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param durationMillis 调用耗时
+     * @param failed         是否失败
+     */
+    public synchronized void onResult(long durationMillis, boolean failed) {
+        boolean slow = durationMillis >= config.getSlowCallDuration();
+        switch (state) {
+            case HALF_OPEN -> {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (failed || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++probeSuccesses >= config.getHalfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failed, slow);
+                if (windowCount >= config.getMinimumCalls()
+                        && (getFailureRate() >= config.getFailureRateThreshold()
+                        || getSlowCallRate() >= config.getSlowCallRateThreshold())) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            default -> {
+                // 熔断期间返回的迟到结果不计入统计
+            }
+        }
+    }
+
+    /**
+     * 记录被取消的调用（如超过执行截止时间）
+     *
+     * <p>耗时达到慢调用阈值时按慢调用记录，否则不计入统计（见 {@link #onIgnored()}）。
+     *
+     * @param durationMillis 取消前的调用耗时
+     */
+    public synchronized void onCancelled(long durationMillis) {
+        if (durationMillis >= config.getSlowCallDuration()) {
+            onResult(durationMillis, false);
+        } else {
+            onIgnored();
+        }
+    }
+
+    /**
+     * 调用被取消且未产生结果（不计入统计，释放探测名额）
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    /**
+     * 距离进入半开状态的剩余时间（毫秒）
+     */
+    public synchronized long getRetryAfterMillis() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0L;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取熔断统计
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("model", name);
+        stats.put("state", state.name());
+        stats.put("calls", windowCount);
+        stats.put("failureRate", getFailureRate());
+        stats.put("slowCallRate", getSlowCallRate());
+        stats.put("rejected", rejected.get());
+        stats.put("opened", openedCount.get());
+        stats.put("retryAfter", getRetryAfterMillis());
+        return stats;
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (windowCount == failures.length) {
+            // 窗口已满，移出最旧的记录
+            if (failures[windowCursor]) {
+                failureCount--;
+            }
+            if (slowCalls[windowCursor]) {
+                slowCount--;
+            }
+        } else {
+            windowCount++;
+        }
+        failures[windowCursor] = failed;
+        slowCalls[windowCursor] = slow;
+        if (failed) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCount++;
+        }
+        windowCursor = (windowCursor + 1) % failures.length;
+    }
+
+    private double getFailureRate() {
+        return windowCount == 0 ? 0.0 : failureCount * 100.0 / windowCount;
+    }
+
+    private double getSlowCallRate() {
+        return windowCount == 0 ? 0.0 : slowCount * 100.0 / windowCount;
+    }
+
+    private void transitionTo(State newState) {
+        State oldState = state;
+        state = newState;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (newState == State.OPEN) {
+            openUntil = System.currentTimeMillis() + config.getOpenDuration();
+            openedCount.incrementAndGet();
+            log.warn("模型熔断: model={}, from={}, failureRate={}%, slowCallRate={}%, openDuration={}ms",
+                    name, oldState, getFailureRate(), getSlowCallRate(), config.getOpenDuration());
+        } else if (newState == State.CLOSED) {
+            windowCount = 0;
+            windowCursor = 0;
+            failureCount = 0;
+            slowCount = 0;
+            log.info("模型熔断恢复: model={}", name);
+        } else {
+            log.info("模型熔断进入半开状态: model={}", name);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.agentscope.core.model.ToolSchema;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.manager.MemoryManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 模拟模型客户端
+ *
+ * <p>在本地按配置模拟模型响应，不访问网络，用于压测和容量评估：
+ * <ul>
+ *     <li>首个 Token 延迟和输出速度可配置（含随机抖动），延迟由定时器实现，不占用线程</li>
+ *     <li>按工具调用脚本逐步骤返回工具调用，脚本执行完后流式返回最终回答</li>
+ *     <li>按比例注入错误和卡死，验证熔断、降级和超时控制</li>
+ * </ul>
+ * <p>步骤序号为最后一条用户消息之后的助手消息数；Token 用量按估算值上报，可正常参与执行统计。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public class SimulatorModel implements Model {
+
+    private static final String[] VOCABULARY = {
+            "模拟", "响应", "lumina", "agent", "压测", "结果", "数据", "完成"
+    };
+
+    private static final String ALL_TOOLS = "*";
+
+    private final String modelName;
+    private final LuminaAgentProperties.SimulatorConfig config;
+
+    public SimulatorModel(String modelName, LuminaAgentProperties.SimulatorConfig config) {
+        this.modelName = modelName;
+        this.config = config;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+        return Flux.defer(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Duration firstTokenDelay = Duration.ofMillis(jitter(config.getFirstTokenLatency()));
+            int inputTokens = estimateInputTokens(messages);
+
+            if (random.nextDouble() < config.getErrorRate()) {
+                return Mono.delay(firstTokenDelay)
+                        .thenMany(Flux.error(new IllegalStateException("模拟模型错误: model=" + modelName)));
+            }
+            if (random.nextDouble() < config.getStallRate()) {
+                return Flux.never();
+            }
+
+            List<String> toolNames = scriptedTools(currentStep(messages), tools);
+            if (!toolNames.isEmpty()) {
+                return Mono.delay(firstTokenDelay)
+                        .map(tick -> toolCallResponse(toolNames, inputTokens))
+                        .flux();
+            }
+            return streamAnswer(firstTokenDelay, inputTokens);
+        });
+    }
+
+    @Override
+    public String getModelName() {
+        return modelName;
+    }
+
+    /**
+     * 按输出速度分片返回最终回答，最后一个分片携带 Token 用量
+     */
+    private Flux<ChatResponse> streamAnswer(Duration firstTokenDelay, int inputTokens) {
+        int outputTokens = Math.max(1, config.getOutputTokens());
+        int chunkTokens = Math.max(1, config.getChunkTokens());
+        int chunks = (outputTokens + chunkTokens - 1) / chunkTokens;
+        long chunkMillis = Math.round(chunkTokens * 1000.0 / Math.max(0.001, config.getTokensPerSecond()));
+        String id = UUID.randomUUID().toString();
+
+        Flux<Integer> ticks = chunks == 1
+                ? Flux.just(0)
+                : Flux.concat(Flux.just(0), Flux.range(1, chunks - 1).delayElements(Duration.ofMillis(chunkMillis)));
+        return Mono.delay(firstTokenDelay)
+                .thenMany(ticks)
+                .map(index -> {
+                    int tokens = Math.min(chunkTokens, outputTokens - index * chunkTokens);
+                    boolean last = index == chunks - 1;
+                    return ChatResponse.builder()
+                            .id(id)
+                            .content(Collections.singletonList(TextBlock.builder().text(text(tokens)).build()))
+                            .usage(last ? usage(inputTokens, outputTokens) : null)
+                            .build();
+                });
+    }
+
+    private ChatResponse toolCallResponse(List<String> toolNames, int inputTokens) {
+        List<ContentBlock> blocks = new ArrayList<>();
+        for (String toolName : toolNames) {
+            blocks.add(ToolUseBlock.builder()
+                    .id("call_" + UUID.randomUUID().toString().replace("-", ""))
+                    .name(toolName)
+                    .input(Collections.emptyMap())
+                    .build());
+        }
+        return ChatResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .content(blocks)
+                .usage(usage(inputTokens, 20 * toolNames.size()))
+                .build();
+    }
+
+    /**
+     * 当前步骤需要调用的工具（只保留本次请求可用的工具）
+     */
+    private List<String> scriptedTools(int step, List<ToolSchema> tools) {
+        List<String> script = config.getToolCallScript();
+        if (script == null || step >= script.size() || tools == null || tools.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> available = tools.stream().map(ToolSchema::getName).toList();
+        List<String> toolNames = new ArrayList<>();
+        for (String name : script.get(step).split(",")) {
+            String toolName = name.trim();
+            if (ALL_TOOLS.equals(toolName)) {
+                return available;
+            }
+            if (available.contains(toolName)) {
+                toolNames.add(toolName);
+            }
+        }
+        return toolNames;
+    }
+
+    /**
+     * 当前步骤序号（最后一条用户消息之后的助手消息数）
+     */
+    private static int currentStep(List<Msg> messages) {
+        int step = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            MsgRole role = messages.get(i).getRole();
+            if (role == MsgRole.USER) {
+                break;
+            }
+            if (role == MsgRole.ASSISTANT) {
+                step++;
+            }
+        }
+        return step;
+    }
+
+    private static int estimateInputTokens(List<Msg> messages) {
+        int tokens = 0;
+        for (Msg message : messages) {
+            tokens += MemoryManager.estimateTokens(message.getTextContent());
+        }
+        return tokens;
+    }
+
+    private static ChatUsage usage(int inputTokens, int outputTokens) {
+        return ChatUsage.builder()
+                .inputTokens(inputTokens)
+                .outputTokens(outputTokens)
+                .build();
+    }
+
+    private static String text(int tokens) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            builder.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return builder.toString();
+    }
+
+    private long jitter(long millis) {
+        double ratio = Math.max(0.0, Math.min(1.0, config.getLatencyJitter()));
+        if (ratio == 0.0 || millis <= 0) {
+            return Math.max(0, millis);
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-ratio, ratio);
+        return Math.max(0, Math.round(millis * factor));
+    }
+}
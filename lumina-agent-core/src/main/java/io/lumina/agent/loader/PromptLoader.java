@@ -1,5 +1,6 @@
 package io.lumina.agent.loader;
 
+import io.lumina.agent.config.LuminaAgentProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
@@ -7,11 +8,17 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 提示词加载器
  *
- * <p>从资源文件加载提示词模板。
+ * <p>从资源文件加载提示词模板，并缓存编译后的 {@link PromptTemplate}。
+ * 文件模板按 {@code lumina.agent.prompt.reload-interval} 检查修改时间，变更后自动重新编译；
+ * Agent 配置中的内联模板按内容缓存（LRU）。
  *
  * @author Lumina Team
  * @since 1.0.0
@@ -20,6 +27,29 @@ import java.nio.charset.StandardCharsets;
 @Component
 public class PromptLoader {
 
+    private final LuminaAgentProperties.PromptConfig promptConfig;
+
+    /**
+     * 文件模板缓存（key：提示词名称）
+     */
+    private final Map<String, CachedPrompt> promptCache = new ConcurrentHashMap<>();
+
+    /**
+     * 内联模板缓存（key：模板内容）
+     */
+    private final Map<String, PromptTemplate> inlineCache;
+
+    public PromptLoader(LuminaAgentProperties agentProperties) {
+        this.promptConfig = agentProperties.getPrompt();
+        int maxSize = Math.max(1, promptConfig.getInlineCacheSize());
+        this.inlineCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PromptTemplate> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
     /**
      * 加载提示词模板
      *
@@ -27,11 +57,107 @@ public class PromptLoader {
      * @return 提示词内容
      */
     public String loadPrompt(String promptName) {
-        String promptPath = String.format("prompts/%s.txt", promptName);
+        return getTemplate(promptName).getSource();
+    }
+
+    /**
+     * 获取编译后的提示词模板（文件变更时自动重新加载）
+     *
+     * @param promptName 提示词名称
+     * @return 编译后的模板
+     */
+    public PromptTemplate getTemplate(String promptName) {
+        CachedPrompt cached = promptCache.get(promptName);
+        if (cached != null && !shouldCheck(cached)) {
+            return cached.template;
+        }
+        return promptCache.compute(promptName, (name, current) -> refresh(name, current)).template;
+    }
+
+    /**
+     * 编译内联模板（按内容缓存）
+     *
+     * @param template 模板内容
+     * @return 编译后的模板
+     */
+    public PromptTemplate compile(String template) {
+        if (template == null || template.isEmpty()) {
+            return PromptTemplate.compile(template);
+        }
+        PromptTemplate compiled = inlineCache.get(template);
+        if (compiled == null) {
+            compiled = PromptTemplate.compile(template);
+            inlineCache.put(template, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * 填充提示词模板
+     *
+     * @param template 提示词模板
+     * @param params   参数
+     * @return 填充后的提示词
+     */
+    public String fillTemplate(String template, Object... params) {
+        if (template == null) {
+            return "";
+        }
+        return compile(template).renderPositional(params);
+    }
+
+    /**
+     * 清空模板缓存（下次使用时重新加载）
+     */
+    public void invalidateAll() {
+        promptCache.clear();
+        inlineCache.clear();
+        log.info("提示词模板缓存已清空");
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("promptCount", promptCache.size());
+        stats.put("inlineCount", inlineCache.size());
+        stats.put("reloadInterval", promptConfig.getReloadInterval());
+        return stats;
+    }
+
+    private boolean shouldCheck(CachedPrompt cached) {
+        long interval = promptConfig.getReloadInterval() != null ? promptConfig.getReloadInterval() : 0L;
+        return interval > 0 && System.currentTimeMillis() - cached.checkedAt >= interval;
+    }
+
+    /**
+     * 加载或按修改时间刷新模板
+     */
+    private CachedPrompt refresh(String promptName, CachedPrompt current) {
+        long now = System.currentTimeMillis();
+        if (current != null && !shouldCheck(current)) {
+            // 其他线程已完成检查
+            return current;
+        }
+
+        ClassPathResource resource = new ClassPathResource(String.format("prompts/%s.txt", promptName));
+        long lastModified = lastModified(resource);
+        if (current != null && current.lastModified == lastModified) {
+            return new CachedPrompt(current.template, lastModified, now);
+        }
+
+        PromptTemplate template = PromptTemplate.compile(readPrompt(promptName, resource));
+        if (current != null) {
+            log.info("提示词模板已变更，重新加载: {}", promptName);
+        }
+        return new CachedPrompt(template, lastModified, now);
+    }
+
+    private String readPrompt(String promptName, ClassPathResource resource) {
         try {
-            ClassPathResource resource = new ClassPathResource(promptPath);
             if (!resource.exists()) {
-                log.warn("提示词文件不存在: {}，使用默认提示词", promptPath);
+                log.warn("提示词文件不存在: {}，使用默认提示词", resource.getPath());
                 return getDefaultPrompt(promptName);
             }
             try (InputStream inputStream = resource.getInputStream()) {
@@ -46,21 +172,14 @@ public class PromptLoader {
     }
 
     /**
-     * 填充提示词模板
-     *
-     * @param template 提示词模板
-     * @param params   参数
-     * @return 填充后的提示词
+     * 获取文件修改时间（文件不存在或无法获取时返回 -1）
      */
-    public String fillTemplate(String template, Object... params) {
-        if (template == null) {
-            return "";
-        }
-        String result = template;
-        for (int i = 0; i < params.length; i++) {
-            result = result.replace("{" + i + "}", params[i] != null ? params[i].toString() : "");
+    private long lastModified(ClassPathResource resource) {
+        try {
+            return resource.exists() ? resource.lastModified() : -1L;
+        } catch (IOException e) {
+            return -1L;
         }
-        return result;
     }
 
     /**
@@ -69,4 +188,10 @@ public class PromptLoader {
     private String getDefaultPrompt(String promptName) {
         return String.format("你是一个专业的 %s 助手，请根据用户需求提供帮助。", promptName);
     }
+
+    /**
+     * 缓存的文件模板
+     */
+    private record CachedPrompt(PromptTemplate template, long lastModified, long checkedAt) {
+    }
 }
@@ -0,0 +1,210 @@
+package io.lumina.agent.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 预编译的提示词模板
+ *
+ * <p>模板只在加载时解析一次，拆分为文本片段和变量片段，渲染时单次遍历写入预分配容量的 StringBuilder。
+ * <p>变量语法为 {@code {name}}，变量名由字母、数字和下划线组成，如 {@code {task}}、{@code {tenant}}，
+ * 兼容位置参数 {@code {0}}、{@code {1}}。其他花括号内容（如 JSON 示例）按原文保留；
+ * 渲染时未提供值的变量也按原文保留。
+ *
+ * <p>实例不可变，可在多线程间共享。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class PromptTemplate {
+
+    private static final PromptTemplate EMPTY = new PromptTemplate("", new String[0], new String[0], 0);
+
+    /**
+     * 原始模板
+     */
+    private final String source;
+
+    /**
+     * 文本片段（个数比变量片段多一个：literal[0] var[0] literal[1] ... var[n-1] literal[n]）
+     */
+    private final String[] literals;
+
+    /**
+     * 变量名
+     */
+    private final String[] variables;
+
+    /**
+     * 文本片段总长度
+     */
+    private final int literalLength;
+
+    private PromptTemplate(String source, String[] literals, String[] variables, int literalLength) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param source 模板内容
+     * @return 编译后的模板
+     */
+    public static PromptTemplate compile(String source) {
+        if (source == null || source.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalLength = 0;
+        int segmentStart = 0;
+        int length = source.length();
+        int open = source.indexOf('{');
+        while (open >= 0) {
+            int close = variableEnd(source, open + 1, length);
+            if (close < 0) {
+                open = source.indexOf('{', open + 1);
+                continue;
+            }
+            String literal = source.substring(segmentStart, open);
+            literals.add(literal);
+            literalLength += literal.length();
+            variables.add(source.substring(open + 1, close));
+            segmentStart = close + 1;
+            open = source.indexOf('{', segmentStart);
+        }
+        String tail = source.substring(segmentStart);
+        literals.add(tail);
+        literalLength += tail.length();
+
+        return new PromptTemplate(source, literals.toArray(new String[0]),
+                variables.toArray(new String[0]), literalLength);
+    }
+
+    /**
+     * 查找变量结束位置
+     *
+     * @return '}' 的位置，不是合法变量时返回 -1
+     */
+    private static int variableEnd(String source, int from, int length) {
+        int i = from;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '}') {
+                return i > from ? i : -1;
+            }
+            if (!(Character.isLetterOrDigit(c) || c == '_')) {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * 渲染模板
+     *
+     * @param resolver 变量解析器，返回 null 表示未提供该变量
+     * @return 渲染结果
+     */
+    public String render(Function<String, ?> resolver) {
+        if (variables.length == 0) {
+            return source;
+        }
+
+        // 先解析变量值计算精确长度，再单次写入
+        String[] values = new String[variables.length];
+        int capacity = literalLength;
+        for (int i = 0; i < variables.length; i++) {
+            Object value = resolver.apply(variables[i]);
+            values[i] = value != null ? value.toString() : null;
+            capacity += values[i] != null ? values[i].length() : variables[i].length() + 2;
+        }
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int i = 0; i < variables.length; i++) {
+            builder.append(literals[i]);
+            if (values[i] != null) {
+                builder.append(values[i]);
+            } else {
+                builder.append('{').append(variables[i]).append('}');
+            }
+        }
+        builder.append(literals[variables.length]);
+        return builder.toString();
+    }
+
+    /**
+     * 使用变量表渲染模板
+     *
+     * @param values 变量值
+     * @return 渲染结果
+     */
+    public String render(Map<String, ?> values) {
+        return render(values::get);
+    }
+
+    /**
+     * 使用位置参数渲染模板（{@code {0}}、{@code {1}} ...）
+     *
+     * @param params 参数
+     * @return 渲染结果
+     */
+    public String renderPositional(Object... params) {
+        return render(name -> {
+            int index = positionalIndex(name);
+            if (index < 0 || index >= params.length) {
+                return null;
+            }
+            // 与历史行为保持一致：null 参数替换为空字符串
+            return params[index] != null ? params[index] : "";
+        });
+    }
+
+    private static int positionalIndex(String name) {
+        if (name.length() > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * 是否引用了指定变量
+     */
+    public boolean hasVariable(String name) {
+        for (String variable : variables) {
+            if (variable.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取原始模板
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 获取变量个数
+     */
+    public int getVariableCount() {
+        return variables.length;
+    }
+}
@@ -12,6 +12,7 @@ import javax.annotation.PostConstruct;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 增强的工具管理器
@@ -36,6 +37,11 @@ public class EnhancedToolManager implements IToolManager {
      */
     private final Map<String, Set<String>> categoryIndex = new ConcurrentHashMap<>();
 
+    /**
+     * 注册表版本号（工具注册或移除时递增）
+     */
+    private final AtomicLong registryVersion = new AtomicLong();
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -73,6 +79,11 @@ public class EnhancedToolManager implements IToolManager {
                                 return method.invoke(controller, parseParameters(params, method));
                             }
                     );
+                    definition.setParallelSafe(annotation.parallelSafe());
+                    definition.setTimeout(annotation.timeout());
+                    definition.setCacheable(annotation.cacheable());
+                    definition.setCacheTtl(annotation.ttl());
+                    definition.setInvalidates(List.of(annotation.invalidates()));
 
                     registerToolDefinition(definition);
                     toolCount++;
@@ -94,6 +105,7 @@ public class EnhancedToolManager implements IToolManager {
         if (category != null && !category.isEmpty()) {
             categoryIndex.computeIfAbsent(category, k -> new HashSet<>()).add(definition.getName());
         }
+        registryVersion.incrementAndGet();
 
         log.info("注册工具定义: {} (分类: {})", definition.getName(), definition.getCategory());
     }
@@ -156,6 +168,15 @@ public class EnhancedToolManager implements IToolManager {
         return new ArrayList<>(toolDefinitions.values());
     }
 
+    /**
+     * 获取注册表版本号
+     *
+     * <p>工具注册或移除后版本号递增，用于判断工具集快照是否过期。
+     */
+    public long getRegistryVersion() {
+        return registryVersion.get();
+    }
+
     /**
      * 根据分类获取工具
      */
@@ -198,6 +219,9 @@ public class EnhancedToolManager implements IToolManager {
                 }
             }
         }
+        if (definition != null) {
+            registryVersion.incrementAndGet();
+        }
         log.info("移除工具: {}", toolName);
     }
 
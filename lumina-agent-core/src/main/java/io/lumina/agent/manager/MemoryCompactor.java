@@ -0,0 +1,193 @@
+package io.lumina.agent.manager;
+
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.llm.ChatModelFactory;
+import io.lumina.agent.loader.PromptLoader;
+import io.lumina.agent.model.AgentConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 会话记忆压缩器
+ *
+ * <p>会话消息的估算 Token 数超过 {@code lumina.agent.memory.compaction.trigger-tokens} 后，
+ * 把较早的消息连同已有摘要交给摘要模型（低成本模型或本地模拟模型）生成新摘要，
+ * 只保留 {@code keep-recent-tokens} 以内的最近消息原文（从用户消息开始）。
+ * 摘要与会话一起保存（见 {@link MemoryManager#compact}），加载历史时作为第一条消息返回，每轮的提示词大小和成本保持稳定。
+ * <p>在保存本轮对话的后台任务中调用，同一会话同一时间只有一个压缩任务；摘要生成失败时保留原始消息，下一轮再试。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class MemoryCompactor {
+
+    /**
+     * 摘要提示词（prompts/summarizer.txt）
+     */
+    private static final String SUMMARIZER_PROMPT = "summarizer";
+
+    private final LuminaAgentProperties agentProperties;
+    private final LuminaAgentProperties.CompactionConfig compactionConfig;
+    private final MemoryManager memoryManager;
+    private final ChatModelFactory chatModelFactory;
+    private final PromptLoader promptLoader;
+
+    /**
+     * 正在压缩的会话（本节点）
+     */
+    private final Set<String> compacting = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong compactionCount = new AtomicLong();
+    private final AtomicLong compactedMessages = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    public MemoryCompactor(LuminaAgentProperties agentProperties,
+                           MemoryManager memoryManager,
+                           ChatModelFactory chatModelFactory,
+                           PromptLoader promptLoader) {
+        this.agentProperties = agentProperties;
+        this.compactionConfig = agentProperties.getMemory().getCompaction();
+        this.memoryManager = memoryManager;
+        this.chatModelFactory = chatModelFactory;
+        this.promptLoader = promptLoader;
+    }
+
+    /**
+     * 会话超过阈值时压缩（同步执行，调用方应在后台线程调用）
+     *
+     * <p>先比较会话累计 Token 计数（{@link MemoryManager#addMemories} 的返回值），未超过阈值时不读取会话。
+     *
+     * @param sessionId     会话 ID
+     * @param sessionTokens 会话累计 Token 数（估算值）
+     * @return 是否执行了压缩
+     */
+    public boolean compactIfNeeded(String sessionId, long sessionTokens) {
+        if (!Boolean.TRUE.equals(compactionConfig.getEnabled())
+                || sessionTokens <= compactionConfig.getTriggerTokens()
+                || !compacting.add(sessionId)) {
+            return false;
+        }
+        try {
+            return compact(sessionId);
+        } catch (Exception e) {
+            failureCount.incrementAndGet();
+            log.warn("会话压缩失败，保留原始消息: sessionId={}, error={}", sessionId, e.getMessage());
+            return false;
+        } finally {
+            compacting.remove(sessionId);
+        }
+    }
+
+    /**
+     * 获取压缩统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", Boolean.TRUE.equals(compactionConfig.getEnabled()));
+        stats.put("compactions", compactionCount.get());
+        stats.put("compactedMessages", compactedMessages.get());
+        stats.put("failures", failureCount.get());
+        stats.put("compacting", compacting.size());
+        return stats;
+    }
+
+    private boolean compact(String sessionId) {
+        List<MemoryManager.Memory> memories = memoryManager.getMemories(sessionId);
+        int totalTokens = MemoryManager.totalTokens(memories);
+        if (totalTokens <= compactionConfig.getTriggerTokens()) {
+            // 计数偏大（消息超出条数上限被裁剪），按实际值校正，避免每轮重复读取
+            memoryManager.resetTokenCount(sessionId, totalTokens);
+            return false;
+        }
+        int split = MemoryManager.tailStart(memories, compactionConfig.getKeepRecentTokens());
+        if (split == 0) {
+            return false;
+        }
+
+        List<MemoryManager.Memory> older = memories.subList(0, split);
+        MemoryManager.Summary previous = memoryManager.getSummary(sessionId);
+        long start = System.currentTimeMillis();
+        String content = summarize(previous, older);
+        if (content == null || content.isBlank()) {
+            failureCount.incrementAndGet();
+            log.warn("摘要模型返回空内容，保留原始消息: sessionId={}", sessionId);
+            return false;
+        }
+
+        int total = split + (previous != null && previous.compactedMessages() != null ? previous.compactedMessages() : 0);
+        MemoryManager.Summary summary = new MemoryManager.Summary(content.trim(), total, System.currentTimeMillis());
+        if (!memoryManager.compact(sessionId, List.copyOf(older), summary)) {
+            return false;
+        }
+        compactionCount.incrementAndGet();
+        compactedMessages.addAndGet(split);
+        log.info("会话已压缩: sessionId={}, compacted={}, kept={}, summaryTokens={}, duration={}ms",
+                sessionId, split, memories.size() - split, MemoryManager.estimateTokens(summary.content()),
+                System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * 调用摘要模型，合并已有摘要与较早的消息
+     */
+    private String summarize(MemoryManager.Summary previous, List<MemoryManager.Memory> older) {
+        String conversation = older.stream()
+                .map(memory -> memory.role() + ": " + memory.content())
+                .collect(Collectors.joining("\n"));
+        String prompt = promptLoader.getTemplate(SUMMARIZER_PROMPT).render(name -> switch (name) {
+            case "summary" -> previous != null ? previous.content() : "(none)";
+            case "conversation" -> conversation;
+            default -> null;
+        });
+
+        Model model = chatModelFactory.getModel(summarizerConfig());
+        GenerateOptions options = GenerateOptions.builder()
+                .temperature(0.2f)
+                .maxTokens(compactionConfig.getMaxSummaryTokens())
+                .build();
+        Msg message = Msg.builder()
+                .role(MsgRole.USER)
+                .textContent(prompt)
+                .build();
+        return model.stream(List.of(message), List.of(), options)
+                .flatMapIterable(ChatResponse::getContent)
+                .ofType(TextBlock.class)
+                .map(TextBlock::getText)
+                .collect(Collectors.joining())
+                .block(Duration.ofMillis(compactionConfig.getTimeout()));
+    }
+
+    /**
+     * 摘要模型配置（未配置的字段使用全局 LLM 配置）
+     */
+    private AgentConfig.LLMConfig summarizerConfig() {
+        LuminaAgentProperties.LLMConfig llmDefaults = agentProperties.getLlm();
+        AgentConfig.LLMConfig llmConfig = new AgentConfig.LLMConfig();
+        llmConfig.setModelType(StringUtils.hasText(compactionConfig.getModelType())
+                ? compactionConfig.getModelType() : llmDefaults.getType());
+        llmConfig.setModelName(StringUtils.hasText(compactionConfig.getModelName())
+                ? compactionConfig.getModelName() : llmDefaults.getModel());
+        String apiKey = System.getenv("DASHSCOPE_API_KEY");
+        llmConfig.setApiKey(apiKey != null && !apiKey.isEmpty() ? apiKey : llmDefaults.getApiKey());
+        llmConfig.setStream(false);
+        return llmConfig;
+    }
+}
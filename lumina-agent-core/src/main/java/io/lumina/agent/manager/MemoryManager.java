@@ -2,23 +2,33 @@ package io.lumina.agent.manager;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lumina.agent.config.LuminaAgentProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 记忆管理器
  *
  * <p>管理 Agent 的对话记忆和历史记录。
+ * <p>Redis 中每个会话使用一个 List 保存消息，追加时只写入新消息（RPUSH + LTRIM），
+ * 读取最近的消息时只拉取尾部区间（LRANGE），不会随会话变长而读写整段历史。
+ * <p>较早的消息可被压缩为会话摘要（见 {@link MemoryCompactor}），摘要与会话消息分开保存，
+ * 加载历史时与最近消息在同一次 Redis 往返中读取，并作为第一条历史消息返回。
+ * <p>每个会话另有一个累计 Token 计数（估算值，追加时递增、压缩时递减），
+ * 是否需要压缩只需比较计数，不必每轮读取整段会话。
+ * <p>兼容旧格式：此前每个会话以整段 List 值保存在 {@code lumina:agent:memory:} 前缀下，
+ * 读取会话时新格式不存在消息则检查旧 Key，存在时迁移到新格式并删除旧 Key，升级后已有会话不会丢失。
  *
  * @author Lumina Team
  * @since 1.0.0
@@ -30,12 +40,48 @@ public class MemoryManager {
     /**
      * Redis Key 前缀
      */
-    private static final String REDIS_KEY_PREFIX = "lumina:agent:memory:";
+    private static final String REDIS_KEY_PREFIX = "lumina:agent:session:";
+
+    /**
+     * 会话摘要 Redis Key 前缀（与会话消息分开命名，任意 sessionId 都不会与摘要 Key 冲突）
+     */
+    private static final String SUMMARY_KEY_PREFIX = "lumina:agent:session-summary:";
+
+    /**
+     * 会话累计 Token 计数 Redis Key 前缀
+     */
+    private static final String TOKENS_KEY_PREFIX = "lumina:agent:session-tokens:";
+
+    /**
+     * 旧格式会话记忆 Redis Key 前缀（整段 List 值，读取时迁移）
+     */
+    private static final String LEGACY_KEY_PREFIX = "lumina:agent:memory:";
+
+    /**
+     * 会话摘要作为历史消息时的角色和内容前缀
+     */
+    public static final String SUMMARY_ROLE = "system";
+    private static final String SUMMARY_PREFIX = "以下是此前对话的摘要：\n";
+
+    /**
+     * 每条消息的固定开销（角色、分隔符等，估算值）
+     */
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
 
     /**
      * 会话记忆存储（内存备用，当 Redis 不可用时使用）
      */
-    private final Map<String, List<Memory>> memoryStore = new java.util.concurrent.ConcurrentHashMap<>();
+    private final Map<String, List<Memory>> memoryStore = new ConcurrentHashMap<>();
+
+    /**
+     * 会话摘要存储（内存备用，当 Redis 不可用时使用）
+     */
+    private final Map<String, Summary> summaryStore = new ConcurrentHashMap<>();
+
+    /**
+     * 会话累计 Token 计数（内存备用，当 Redis 不可用时使用）
+     */
+    private final Map<String, Long> tokenCounts = new ConcurrentHashMap<>();
 
     /**
      * Redis 模板（可选，如果未配置则使用内存存储）
@@ -48,16 +94,11 @@ public class MemoryManager {
      */
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    /**
-     * 最大记忆条数
-     */
-    private static final int MAX_MEMORY_SIZE = 100;
+    private final LuminaAgentProperties.MemoryConfig memoryConfig;
 
-    /**
-     * 记忆过期时间（秒），默认 7 天
-     */
-    @Value("${lumina.agent.memory.ttl:604800}")
-    private long memoryTtl;
+    public MemoryManager(LuminaAgentProperties agentProperties) {
+        this.memoryConfig = agentProperties.getMemory();
+    }
 
     /**
      * 添加记忆
@@ -67,56 +108,65 @@ public class MemoryManager {
      * @param content   内容
      */
     public void addMemory(String sessionId, String role, String content) {
-        Memory newMemory = new Memory(role, content, System.currentTimeMillis());
+        addMemories(sessionId, List.of(new Memory(role, content, System.currentTimeMillis())));
+    }
 
+    /**
+     * 批量追加记忆（一轮对话的多条消息一次写入）
+     *
+     * <p>同时递增会话累计 Token 计数，Redis 中与追加消息在同一次往返中完成。
+     *
+     * @param sessionId 会话 ID
+     * @param memories  新消息（按时间顺序）
+     * @return 追加后的会话累计 Token 数（估算值，超出条数上限被裁剪的消息不扣减，可能偏大）
+     */
+    @SuppressWarnings("unchecked")
+    public long addMemories(String sessionId, List<Memory> memories) {
+        if (memories == null || memories.isEmpty()) {
+            return 0L;
+        }
+        long tokens = totalTokens(memories);
         if (redisTemplate != null) {
-            // 使用 Redis 持久化
-            addMemoryToRedis(sessionId, newMemory);
-        } else {
-            // 使用内存存储
-            memoryStore.computeIfAbsent(sessionId, k -> new ArrayList<>())
-                       .add(newMemory);
-
-            // 限制记忆条数
-            List<Memory> memories = memoryStore.get(sessionId);
-            if (memories.size() > MAX_MEMORY_SIZE) {
-                memories.remove(0);
-                log.debug("会话 {} 记忆超出限制，移除最旧记录", sessionId);
+            try {
+                String key = getRedisKey(sessionId);
+                String tokensKey = getTokensKey(sessionId);
+                Duration ttl = Duration.ofSeconds(memoryConfig.getTtl());
+                List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                        redis.opsForValue().increment(tokensKey, tokens);
+                        redis.expire(tokensKey, ttl);
+                        redis.opsForList().rightPushAll(key, memories.toArray());
+                        // 只保留最近的 maxSize 条
+                        redis.opsForList().trim(key, -memoryConfig.getMaxSize(), -1);
+                        redis.expire(key, ttl);
+                        return null;
+                    }
+                });
+                log.debug("记忆已追加到 Redis: sessionId={}, count={}", sessionId, memories.size());
+                return results.get(0) instanceof Number total ? total.longValue() : tokens;
+            } catch (Exception e) {
+                log.error("保存记忆到 Redis 失败，降级到内存存储: sessionId={}", sessionId, e);
             }
         }
+        addMemoriesToStore(sessionId, memories);
+        return tokenCounts.merge(sessionId, tokens, Long::sum);
     }
 
     /**
-     * 添加记忆到 Redis
+     * 追加记忆到内存存储
      */
-    private void addMemoryToRedis(String sessionId, Memory newMemory) {
-        try {
-            String key = getRedisKey(sessionId);
-            List<Memory> memories = getMemoriesFromRedis(sessionId);
-            
-            // 添加新记忆
-            memories.add(newMemory);
-
-            // 限制记忆条数
-            if (memories.size() > MAX_MEMORY_SIZE) {
-                memories.remove(0);
-                log.debug("会话 {} 记忆超出限制，移除最旧记录", sessionId);
+    private void addMemoriesToStore(String sessionId, List<Memory> memories) {
+        List<Memory> stored = memoryStore.computeIfAbsent(sessionId,
+                k -> Collections.synchronizedList(new ArrayList<>()));
+        synchronized (stored) {
+            stored.addAll(memories);
+            int overflow = stored.size() - memoryConfig.getMaxSize();
+            if (overflow > 0) {
+                stored.subList(0, overflow).clear();
+                log.debug("会话 {} 记忆超出限制，移除最旧 {} 条记录", sessionId, overflow);
             }
-
-            // 保存到 Redis，设置过期时间
-            redisTemplate.opsForValue().set(
-                    key,
-                    memories,
-                    Duration.ofSeconds(memoryTtl)
-            );
-
-            log.debug("记忆已保存到 Redis: sessionId={}, memoryCount={}", sessionId, memories.size());
-
-        } catch (Exception e) {
-            log.error("保存记忆到 Redis 失败，降级到内存存储: sessionId={}", sessionId, e);
-            // 降级到内存存储
-            memoryStore.computeIfAbsent(sessionId, k -> new ArrayList<>())
-                       .add(newMemory);
         }
     }
 
@@ -127,52 +177,80 @@ public class MemoryManager {
      * @return 记忆列表
      */
     public List<Memory> getMemories(String sessionId) {
-        if (redisTemplate != null) {
-            // 从 Redis 获取
-            return getMemoriesFromRedis(sessionId);
-        } else {
-            // 从内存获取
-            return memoryStore.getOrDefault(sessionId, new ArrayList<>());
-        }
+        return getRecentMemories(sessionId, memoryConfig.getMaxSize());
     }
 
     /**
-     * 从 Redis 获取记忆
+     * 获取最近的 N 条记忆
+     *
+     * @param sessionId 会话 ID
+     * @param n         条数
+     * @return 记忆列表
      */
-    @SuppressWarnings("unchecked")
-    private List<Memory> getMemoriesFromRedis(String sessionId) {
-        try {
-            String key = getRedisKey(sessionId);
-            Object value = redisTemplate.opsForValue().get(key);
-            
-            if (value == null) {
-                return new ArrayList<>();
-            }
-
-            // 如果是 List，尝试转换为 Memory 列表
-            if (value instanceof List) {
-                List<?> list = (List<?>) value;
-                List<Memory> memories = new ArrayList<>();
-                for (Object item : list) {
-                    if (item instanceof Memory) {
-                        memories.add((Memory) item);
-                    } else if (item instanceof Map) {
-                        // 如果是 Map，转换为 Memory
-                        Memory memory = objectMapper.convertValue(item, Memory.class);
-                        memories.add(memory);
-                    }
+    public List<Memory> getRecentMemories(String sessionId, int n) {
+        if (n <= 0) {
+            return new ArrayList<>();
+        }
+        if (redisTemplate != null) {
+            try {
+                List<Memory> memories = toMemories(redisTemplate.opsForList().range(getRedisKey(sessionId), -n, -1));
+                if (memories.isEmpty()) {
+                    List<Memory> migrated = migrateLegacy(sessionId);
+                    return new ArrayList<>(migrated.subList(Math.max(0, migrated.size() - n), migrated.size()));
                 }
                 return memories;
+            } catch (Exception e) {
+                log.error("从 Redis 获取记忆失败，尝试从内存获取: sessionId={}", sessionId, e);
             }
+        }
+        List<Memory> stored = memoryStore.get(sessionId);
+        if (stored == null) {
+            return new ArrayList<>();
+        }
+        synchronized (stored) {
+            int size = stored.size();
+            return new ArrayList<>(stored.subList(Math.max(0, size - n), size));
+        }
+    }
 
-            // 尝试直接反序列化
-            return objectMapper.convertValue(value, new TypeReference<List<Memory>>() {});
-
-        } catch (Exception e) {
-            log.error("从 Redis 获取记忆失败，尝试从内存获取: sessionId={}", sessionId, e);
-            // 降级到内存存储
-            return memoryStore.getOrDefault(sessionId, new ArrayList<>());
+    /**
+     * 获取 Token 预算内的最近历史
+     *
+     * <p>从最新的消息向前累加估算 Token 数，超出预算即停止；
+     * 保证返回的历史以用户消息开头，不会只保留一轮对话的后半段。
+     * 会话存在摘要时，摘要占用预算并作为第一条消息返回（角色为 {@link #SUMMARY_ROLE}）。
+     *
+     * @param sessionId   会话 ID
+     * @param tokenBudget Token 预算（估算值）
+     * @param maxMessages 最多读取的消息条数
+     * @return 记忆列表（按时间顺序）
+     */
+    public List<Memory> getHistory(String sessionId, int tokenBudget, int maxMessages) {
+        SessionSnapshot snapshot = loadSnapshot(sessionId, maxMessages);
+        List<Memory> recent = snapshot.recent();
+        Summary summary = snapshot.summary();
+        if (summary == null) {
+            int start = tailStart(recent, tokenBudget);
+            return start == 0 ? recent : new ArrayList<>(recent.subList(start, recent.size()));
         }
+
+        Memory summaryMemory = new Memory(SUMMARY_ROLE, SUMMARY_PREFIX + summary.content(), summary.updatedAt());
+        int summaryTokens = estimateTokens(summaryMemory.content()) + MESSAGE_OVERHEAD_TOKENS;
+        int start = tailStart(recent, Math.max(0, tokenBudget - summaryTokens));
+        List<Memory> history = new ArrayList<>(recent.size() - start + 1);
+        history.add(summaryMemory);
+        history.addAll(recent.subList(start, recent.size()));
+        return history;
+    }
+
+    /**
+     * 获取 Token 预算内的最近历史（使用默认配置）
+     *
+     * @param sessionId 会话 ID
+     * @return 记忆列表（按时间顺序）
+     */
+    public List<Memory> getHistory(String sessionId) {
+        return getHistory(sessionId, memoryConfig.getHistoryTokenBudget(), memoryConfig.getHistoryMaxMessages());
     }
 
     /**
@@ -184,33 +262,322 @@ public class MemoryManager {
         if (redisTemplate != null) {
             // 从 Redis 删除
             try {
-                String key = getRedisKey(sessionId);
-                redisTemplate.delete(key);
+                redisTemplate.delete(List.of(getRedisKey(sessionId), getSummaryKey(sessionId), getTokensKey(sessionId)));
                 log.info("从 Redis 清空会话记忆: {}", sessionId);
             } catch (Exception e) {
                 log.error("从 Redis 清空记忆失败: sessionId={}", sessionId, e);
             }
         }
-        
+
         // 同时清除内存中的记录
         memoryStore.remove(sessionId);
+        summaryStore.remove(sessionId);
+        tokenCounts.remove(sessionId);
         log.info("清空会话记忆: {}", sessionId);
     }
 
     /**
-     * 获取最近的 N 条记忆
+     * 获取会话摘要
      *
      * @param sessionId 会话 ID
-     * @param n         条数
-     * @return 记忆列表
+     * @return 会话摘要，不存在时返回 null
      */
-    public List<Memory> getRecentMemories(String sessionId, int n) {
-        List<Memory> memories = getMemories(sessionId);
-        int size = memories.size();
-        if (size <= n) {
+    public Summary getSummary(String sessionId) {
+        if (redisTemplate != null) {
+            try {
+                return toSummary(redisTemplate.opsForValue().get(getSummaryKey(sessionId)));
+            } catch (Exception e) {
+                log.error("从 Redis 获取会话摘要失败，尝试从内存获取: sessionId={}", sessionId, e);
+            }
+        }
+        return summaryStore.get(sessionId);
+    }
+
+    /**
+     * 压缩会话：保存新摘要，并移除已被摘要覆盖的最早若干条消息
+     *
+     * <p>Redis 中先 WATCH 会话 Key 并校验头部，再在同一个事务（MULTI/EXEC）中写摘要、裁剪消息、扣减累计 Token 计数；
+     * 校验之后会话被并发修改（追加、裁剪或另一次压缩）时事务不执行，放弃本次压缩，下一轮对话再重新判断。
+     *
+     * @param sessionId 会话 ID
+     * @param compacted 被摘要覆盖的消息（会话最早的若干条，按时间顺序）
+     * @param summary   新摘要（已合并此前的摘要）
+     * @return 是否压缩成功
+     */
+    @SuppressWarnings("unchecked")
+    public boolean compact(String sessionId, List<Memory> compacted, Summary summary) {
+        if (compacted.isEmpty()) {
+            return false;
+        }
+        int count = compacted.size();
+        Memory last = compacted.get(count - 1);
+        if (redisTemplate != null) {
+            try {
+                String key = getRedisKey(sessionId);
+                String summaryKey = getSummaryKey(sessionId);
+                String tokensKey = getTokensKey(sessionId);
+                Duration ttl = Duration.ofSeconds(memoryConfig.getTtl());
+                Boolean compactedInRedis = redisTemplate.execute(new SessionCallback<Boolean>() {
+                    @Override
+                    public <K, V> Boolean execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                        redis.watch(key);
+                        List<Memory> head = toMemories(redis.opsForList().range(key, count - 1, count - 1));
+                        if (head.isEmpty() || !last.equals(head.get(0))) {
+                            redis.unwatch();
+                            return false;
+                        }
+                        redis.multi();
+                        redis.opsForValue().set(summaryKey, summary, ttl);
+                        redis.opsForList().trim(key, count, -1);
+                        redis.opsForValue().decrement(tokensKey, totalTokens(compacted));
+                        List<Object> results = redis.exec();
+                        return results != null && !results.isEmpty();
+                    }
+                });
+                if (!Boolean.TRUE.equals(compactedInRedis)) {
+                    log.debug("会话头部已变化，放弃压缩: sessionId={}", sessionId);
+                    return false;
+                }
+                return true;
+            } catch (Exception e) {
+                log.error("压缩 Redis 会话记忆失败: sessionId={}", sessionId, e);
+                return false;
+            }
+        }
+
+        List<Memory> stored = memoryStore.get(sessionId);
+        if (stored == null) {
+            return false;
+        }
+        synchronized (stored) {
+            if (stored.size() < count || !last.equals(stored.get(count - 1))) {
+                return false;
+            }
+            summaryStore.put(sessionId, summary);
+            stored.subList(0, count).clear();
+        }
+        tokenCounts.computeIfPresent(sessionId, (k, tokens) -> tokens - totalTokens(compacted));
+        return true;
+    }
+
+    /**
+     * 重置会话累计 Token 计数（计数与实际消息不一致时按实际值校正）
+     *
+     * @param sessionId 会话 ID
+     * @param tokens    会话消息的实际 Token 数（估算值）
+     */
+    @SuppressWarnings("unchecked")
+    public void resetTokenCount(String sessionId, long tokens) {
+        if (redisTemplate != null) {
+            try {
+                String tokensKey = getTokensKey(sessionId);
+                Duration ttl = Duration.ofSeconds(memoryConfig.getTtl());
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                        redis.delete(tokensKey);
+                        redis.opsForValue().increment(tokensKey, tokens);
+                        redis.expire(tokensKey, ttl);
+                        return null;
+                    }
+                });
+                return;
+            } catch (Exception e) {
+                log.error("重置会话 Token 计数失败: sessionId={}", sessionId, e);
+            }
+        }
+        tokenCounts.put(sessionId, tokens);
+    }
+
+    /**
+     * 估算文本 Token 数
+     *
+     * <p>CJK 字符按 1 个 Token 计，其他字符按 4 个字符 1 个 Token 计，只用于历史裁剪，不追求精确。
+     *
+     * @param text 文本
+     * @return 估算的 Token 数
+     */
+    public static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.UnicodeScript.of(text.charAt(i)) == Character.UnicodeScript.HAN) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    /**
+     * 计算 Token 预算内的尾部起点
+     *
+     * <p>从最新的消息向前累加估算 Token 数，超出预算即停止，并向后调整到用户消息。
+     *
+     * @return 尾部第一条消息的下标（等于列表长度时表示预算内不保留任何消息）
+     */
+    static int tailStart(List<Memory> memories, int tokenBudget) {
+        int start = memories.size();
+        int used = 0;
+        while (start > 0) {
+            int tokens = estimateTokens(memories.get(start - 1).content()) + MESSAGE_OVERHEAD_TOKENS;
+            if (used + tokens > tokenBudget) {
+                break;
+            }
+            used += tokens;
+            start--;
+        }
+        while (start < memories.size() && !"user".equals(memories.get(start).role())) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * 估算消息列表的 Token 数
+     */
+    static int totalTokens(List<Memory> memories) {
+        int tokens = 0;
+        for (Memory memory : memories) {
+            tokens += estimateTokens(memory.content()) + MESSAGE_OVERHEAD_TOKENS;
+        }
+        return tokens;
+    }
+
+    /**
+     * 读取最近的消息和会话摘要（Redis 中通过管道一次往返读取）
+     */
+    @SuppressWarnings("unchecked")
+    private SessionSnapshot loadSnapshot(String sessionId, int n) {
+        if (redisTemplate != null && n > 0) {
+            try {
+                String key = getRedisKey(sessionId);
+                String summaryKey = getSummaryKey(sessionId);
+                List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                        redis.opsForList().range(key, -n, -1);
+                        redis.opsForValue().get(summaryKey);
+                        return null;
+                    }
+                });
+                List<Memory> recent = toMemories((List<Object>) results.get(0));
+                Summary summary = toSummary(results.get(1));
+                if (recent.isEmpty() && summary == null) {
+                    List<Memory> migrated = migrateLegacy(sessionId);
+                    recent = new ArrayList<>(migrated.subList(Math.max(0, migrated.size() - n), migrated.size()));
+                }
+                return new SessionSnapshot(recent, summary);
+            } catch (Exception e) {
+                log.error("从 Redis 获取记忆失败，尝试从内存获取: sessionId={}", sessionId, e);
+            }
+        }
+        List<Memory> recent = new ArrayList<>();
+        List<Memory> stored = memoryStore.get(sessionId);
+        if (stored != null && n > 0) {
+            synchronized (stored) {
+                int size = stored.size();
+                recent.addAll(stored.subList(Math.max(0, size - n), size));
+            }
+        }
+        return new SessionSnapshot(recent, summaryStore.get(sessionId));
+    }
+
+    /**
+     * 迁移旧格式的会话记忆
+     *
+     * <p>WATCH 旧 Key 后读取整段 List，在同一个事务中插入到新格式会话的头部（迁移前已有的新消息保持在其后）、
+     * 累加 Token 计数并删除旧 Key；多个节点同时迁移时只有一个事务执行，其余节点读取迁移后的会话。
+     *
+     * @return 迁移后的会话消息（不存在旧格式会话时返回空列表）
+     */
+    @SuppressWarnings("unchecked")
+    private List<Memory> migrateLegacy(String sessionId) {
+        String legacyKey = LEGACY_KEY_PREFIX + sessionId;
+        String key = getRedisKey(sessionId);
+        String tokensKey = getTokensKey(sessionId);
+        Duration ttl = Duration.ofSeconds(memoryConfig.getTtl());
+        List<Memory> migrated = redisTemplate.execute(new SessionCallback<List<Memory>>() {
+            @Override
+            public <K, V> List<Memory> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                redis.watch(legacyKey);
+                List<Memory> legacy = toLegacyMemories(redis.opsForValue().get(legacyKey));
+                if (legacy.isEmpty()) {
+                    redis.unwatch();
+                    return null;
+                }
+                List<Object> reversed = new ArrayList<>(legacy);
+                Collections.reverse(reversed);
+                redis.multi();
+                redis.opsForList().leftPushAll(key, reversed.toArray());
+                redis.opsForList().trim(key, -memoryConfig.getMaxSize(), -1);
+                redis.expire(key, ttl);
+                redis.opsForValue().increment(tokensKey, totalTokens(legacy));
+                redis.expire(tokensKey, ttl);
+                redis.delete(legacyKey);
+                List<Object> results = redis.exec();
+                return results != null && !results.isEmpty() ? legacy : null;
+            }
+        });
+        if (migrated == null) {
+            // 不存在旧格式会话，或已被其他节点迁移
+            return toMemories(redisTemplate.opsForList().range(key, -memoryConfig.getMaxSize(), -1));
+        }
+        log.info("旧格式会话记忆已迁移: sessionId={}, count={}", sessionId, migrated.size());
+        return migrated.subList(Math.max(0, migrated.size() - memoryConfig.getMaxSize()), migrated.size());
+    }
+
+    /**
+     * 转换旧格式的会话记忆（整段 List 值）
+     */
+    @SuppressWarnings("unchecked")
+    private List<Memory> toLegacyMemories(Object value) {
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        if (value instanceof List) {
+            return toMemories((List<Object>) value);
+        }
+        return objectMapper.convertValue(value, new TypeReference<List<Memory>>() {});
+    }
+
+    /**
+     * 转换 Redis 中的会话摘要
+     */
+    private Summary toSummary(Object value) {
+        if (value instanceof Summary summary) {
+            return summary;
+        } else if (value instanceof Map) {
+            return objectMapper.convertValue(value, Summary.class);
+        }
+        return null;
+    }
+
+    /**
+     * 转换 Redis 中的记忆
+     */
+    private List<Memory> toMemories(List<Object> values) {
+        List<Memory> memories = new ArrayList<>();
+        if (values == null) {
             return memories;
         }
-        return memories.subList(size - n, size);
+        for (Object item : values) {
+            if (item instanceof Memory memory) {
+                memories.add(memory);
+            } else if (item instanceof Map) {
+                // 如果是 Map，转换为 Memory
+                memories.add(objectMapper.convertValue(item, Memory.class));
+            }
+        }
+        return memories;
     }
 
     /**
@@ -220,6 +587,20 @@ public class MemoryManager {
         return REDIS_KEY_PREFIX + sessionId;
     }
 
+    /**
+     * 获取会话累计 Token 计数 Redis Key
+     */
+    private String getTokensKey(String sessionId) {
+        return TOKENS_KEY_PREFIX + sessionId;
+    }
+
+    /**
+     * 获取会话摘要 Redis Key
+     */
+    private String getSummaryKey(String sessionId) {
+        return SUMMARY_KEY_PREFIX + sessionId;
+    }
+
     /**
      * 记忆
      *
@@ -227,4 +608,20 @@ public class MemoryManager {
      */
     public record Memory(String role, String content, Long timestamp) {
     }
+
+    /**
+     * 会话摘要
+     *
+     * @param content           摘要内容
+     * @param compactedMessages 累计被压缩的消息条数
+     * @param updatedAt         更新时间
+     */
+    public record Summary(String content, Integer compactedMessages, Long updatedAt) {
+    }
+
+    /**
+     * 最近的消息和会话摘要
+     */
+    private record SessionSnapshot(List<Memory> recent, Summary summary) {
+    }
 }
@@ -0,0 +1,243 @@
+package io.lumina.agent.manager;
+
+import io.agentscope.core.tool.Toolkit;
+import io.agentscope.core.tool.ToolkitConfig;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.engine.cache.ToolResultCache;
+import io.lumina.agent.executor.AgentExecutors;
+import io.lumina.agent.executor.ToolExecutors;
+import io.lumina.agent.model.AgentConfig;
+import io.lumina.agent.tool.ToolDefinition;
+import io.lumina.agent.tool.ToolDefinitionToAgentToolAdapter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 工具集快照管理器
+ *
+ * <p>按（注册表版本，工具子集）构建 AgentScope Toolkit 快照并缓存复用。
+ * 注册表未变化时，每次执行只需一次缓存查找；工具注册或移除后，旧快照在下次访问时重建。
+ * <p>快照构建完成后不再修改，可以被多个 Agent 实例共享。
+ * <p>启用工具并发调用时，Toolkit 同时分发同一步骤的全部工具调用，
+ * 并发上限和独占执行由 {@link io.lumina.agent.tool.ToolCallScope} 控制。
+ * <p>工具在所在分类的执行舱壁（{@link ToolExecutors}）上执行，慢工具不会占满 Agent 执行器。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ToolkitSnapshotManager {
+
+    /**
+     * 全部工具的子集键
+     */
+    private static final String ALL_TOOLS_KEY = "*";
+
+    @Autowired(required = false)
+    private EnhancedToolManager enhancedToolManager;
+
+    @Autowired
+    private AgentExecutors agentExecutors;
+
+    @Autowired
+    private ToolExecutors toolExecutors;
+
+    @Autowired
+    private LuminaAgentProperties agentProperties;
+
+    @Autowired
+    private ToolResultCache toolResultCache;
+
+    /**
+     * 快照缓存（子集键 -> 快照）
+     */
+    private final Map<String, ToolkitSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 适配器缓存（工具名称 -> 适配器），跨快照复用已解析的参数 Schema
+     */
+    private final Map<String, ToolDefinitionToAgentToolAdapter> adapters = new ConcurrentHashMap<>();
+
+    /**
+     * 适配器缓存对应的注册表版本
+     */
+    private volatile long adaptersVersion = -1L;
+
+    /**
+     * 获取工具集快照
+     *
+     * @param toolConfig 工具配置（为空或 enableAll 为 true 时使用全部工具）
+     * @return 工具集快照
+     */
+    public ToolkitSnapshot getSnapshot(AgentConfig.ToolConfig toolConfig) {
+        long version = getRegistryVersion();
+        String subsetKey = toSubsetKey(toolConfig);
+
+        ToolkitSnapshot snapshot = snapshots.get(subsetKey);
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
+
+        return snapshots.compute(subsetKey, (key, current) -> {
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            return buildSnapshot(version, toolConfig);
+        });
+    }
+
+    /**
+     * 获取当前注册表版本号
+     */
+    public long getRegistryVersion() {
+        return enhancedToolManager != null ? enhancedToolManager.getRegistryVersion() : 0L;
+    }
+
+    /**
+     * 清除快照缓存
+     */
+    public void clearCache() {
+        snapshots.clear();
+        adapters.clear();
+        adaptersVersion = -1L;
+        log.info("已清除工具集快照缓存");
+    }
+
+    /**
+     * 构建工具集快照
+     */
+    private ToolkitSnapshot buildSnapshot(long version, AgentConfig.ToolConfig toolConfig) {
+        Toolkit toolkit = new Toolkit(ToolkitConfig.builder()
+                .parallel(Boolean.TRUE.equals(agentProperties.getToolCall().getParallel()))
+                .build());
+        List<String> toolNames = new ArrayList<>();
+
+        if (enhancedToolManager == null) {
+            log.debug("EnhancedToolManager 未配置，使用空工具集");
+            return new ToolkitSnapshot(version, toolkit, toolNames, true);
+        }
+
+        syncAdapters(version);
+        boolean cacheable = true;
+
+        for (ToolDefinition toolDef : resolveTools(toolConfig)) {
+            // 跳过未启用的工具
+            if (!toolDef.isEnabled()) {
+                log.debug("跳过未启用的工具: {}", toolDef.getName());
+                continue;
+            }
+
+            try {
+                ToolDefinitionToAgentToolAdapter adapter = adapters.computeIfAbsent(toolDef.getName(),
+                        k -> new ToolDefinitionToAgentToolAdapter(toolDef, agentExecutors.getScheduler(),
+                                toolExecutors.getBulkhead(toolDef), toolResultCache));
+                toolkit.registerAgentTool(adapter);
+                toolNames.add(toolDef.getName());
+                cacheable &= toolDef.isCacheable() && toolDef.getCacheTtl() > 0;
+            } catch (Exception e) {
+                log.error("注册工具失败: {}", toolDef.getName(), e);
+            }
+        }
+
+        log.info("构建工具集快照: version={}, tools={}", version, toolNames);
+        return new ToolkitSnapshot(version, toolkit, Collections.unmodifiableList(toolNames), cacheable);
+    }
+
+    /**
+     * 注册表版本变化时清空适配器缓存
+     */
+    private synchronized void syncAdapters(long version) {
+        if (adaptersVersion != version) {
+            adapters.clear();
+            adaptersVersion = version;
+        }
+    }
+
+    /**
+     * 解析工具子集
+     */
+    private List<ToolDefinition> resolveTools(AgentConfig.ToolConfig toolConfig) {
+        if (isAllTools(toolConfig)) {
+            return enhancedToolManager.getAllTools();
+        }
+
+        List<ToolDefinition> tools = new ArrayList<>();
+        if (toolConfig.getTools() == null) {
+            return tools;
+        }
+        for (String toolName : toolConfig.getTools()) {
+            ToolDefinition definition = enhancedToolManager.getToolDefinition(toolName);
+            if (definition != null) {
+                tools.add(definition);
+            } else {
+                log.warn("Agent 配置的工具不存在: {}", toolName);
+            }
+        }
+        return tools;
+    }
+
+    /**
+     * 计算子集键
+     */
+    private String toSubsetKey(AgentConfig.ToolConfig toolConfig) {
+        if (isAllTools(toolConfig)) {
+            return ALL_TOOLS_KEY;
+        }
+        if (toolConfig.getTools() == null || toolConfig.getTools().isEmpty()) {
+            return "";
+        }
+        List<String> names = new ArrayList<>(toolConfig.getTools());
+        Collections.sort(names);
+        return String.join(",", names);
+    }
+
+    private boolean isAllTools(AgentConfig.ToolConfig toolConfig) {
+        return toolConfig == null || Boolean.TRUE.equals(toolConfig.getEnableAll())
+                || (toolConfig.getEnableAll() == null && toolConfig.getTools() == null);
+    }
+
+    /**
+     * 工具集快照
+     */
+    @Getter
+    public static class ToolkitSnapshot {
+
+        /**
+         * 构建时的注册表版本号
+         */
+        private final long version;
+
+        /**
+         * AgentScope 工具集
+         */
+        private final Toolkit toolkit;
+
+        /**
+         * 快照包含的工具名称
+         */
+        private final List<String> toolNames;
+
+        /**
+         * 快照中的工具是否全部可跨执行缓存（只读幂等，且结果不依赖当前用户）
+         *
+         * <p>为 false 时，执行结果可能依赖调用方的数据或产生副作用，不参与响应缓存和请求合并。
+         */
+        private final boolean cacheable;
+
+        public ToolkitSnapshot(long version, Toolkit toolkit, List<String> toolNames, boolean cacheable) {
+            this.version = version;
+            this.toolkit = toolkit;
+            this.toolNames = toolNames;
+            this.cacheable = cacheable;
+        }
+    }
+}
@@ -48,6 +48,16 @@ public class AgentConfig implements Serializable {
      */
     private String promptTemplate;
 
+    /**
+     * 执行超时时间（毫秒，为空时使用全局默认配置）
+     */
+    private Long timeout;
+
+    /**
+     * 会话 ID（不为空时加载会话历史并保存本轮对话，实现多轮对话）
+     */
+    private String sessionId;
+
     /**
      * 额外参数
      */
@@ -85,6 +95,11 @@ public class AgentConfig implements Serializable {
          * 最大 Token 数
          */
         private Integer maxTokens;
+
+        /**
+         * 是否启用流式输出（为空时使用全局配置）
+         */
+        private Boolean stream;
     }
 
     /**
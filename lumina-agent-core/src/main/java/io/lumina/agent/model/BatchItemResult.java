@@ -0,0 +1,45 @@
+package io.lumina.agent.model;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量执行单项结果
+ *
+ * <p>批量执行按完成顺序返回，通过 index 对应原始任务位置。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Data
+public class BatchItemResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务在批次中的位置（从 0 开始）
+     */
+    private Integer index;
+
+    /**
+     * 任务描述
+     */
+    private String task;
+
+    /**
+     * 执行结果
+     */
+    private ExecuteResult result;
+
+    /**
+     * 创建单项结果
+     */
+    public static BatchItemResult of(int index, String task, ExecuteResult result) {
+        BatchItemResult itemResult = new BatchItemResult();
+        itemResult.setIndex(index);
+        itemResult.setTask(task);
+        itemResult.setResult(result);
+        return itemResult;
+    }
+}
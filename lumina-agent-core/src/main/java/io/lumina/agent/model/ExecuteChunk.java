@@ -0,0 +1,108 @@
+package io.lumina.agent.model;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Agent 流式执行片段
+ *
+ * <p>流式执行时逐个推送的增量事件，包括推理过程、工具调用、文本增量和最终结果。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Data
+public class ExecuteChunk implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 推理（思考）增量
+     */
+    public static final String TYPE_REASONING = "reasoning";
+
+    /**
+     * 文本增量
+     */
+    public static final String TYPE_TEXT = "text";
+
+    /**
+     * 工具调用
+     */
+    public static final String TYPE_TOOL_CALL = "tool_call";
+
+    /**
+     * 工具结果
+     */
+    public static final String TYPE_TOOL_RESULT = "tool_result";
+
+    /**
+     * 执行完成
+     */
+    public static final String TYPE_DONE = "done";
+
+    /**
+     * 执行失败
+     */
+    public static final String TYPE_ERROR = "error";
+
+    /**
+     * 片段类型
+     */
+    private String type;
+
+    /**
+     * 片段内容
+     */
+    private String content;
+
+    /**
+     * 工具名称（仅工具调用/工具结果片段）
+     */
+    private String toolName;
+
+    /**
+     * 序号（从 0 开始）
+     */
+    private Long sequence;
+
+    /**
+     * 时间戳（毫秒）
+     */
+    private Long timestamp;
+
+    /**
+     * 创建片段
+     */
+    public static ExecuteChunk of(String type, String content) {
+        ExecuteChunk chunk = new ExecuteChunk();
+        chunk.setType(type);
+        chunk.setContent(content);
+        chunk.setTimestamp(System.currentTimeMillis());
+        return chunk;
+    }
+
+    /**
+     * 创建工具片段
+     */
+    public static ExecuteChunk tool(String type, String toolName, String content) {
+        ExecuteChunk chunk = of(type, content);
+        chunk.setToolName(toolName);
+        return chunk;
+    }
+
+    /**
+     * 创建完成片段
+     */
+    public static ExecuteChunk done(String result) {
+        return of(TYPE_DONE, result);
+    }
+
+    /**
+     * 创建失败片段
+     */
+    public static ExecuteChunk error(String error) {
+        return of(TYPE_ERROR, error);
+    }
+}
@@ -34,4 +34,39 @@ public @interface AgentTool {
      * 是否启用
      */
     boolean enabled() default true;
+
+    /**
+     * 是否可与同一步骤的其他工具调用并发执行
+     *
+     * <p>有副作用或依赖执行顺序的工具应设置为 false，执行时独占同一步骤的全部并发名额。
+     */
+    boolean parallelSafe() default true;
+
+    /**
+     * 执行超时时间（毫秒，含排队时间）
+     *
+     * <p>为 0 时使用所在分类的配置（{@code lumina.agent.tool-executor}）。超时的调用被取消，以错误结果返回给模型。
+     */
+    long timeout() default 0;
+
+    /**
+     * 是否缓存执行结果
+     *
+     * <p>只用于只读且幂等的工具：按（租户、工具、参数）缓存，同一次执行中参数相同的调用只执行一次。
+     */
+    boolean cacheable() default false;
+
+    /**
+     * 缓存有效期（秒）
+     *
+     * <p>为 0 时只在同一次执行内去重，不跨执行缓存（适用于依赖当前用户等请求上下文的工具）。
+     */
+    long ttl() default 60;
+
+    /**
+     * 执行成功后需要清除缓存的工具名称
+     *
+     * <p>未声明时，不可并发执行的工具（写工具）执行成功后清除同分类工具的缓存。
+     */
+    String[] invalidates() default {};
 }
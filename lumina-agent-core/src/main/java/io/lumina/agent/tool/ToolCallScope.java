@@ -0,0 +1,181 @@
+package io.lumina.agent.tool;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 工具调用作用域
+ *
+ * <p>每次执行创建一个实例，随 Reactor Context（键 {@link #CONTEXT_KEY}）传递到工具调用，
+ * 约束模型在同一步骤中返回的多个工具调用：
+ * <ul>
+ *     <li>并发数不超过 {@code maxParallelism}，超出的调用按到达顺序排队（不占用线程）</li>
+ *     <li>不可并行的工具占用全部名额，独占执行</li>
+ *     <li>启用快速失败时，任一调用失败后取消同一步骤中仍在执行或排队的其他调用</li>
+ * </ul>
+ * <p>步骤以调用重叠区间划分：作用域内没有执行中或排队的调用时，下一个调用开启新步骤。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class ToolCallScope {
+
+    /**
+     * Reactor Context 中的键
+     */
+    public static final String CONTEXT_KEY = ToolCallScope.class.getName();
+
+    private final int maxParallelism;
+    private final boolean failFast;
+
+    /**
+     * 排队中的调用
+     */
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private int available;
+    private int active;
+    private Step step;
+
+    public ToolCallScope(int maxParallelism, boolean failFast) {
+        this.maxParallelism = Math.max(1, maxParallelism);
+        this.failFast = failFast;
+        this.available = this.maxParallelism;
+    }
+
+    /**
+     * 从 Reactor Context 中读取工具调用作用域
+     *
+     * @param context Reactor Context
+     * @return 工具调用作用域，未设置时返回 null
+     */
+    public static ToolCallScope fromContext(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 在作用域内执行工具调用
+     *
+     * <p>获得名额后订阅 {@code call}，结束（完成、失败或取消）时归还名额。
+     * 同一步骤中其他调用失败时，尚未完成的调用被取消并返回 {@code onCancelled} 的结果。
+     *
+     * @param call        工具调用
+     * @param exclusive   是否独占执行
+     * @param onCancelled 被取消时的结果
+     * @return 工具调用结果
+     */
+    public <T> Mono<T> run(Mono<T> call, boolean exclusive, Mono<T> onCancelled) {
+        return Mono.defer(() -> {
+            Step current = enter();
+            Mono<T> guarded = Mono.usingWhen(
+                    acquire(exclusive ? maxParallelism : 1),
+                    permits -> call,
+                    this::release,
+                    (permits, error) -> release(permits),
+                    this::release);
+            return guarded
+                    .takeUntilOther(current.cancelled.asMono())
+                    .switchIfEmpty(Mono.defer(() -> current.isCancelled() ? onCancelled : Mono.empty()))
+                    .doFinally(signal -> exit());
+        });
+    }
+
+    /**
+     * 标记当前步骤失败（启用快速失败时取消同一步骤的其他调用）
+     */
+    public void fail() {
+        Step current;
+        synchronized (this) {
+            current = step;
+        }
+        if (failFast && current != null) {
+            current.cancel();
+        }
+    }
+
+    private synchronized Step enter() {
+        if (active++ == 0) {
+            step = new Step();
+        }
+        return step;
+    }
+
+    private synchronized void exit() {
+        active--;
+    }
+
+    private Mono<Integer> acquire(int permits) {
+        return Mono.<Integer>create(sink -> {
+            Waiter waiter = new Waiter(permits, sink);
+            boolean granted = false;
+            synchronized (this) {
+                if (waiters.isEmpty() && available >= permits) {
+                    available -= permits;
+                    granted = true;
+                } else {
+                    waiters.addLast(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(permits);
+            } else {
+                sink.onCancel(() -> removeWaiter(waiter));
+            }
+        })
+                // 名额发放时调用已被取消，名额被丢弃，在此归还
+                .doOnDiscard(Integer.class, this::releasePermits);
+    }
+
+    private Mono<Void> release(int permits) {
+        return Mono.fromRunnable(() -> releasePermits(permits));
+    }
+
+    private void releasePermits(int permits) {
+        Deque<Waiter> granted = new ArrayDeque<>();
+        synchronized (this) {
+            available += permits;
+            // 按到达顺序放行，队首名额不足时停止，避免独占调用饿死
+            while (!waiters.isEmpty() && available >= waiters.peekFirst().permits) {
+                Waiter waiter = waiters.pollFirst();
+                available -= waiter.permits;
+                granted.add(waiter);
+            }
+        }
+        for (Waiter waiter : granted) {
+            waiter.sink.success(waiter.permits);
+        }
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * 排队中的调用
+     */
+    private record Waiter(int permits, MonoSink<Integer> sink) {
+    }
+
+    /**
+     * 步骤（一组执行时间重叠的工具调用）
+     */
+    private static final class Step {
+
+        private final Sinks.Empty<Void> cancelled = Sinks.empty();
+        private volatile boolean cancelledFlag;
+
+        private void cancel() {
+            cancelledFlag = true;
+            cancelled.tryEmitEmpty();
+        }
+
+        private boolean isCancelled() {
+            return cancelledFlag;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.lumina.agent.tool;
 import lombok.Data;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * 工具定义
@@ -47,6 +48,31 @@ public class ToolDefinition implements Serializable {
      */
     private boolean enabled;
 
+    /**
+     * 是否可与同一步骤的其他工具调用并发执行
+     */
+    private boolean parallelSafe = true;
+
+    /**
+     * 执行超时时间（毫秒，0 表示使用分类配置）
+     */
+    private long timeout;
+
+    /**
+     * 是否缓存执行结果
+     */
+    private boolean cacheable;
+
+    /**
+     * 缓存有效期（秒，0 表示只在同一次执行内去重）
+     */
+    private long cacheTtl;
+
+    /**
+     * 执行成功后需要清除缓存的工具名称
+     */
+    private List<String> invalidates = List.of();
+
     /**
      * 工具执行器接口
      */
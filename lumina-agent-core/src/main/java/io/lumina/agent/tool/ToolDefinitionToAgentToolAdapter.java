@@ -4,17 +4,33 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.tool.AgentTool;
 import io.agentscope.core.tool.ToolCallParam;
+import io.lumina.agent.engine.cache.ToolResultCache;
+import io.lumina.agent.engine.deadline.Deadline;
+import io.lumina.agent.engine.metrics.RunMetrics;
+import io.lumina.agent.engine.trace.RunTimeline;
+import io.lumina.agent.executor.ToolBulkhead;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ToolDefinition 到 AgentTool 的适配器
  *
  * <p>将 Lumina 的 ToolDefinition 适配为 AgentScope 的 AgentTool 接口实现。
  * 这样可以将 EnhancedToolManager 管理的工具动态注册到 AgentScope Toolkit。
+ * <p>参数 Schema 在构造时解析一次，适配器实例可以在多个工具集快照之间共享。
+ * <p>指定 {@link ToolBulkhead} 时，工具在所在分类的执行器上运行，并受工具（或分类）超时时间限制；
+ * 执行器繁忙或执行超时均以错误结果返回给模型。
+ * <p>工具捕获异常后返回 {@code success=false} 的结果时记为失败（状态 failed）：结果照常返回给模型，
+ * 但不写入工具结果缓存，也不触发写工具的缓存清除。
  *
  * @author Lumina Team
  * @since 1.0.0
@@ -22,14 +38,45 @@ import java.util.Map;
 @Slf4j
 public class ToolDefinitionToAgentToolAdapter implements AgentTool {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String STATUS_SUCCESS = "success";
+    private static final String STATUS_ERROR = "error";
+    private static final String STATUS_FAILED = "failed";
+    private static final String STATUS_TIMEOUT = "timeout";
+    private static final String STATUS_SKIPPED = "skipped";
+    private static final String STATUS_CANCELLED = "cancelled";
+    private static final String STATUS_CACHED = "cached";
+    private static final String STATUS_REJECTED = "rejected";
+
     private final ToolDefinition toolDefinition;
-    private final ObjectMapper objectMapper;
-    private Map<String, Object> parametersSchema;
+    private final Map<String, Object> parametersSchema;
+    private final Scheduler scheduler;
+    private final ToolBulkhead bulkhead;
+    private final Duration timeout;
+    private final ToolResultCache resultCache;
 
-    public ToolDefinitionToAgentToolAdapter(ToolDefinition toolDefinition) {
+    /**
+     * @param toolDefinition 工具定义
+     * @param scheduler      工具执行使用的调度器（未指定舱壁时使用）
+     * @param bulkhead       工具所在分类的执行舱壁（为空时不隔离、不限制单次执行时间）
+     * @param resultCache    工具结果缓存（为空时不缓存）
+     */
+    public ToolDefinitionToAgentToolAdapter(ToolDefinition toolDefinition, Scheduler scheduler,
+                                            ToolBulkhead bulkhead, ToolResultCache resultCache) {
         this.toolDefinition = toolDefinition;
-        this.objectMapper = new ObjectMapper();
-        this.parametersSchema = parseParametersSchema(toolDefinition);
+        this.parametersSchema = Collections.unmodifiableMap(parseParametersSchema(toolDefinition));
+        this.scheduler = bulkhead != null ? bulkhead.getScheduler() : scheduler;
+        this.bulkhead = bulkhead;
+        this.timeout = bulkhead != null ? bulkhead.resolveTimeout(toolDefinition) : null;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * 获取被适配的工具定义
+     */
+    public ToolDefinition getToolDefinition() {
+        return toolDefinition;
     }
 
     @Override
@@ -49,28 +96,147 @@ public class ToolDefinitionToAgentToolAdapter implements AgentTool {
         return parametersSchema;
     }
 
+    /**
+     * 执行工具
+     *
+     * <p>调用链中携带 {@link Deadline} 时，按剩余时间限制工具执行：已超时则不再执行，
+     * 执行中超时则取消（中断执行线程）并返回错误结果。
+     * <p>调用链中携带 {@link RunMetrics} / {@link RunTimeline} 时记录工具调用耗时、参数大小和状态。
+     * <p>调用链中携带 {@link ToolCallScope} 时，同一步骤的工具调用按作用域的并发上限并发执行，
+     * 不可并行的工具独占执行；调用失败时取消同一步骤中的其他调用。
+     * <p>配置了 {@link ToolResultCache} 时，可缓存工具的调用先查缓存（命中时状态记为 cached），
+     * 写工具执行成功后清除相关工具的缓存结果。
+     */
     @Override
     public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
-        return Mono.fromCallable(() -> {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.fromContext(context);
+            RunMetrics metrics = RunMetrics.fromContext(context);
+            RunTimeline timeline = RunTimeline.fromContext(context);
+
+            String paramsJson;
             try {
-                // 从 ToolCallParam 中提取参数
-                Map<String, Object> input = param.getInput();
-                if (input == null && param.getToolUseBlock() != null) {
-                    input = param.getToolUseBlock().getInput();
+                paramsJson = toParamsJson(param);
+            } catch (Exception e) {
+                log.error("工具参数序列化失败: {}", getName(), e);
+                return Mono.just(ToolResultBlock.error("工具参数序列化失败: " + getName()));
+            }
+
+            long startNanos = System.nanoTime();
+            if (deadline != null && deadline.isExpired()) {
+                log.warn("执行已超时，跳过工具调用: {}", getName());
+                if (timeline != null) {
+                    timeline.recordToolCall(getName(), paramsJson.length(), startNanos, 0, STATUS_SKIPPED);
                 }
+                return Mono.just(ToolResultBlock.error("执行已超时，跳过工具调用: " + getName()));
+            }
 
-                // 将参数转换为 JSON 字符串
-                String paramsJson;
-                if (input != null && !input.isEmpty()) {
-                    paramsJson = objectMapper.writeValueAsString(input);
-                } else {
-                    paramsJson = "{}";
+            AtomicReference<String> status = new AtomicReference<>(STATUS_SUCCESS);
+            Mono<ToolResultBlock> call = doCallAsync(paramsJson, status);
+            if (resultCache != null) {
+                call = resultCache.execute(toolDefinition, paramsJson, context, call,
+                        () -> STATUS_SUCCESS.equals(status.get()), () -> status.set(STATUS_CACHED));
+            }
+            ToolCallScope scope = ToolCallScope.fromContext(context);
+            if (scope != null) {
+                call = scope.run(call, !toolDefinition.isParallelSafe(), Mono.fromSupplier(() -> {
+                            log.debug("同一步骤的其他工具调用失败，取消工具调用: {}", getName());
+                            status.set(STATUS_CANCELLED);
+                            return ToolResultBlock.error("同一步骤的其他工具调用失败，已取消: " + getName());
+                        }))
+                        .doOnNext(result -> {
+                            if (isFailure(status.get())) {
+                                scope.fail();
+                            }
+                        });
+            }
+            if (deadline != null) {
+                call = call.timeout(deadline.remaining(), Mono.fromSupplier(() -> {
+                    log.warn("工具执行超时: {}", getName());
+                    status.set(STATUS_TIMEOUT);
+                    return ToolResultBlock.error("工具执行超时: " + getName());
+                }));
+            }
+            if (metrics == null && timeline == null) {
+                return call;
+            }
+            return call.doFinally(signal -> {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                if (metrics != null) {
+                    metrics.recordToolCall(elapsedNanos);
                 }
+                if (timeline != null) {
+                    timeline.recordToolCall(getName(), paramsJson.length(), startNanos, elapsedNanos,
+                            signal == SignalType.CANCEL ? STATUS_CANCELLED : status.get());
+                }
+            });
+        });
+    }
 
+    /**
+     * 是否为失败状态（执行失败、超时或执行器繁忙）
+     */
+    private static boolean isFailure(String status) {
+        return STATUS_ERROR.equals(status) || STATUS_TIMEOUT.equals(status) || STATUS_REJECTED.equals(status);
+    }
+
+    /**
+     * 工具是否以返回值报告失败（Map 结果中 success 为 false）
+     */
+    private static boolean reportsFailure(Object result) {
+        return result instanceof Map<?, ?> map && Boolean.FALSE.equals(map.get("success"));
+    }
+
+    /**
+     * 将工具调用参数转换为 JSON 字符串
+     */
+    private String toParamsJson(ToolCallParam param) throws Exception {
+        // 从 ToolCallParam 中提取参数
+        Map<String, Object> input = param.getInput();
+        if (input == null && param.getToolUseBlock() != null) {
+            input = param.getToolUseBlock().getInput();
+        }
+
+        if (input != null && !input.isEmpty()) {
+            return OBJECT_MAPPER.writeValueAsString(input);
+        }
+        return "{}";
+    }
+
+    /**
+     * 在执行器上执行工具（指定舱壁时限制执行时间，执行器繁忙时快速返回）
+     */
+    private Mono<ToolResultBlock> doCallAsync(String paramsJson, AtomicReference<String> status) {
+        Mono<ToolResultBlock> call = executeOnScheduler(paramsJson, status);
+        if (bulkhead == null) {
+            return call;
+        }
+        if (timeout != null) {
+            call = call.timeout(timeout, Mono.fromSupplier(() -> {
+                log.warn("工具执行超时: {}, timeout={}ms", getName(), timeout.toMillis());
+                bulkhead.recordTimeout();
+                status.set(STATUS_TIMEOUT);
+                return ToolResultBlock.error("工具执行超时（" + timeout.toMillis() + "ms）: " + getName());
+            }));
+        }
+        return call.onErrorResume(RejectedExecutionException.class, e -> {
+            log.warn("工具执行器繁忙，拒绝工具调用: {}, category={}", getName(), bulkhead.getCategory());
+            bulkhead.recordRejected();
+            status.set(STATUS_REJECTED);
+            return Mono.just(ToolResultBlock.error("工具执行繁忙，请稍后重试: " + getName()));
+        });
+    }
+
+    private Mono<ToolResultBlock> executeOnScheduler(String paramsJson, AtomicReference<String> status) {
+        return Mono.fromCallable(() -> {
+            try {
                 log.debug("执行工具: {}, 参数: {}", getName(), paramsJson);
 
                 // 执行工具
                 Object result = toolDefinition.execute(paramsJson);
+                if (reportsFailure(result)) {
+                    status.set(STATUS_FAILED);
+                }
 
                 // 转换结果为字符串
                 String resultString;
@@ -79,7 +245,7 @@ public class ToolDefinitionToAgentToolAdapter implements AgentTool {
                 } else if (result instanceof String) {
                     resultString = (String) result;
                 } else {
-                    resultString = objectMapper.writeValueAsString(result);
+                    resultString = OBJECT_MAPPER.writeValueAsString(result);
                 }
 
                 log.debug("工具执行完成: {}, 结果: {}", getName(), 
@@ -91,12 +257,13 @@ public class ToolDefinitionToAgentToolAdapter implements AgentTool {
 
             } catch (Exception e) {
                 log.error("工具执行失败: {}", getName(), e);
+                status.set(STATUS_ERROR);
                 String errorMessage = e.getMessage() != null 
                         ? e.getMessage() 
                         : "工具执行失败: " + e.getClass().getSimpleName();
                 return ToolResultBlock.error(errorMessage);
             }
-        }).subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic());
+        }).subscribeOn(scheduler);
     }
 
     /**
@@ -108,7 +275,7 @@ public class ToolDefinitionToAgentToolAdapter implements AgentTool {
         if (definition.getParameters() != null && !definition.getParameters().isEmpty()) {
             try {
                 @SuppressWarnings("unchecked")
-                Map<String, Object> parsed = objectMapper.readValue(
+                Map<String, Object> parsed = OBJECT_MAPPER.readValue(
                         definition.getParameters(),
                         Map.class
                 );
@@ -0,0 +1,185 @@
+package io.lumina.agent.engine.coalesce;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.model.ExecuteResult;
+import io.lumina.agent.support.ControlledMono;
+import io.lumina.agent.support.Recorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 请求合并器测试
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+class RequestCoalescerTest {
+
+    private static final String BUSINESS_TYPE = "test";
+    private static final String REQUEST_KEY = "tenant-1:prompt";
+
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        LuminaAgentProperties agentProperties = new LuminaAgentProperties();
+        agentProperties.getCoalesce().setEnabled(true);
+        agentProperties.getCoalesce().setMaxFollowers(1);
+        coalescer = new RequestCoalescer(agentProperties);
+    }
+
+    @Test
+    void followersShareLeaderExecution() {
+        ControlledMono<ExecuteResult> execution = new ControlledMono<>();
+        Recorder<ExecuteResult> leader = execute(execution);
+        Recorder<ExecuteResult> follower = execute(execution);
+        assertEquals(1, execution.getSubscriptions());
+        assertEquals(1, coalescer.getInFlight());
+
+        execution.complete(ExecuteResult.success("ok"));
+
+        assertEquals("ok", leader.await().getResult());
+        assertEquals("ok", follower.await().getResult());
+        assertNotSame(leader.getValue(), follower.getValue());
+        assertEquals(true, follower.getValue().getMetadata().get("coalesced"));
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void followersBeyondCapRunIndependently() {
+        ControlledMono<ExecuteResult> execution = new ControlledMono<>();
+        execute(execution);
+        execute(execution);
+        execute(execution);
+
+        assertEquals(2, execution.getSubscriptions());
+        Map<String, Object> stats = stats();
+        assertEquals(1L, stats.get("leaders"));
+        assertEquals(1L, stats.get("followers"));
+        assertEquals(1L, stats.get("overflows"));
+    }
+
+    @Test
+    void flightIsRemovedWhenExecutionFails() {
+        ControlledMono<ExecuteResult> failing = new ControlledMono<>();
+        Recorder<ExecuteResult> leader = execute(failing);
+
+        failing.fail(new IllegalStateException("boom"));
+
+        leader.await();
+        assertNotNull(leader.getError());
+        assertEquals(0, coalescer.getInFlight());
+
+        // 失败的执行不会被之后的请求复用
+        ControlledMono<ExecuteResult> retry = new ControlledMono<>();
+        execute(retry);
+        assertEquals(1, retry.getSubscriptions());
+        assertEquals(2L, stats().get("leaders"));
+    }
+
+    @Test
+    void leaderCancelDoesNotCancelExecutionSharedWithFollower() {
+        ControlledMono<ExecuteResult> execution = new ControlledMono<>();
+        Recorder<ExecuteResult> leader = execute(execution);
+        Recorder<ExecuteResult> follower = execute(execution);
+
+        leader.dispose();
+        assertFalse(execution.isCancelled());
+        assertEquals(1, coalescer.getInFlight());
+
+        execution.complete(ExecuteResult.success("ok"));
+        assertEquals("ok", follower.await().getResult());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void interruptedLeaderThreadDoesNotAbortExecutionSharedWithFollower() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        // 与引擎相同：共享执行在独立的执行器上运行，阻塞调用响应中断
+        Supplier<Mono<ExecuteResult>> execution = () -> Mono.fromCallable(() -> {
+                    try {
+                        release.await();
+                        return ExecuteResult.success("ok");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return ExecuteResult.failure("Agent 执行已取消");
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+
+        Thread leader = new Thread(() -> {
+            try {
+                coalescer.execute(BUSINESS_TYPE, REQUEST_KEY, execution).block();
+            } catch (RuntimeException e) {
+                // 领导者被中断，block() 抛出异常
+            }
+        });
+        leader.start();
+        awaitInFlight();
+        Recorder<ExecuteResult> follower = Recorder.subscribe(
+                coalescer.execute(BUSINESS_TYPE, REQUEST_KEY, execution));
+
+        // 模拟领导者客户端断开：请求线程被中断
+        leader.interrupt();
+        leader.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(leader.isAlive());
+
+        release.countDown();
+        assertEquals("ok", follower.await().getResult());
+    }
+
+    @Test
+    void flightIsCancelledAndRemovedWhenAllCallersCancel() {
+        ControlledMono<ExecuteResult> execution = new ControlledMono<>();
+        Recorder<ExecuteResult> leader = execute(execution);
+        Recorder<ExecuteResult> follower = execute(execution);
+
+        leader.dispose();
+        assertFalse(execution.isCancelled());
+        follower.dispose();
+
+        assertTrue(execution.isCancelled());
+        assertEquals(0, coalescer.getInFlight());
+
+        // 已取消的执行不会被之后的请求复用
+        ControlledMono<ExecuteResult> next = new ControlledMono<>();
+        Recorder<ExecuteResult> nextLeader = execute(next);
+        assertEquals(1, next.getSubscriptions());
+        next.complete(ExecuteResult.success("next"));
+        assertEquals("next", nextLeader.await().getResult());
+    }
+
+    private Recorder<ExecuteResult> execute(ControlledMono<ExecuteResult> execution) {
+        return Recorder.subscribe(coalescer.execute(BUSINESS_TYPE, REQUEST_KEY, execution));
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getInFlight() == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("等待合并请求开始超时");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private Map<String, Object> stats() {
+        return coalescer.getStats().stream()
+                .filter(map -> BUSINESS_TYPE.equals(map.get("businessType")))
+                .findFirst()
+                .orElseThrow();
+    }
+}
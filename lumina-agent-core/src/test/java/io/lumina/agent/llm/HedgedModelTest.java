@@ -0,0 +1,97 @@
+package io.lumina.agent.llm;
+
+import io.agentscope.core.model.ChatResponse;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.support.StubModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 对冲请求模型客户端测试
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+class HedgedModelTest {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final ChatResponse PRIMARY_RESPONSE = StubModel.response("primary");
+    private static final ChatResponse BACKUP_RESPONSE = StubModel.response("backup");
+
+    private LuminaAgentProperties.HedgeConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new LuminaAgentProperties.HedgeConfig();
+        config.setEnabled(true);
+        config.setInitialDelay(20L);
+        config.setMaxHedgeRatio(1.0);
+        // 样本数达不到下限，对冲延迟固定为 initialDelay
+        config.setMinSamples(1000);
+    }
+
+    @Test
+    void primaryWinsBeforeHedgeDelay() {
+        config.setInitialDelay(1000L);
+        StubModel primary = new StubModel("primary", () -> Flux.just(PRIMARY_RESPONSE));
+        StubModel backup = new StubModel("backup", () -> Flux.just(BACKUP_RESPONSE));
+        HedgedModel model = new HedgedModel(primary, backup, config);
+
+        assertEquals(List.of(PRIMARY_RESPONSE), call(model));
+        assertEquals(0, backup.getCalls());
+        assertEquals(0L, model.getStats().get("hedged"));
+    }
+
+    @Test
+    void backupWinsAndSlowPrimaryIsCancelled() {
+        StubModel primary = new StubModel("primary", Flux::never);
+        StubModel backup = new StubModel("backup", () -> Flux.just(BACKUP_RESPONSE));
+        HedgedModel model = new HedgedModel(primary, backup, config);
+
+        assertEquals(List.of(BACKUP_RESPONSE), call(model));
+        assertEquals(1, primary.getCancellations());
+
+        Map<String, Object> stats = model.getStats();
+        assertEquals(1L, stats.get("hedged"));
+        assertEquals(1L, stats.get("hedgeWins"));
+    }
+
+    @Test
+    void hedgesAreCappedByRatioAndLosingBackupIsCancelled() {
+        config.setMaxHedgeRatio(0.5);
+        StubModel primary = new StubModel("primary",
+                () -> Mono.delay(Duration.ofMillis(200)).thenReturn(PRIMARY_RESPONSE).flux());
+        StubModel backup = new StubModel("backup", Flux::never);
+        HedgedModel model = new HedgedModel(primary, backup, config);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(List.of(PRIMARY_RESPONSE), call(model));
+        }
+
+        // 每个主请求积累 0.5 个额度，4 个请求最多对冲 2 次
+        assertEquals(2, backup.getCalls());
+        assertEquals(2, backup.getCancellations());
+
+        Map<String, Object> stats = model.getStats();
+        assertEquals(4L, stats.get("requests"));
+        assertEquals(2L, stats.get("hedged"));
+        assertEquals(2L, stats.get("throttled"));
+        assertEquals(0L, stats.get("hedgeWins"));
+    }
+
+    private static List<ChatResponse> call(HedgedModel model) {
+        return model.stream(Collections.emptyList(), Collections.emptyList(), null)
+                .collectList()
+                .block(BLOCK_TIMEOUT);
+    }
+}
@@ -0,0 +1,154 @@
+package io.lumina.agent.llm;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 模型熔断器测试
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+class ModelCircuitBreakerTest {
+
+    private static final long OPEN_DURATION = 50L;
+    private static final long SLOW_CALL_DURATION = 1000L;
+
+    private LuminaAgentProperties.CircuitBreakerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new LuminaAgentProperties.CircuitBreakerConfig();
+        config.setWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50.0);
+        config.setSlowCallRateThreshold(100.0);
+        config.setSlowCallDuration(SLOW_CALL_DURATION);
+        config.setOpenDuration(OPEN_DURATION);
+        config.setHalfOpenProbes(2);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker("test", config);
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(10, true);
+        }
+
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker("test", config);
+        breaker.onResult(10, false);
+        breaker.onResult(10, false);
+        breaker.onResult(10, true);
+        breaker.onResult(10, true);
+
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquirePermission());
+        assertTrue(breaker.getRetryAfterMillis() > 0);
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() {
+        config.setSlowCallRateThreshold(50.0);
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker("test", config);
+        breaker.onResult(10, false);
+        breaker.onResult(10, false);
+        breaker.onResult(SLOW_CALL_DURATION, false);
+        breaker.onResult(SLOW_CALL_DURATION, false);
+
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAfterOpenDurationAdmitsLimitedProbes() {
+        ModelCircuitBreaker breaker = openBreakerPastOpenDuration();
+
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(ModelCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void closesWhenAllProbesSucceed() {
+        ModelCircuitBreaker breaker = openBreakerPastOpenDuration();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(10, false);
+        assertEquals(ModelCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(10, false);
+
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+        // 恢复后重新统计，之前窗口中的失败不再计入
+        breaker.onResult(10, true);
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        ModelCircuitBreaker breaker = openBreakerPastOpenDuration();
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(10, true);
+
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void ignoredProbeReleasesItsSlot() {
+        ModelCircuitBreaker breaker = openBreakerPastOpenDuration();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void cancelledCallCountsOnlyWhenSlow() {
+        config.setSlowCallRateThreshold(50.0);
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker("test", config);
+        breaker.onResult(10, false);
+        breaker.onResult(10, false);
+        breaker.onCancelled(10);
+        breaker.onCancelled(SLOW_CALL_DURATION);
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onCancelled(SLOW_CALL_DURATION);
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    /**
+     * 熔断后等待熔断持续时间结束（下一次申请许可时进入半开状态）
+     */
+    private ModelCircuitBreaker openBreakerPastOpenDuration() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker("test", config);
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(10, true);
+        }
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+        try {
+            Thread.sleep(OPEN_DURATION * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+        return breaker;
+    }
+}
@@ -0,0 +1,49 @@
+package io.lumina.agent.support;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 手动完成的 Mono（测试用）
+ *
+ * <p>每次 {@link #get()} 返回订阅同一结果的 Mono，记录订阅和取消次数，由测试决定何时完成或失败。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class ControlledMono<T> implements Supplier<Mono<T>> {
+
+    private final Sinks.One<T> sink = Sinks.one();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger cancellations = new AtomicInteger();
+
+    @Override
+    public Mono<T> get() {
+        return sink.asMono()
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet())
+                .doOnCancel(cancellations::incrementAndGet);
+    }
+
+    public void complete(T value) {
+        sink.tryEmitValue(value);
+    }
+
+    public void fail(Throwable error) {
+        sink.tryEmitError(error);
+    }
+
+    public int getSubscriptions() {
+        return subscriptions.get();
+    }
+
+    public boolean isStarted() {
+        return subscriptions.get() > 0;
+    }
+
+    public boolean isCancelled() {
+        return cancellations.get() > 0;
+    }
+}
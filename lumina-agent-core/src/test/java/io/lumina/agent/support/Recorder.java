@@ -0,0 +1,78 @@
+package io.lumina.agent.support;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订阅结果记录器（测试用）
+ *
+ * <p>订阅 Mono 并记录结果或异常，可等待结束（跨线程执行时使用）或取消订阅。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class Recorder<T> {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile T value;
+    private volatile Throwable error;
+    private Disposable disposable;
+
+    private Recorder() {
+    }
+
+    /**
+     * 订阅并记录结果
+     */
+    public static <T> Recorder<T> subscribe(Mono<T> mono) {
+        Recorder<T> recorder = new Recorder<>();
+        recorder.disposable = mono.subscribe(
+                result -> recorder.value = result,
+                e -> {
+                    recorder.error = e;
+                    recorder.done.countDown();
+                },
+                recorder.done::countDown);
+        return recorder;
+    }
+
+    /**
+     * 等待结束（完成或失败）
+     *
+     * @return 结果
+     * @throws AssertionError 超时未结束时抛出
+     */
+    public T await() {
+        try {
+            if (!done.await(DEFAULT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new AssertionError("等待结果超时: " + DEFAULT_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("等待结果被中断", e);
+        }
+        return value;
+    }
+
+    public void dispose() {
+        disposable.dispose();
+    }
+
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
@@ -0,0 +1,67 @@
+package io.lumina.agent.support;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.Msg;
+import io.agentscope.core.model.ToolSchema;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 桩模型（测试用）
+ *
+ * <p>按给定的响应流返回结果，记录调用和取消次数。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class StubModel implements Model {
+
+    private final String name;
+    private final Supplier<Flux<ChatResponse>> responses;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger cancellations = new AtomicInteger();
+
+    public StubModel(String name, Supplier<Flux<ChatResponse>> responses) {
+        this.name = name;
+        this.responses = responses;
+    }
+
+    /**
+     * 构建只含一段文本的响应
+     */
+    public static ChatResponse response(String text) {
+        return ChatResponse.builder()
+                .id(text)
+                .content(Collections.singletonList(TextBlock.builder().text(text).build()))
+                .build();
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+        return Flux.defer(() -> {
+                    calls.incrementAndGet();
+                    return responses.get();
+                })
+                .doOnCancel(cancellations::incrementAndGet);
+    }
+
+    @Override
+    public String getModelName() {
+        return name;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getCancellations() {
+        return cancellations.get();
+    }
+}
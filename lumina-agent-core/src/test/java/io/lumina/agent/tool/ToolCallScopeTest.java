@@ -0,0 +1,128 @@
+package io.lumina.agent.tool;
+
+import io.lumina.agent.support.ControlledMono;
+import io.lumina.agent.support.Recorder;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 工具调用作用域测试
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+class ToolCallScopeTest {
+
+    private static final String CANCELLED = "cancelled";
+
+    @Test
+    void parallelSafeCallsRunUpToMaxParallelism() {
+        ToolCallScope scope = new ToolCallScope(2, false);
+        ControlledMono<String> a = new ControlledMono<>();
+        ControlledMono<String> b = new ControlledMono<>();
+        ControlledMono<String> c = new ControlledMono<>();
+        Recorder<String> resultA = run(scope, a, false);
+        run(scope, b, false);
+        Recorder<String> resultC = run(scope, c, false);
+
+        assertTrue(a.isStarted());
+        assertTrue(b.isStarted());
+        assertFalse(c.isStarted());
+
+        a.complete("a");
+        assertEquals("a", resultA.await());
+        assertTrue(c.isStarted());
+
+        c.complete("c");
+        assertEquals("c", resultC.await());
+    }
+
+    @Test
+    void exclusiveCallWaitsForRunningCallsAndRunsAlone() {
+        ToolCallScope scope = new ToolCallScope(3, false);
+        ControlledMono<String> a = new ControlledMono<>();
+        ControlledMono<String> b = new ControlledMono<>();
+        ControlledMono<String> exclusive = new ControlledMono<>();
+        ControlledMono<String> c = new ControlledMono<>();
+        run(scope, a, false);
+        run(scope, b, false);
+        Recorder<String> exclusiveResult = run(scope, exclusive, true);
+        Recorder<String> resultC = run(scope, c, false);
+
+        assertTrue(a.isStarted());
+        assertTrue(b.isStarted());
+        assertFalse(exclusive.isStarted());
+        // 按到达顺序放行：排在独占调用之后的调用不能插队
+        assertFalse(c.isStarted());
+
+        a.complete("a");
+        assertFalse(exclusive.isStarted());
+        assertFalse(c.isStarted());
+
+        b.complete("b");
+        assertTrue(exclusive.isStarted());
+        assertFalse(c.isStarted());
+
+        exclusive.complete("exclusive");
+        assertEquals("exclusive", exclusiveResult.await());
+        assertTrue(c.isStarted());
+
+        c.complete("c");
+        assertEquals("c", resultC.await());
+    }
+
+    @Test
+    void failFastCancelsRunningAndQueuedCallsInStep() {
+        ToolCallScope scope = new ToolCallScope(2, true);
+        ControlledMono<String> a = new ControlledMono<>();
+        ControlledMono<String> b = new ControlledMono<>();
+        ControlledMono<String> queued = new ControlledMono<>();
+        Recorder<String> resultA = run(scope, a, false);
+        Recorder<String> resultB = run(scope, b, false);
+        Recorder<String> queuedResult = run(scope, queued, false);
+
+        scope.fail();
+
+        assertTrue(a.isCancelled());
+        assertTrue(b.isCancelled());
+        assertEquals(CANCELLED, resultA.await());
+        assertEquals(CANCELLED, resultB.await());
+        assertEquals(CANCELLED, queuedResult.await());
+        assertEquals(queued.isStarted(), queued.isCancelled());
+
+        // 步骤内的调用全部结束后，下一个调用开启新步骤，不受之前失败的影响
+        ControlledMono<String> next = new ControlledMono<>();
+        Recorder<String> nextResult = run(scope, next, false);
+        assertTrue(next.isStarted());
+        next.complete("next");
+        assertEquals("next", nextResult.await());
+    }
+
+    @Test
+    void failWithoutFailFastLeavesOtherCallsRunning() {
+        ToolCallScope scope = new ToolCallScope(2, false);
+        ControlledMono<String> a = new ControlledMono<>();
+        ControlledMono<String> b = new ControlledMono<>();
+        Recorder<String> resultA = run(scope, a, false);
+        Recorder<String> resultB = run(scope, b, false);
+
+        scope.fail();
+
+        assertFalse(a.isCancelled());
+        assertFalse(b.isCancelled());
+        assertFalse(resultA.isDone());
+
+        a.complete("a");
+        b.complete("b");
+        assertEquals("a", resultA.await());
+        assertEquals("b", resultB.await());
+    }
+
+    private static Recorder<String> run(ToolCallScope scope, ControlledMono<String> call, boolean exclusive) {
+        return Recorder.subscribe(scope.run(call.get(), exclusive, Mono.just(CANCELLED)));
+    }
+}
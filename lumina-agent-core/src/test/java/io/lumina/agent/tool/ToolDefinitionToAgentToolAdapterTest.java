@@ -0,0 +1,71 @@
+package io.lumina.agent.tool;
+
+import io.agentscope.core.tool.ToolCallParam;
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.engine.cache.ToolResultCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 工具适配器与工具结果缓存测试
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+class ToolDefinitionToAgentToolAdapterTest {
+
+    private ToolResultCache resultCache;
+    private ToolCallParam param;
+
+    @BeforeEach
+    void setUp() {
+        LuminaAgentProperties agentProperties = new LuminaAgentProperties();
+        agentProperties.getToolCache().setEnabled(true);
+        resultCache = new ToolResultCache(agentProperties);
+
+        param = mock(ToolCallParam.class);
+        when(param.getInput()).thenReturn(Map.of("userId", 1L));
+    }
+
+    @Test
+    void successfulResultOfCacheableToolIsServedFromCache() {
+        AtomicInteger executions = new AtomicInteger();
+        ToolDefinitionToAgentToolAdapter adapter = cacheableTool(executions, Map.of("success", true, "userId", 1L));
+
+        adapter.callAsync(param).block();
+        adapter.callAsync(param).block();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void resultReportingFailureIsNotCached() {
+        AtomicInteger executions = new AtomicInteger();
+        // 与 getUser 相同：工具捕获异常后返回 success=false
+        ToolDefinitionToAgentToolAdapter adapter = cacheableTool(executions,
+                Map.of("success", false, "error", "数据库连接超时"));
+
+        adapter.callAsync(param).block();
+        adapter.callAsync(param).block();
+
+        assertEquals(2, executions.get());
+    }
+
+    private ToolDefinitionToAgentToolAdapter cacheableTool(AtomicInteger executions, Map<String, Object> result) {
+        ToolDefinition definition = ToolDefinition.create("base.getUser", "查询用户", "base.user", params -> {
+            executions.incrementAndGet();
+            return result;
+        });
+        definition.setCacheable(true);
+        definition.setCacheTtl(60);
+        return new ToolDefinitionToAgentToolAdapter(definition, Schedulers.immediate(), null, resultCache);
+    }
+}
@@ -0,0 +1,151 @@
+package io.lumina.benchmark.agent;
+
+import io.lumina.agent.manager.EnhancedToolManager;
+import io.lumina.agent.tool.AgentTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工具参数解析与工具调度基准测试
+ *
+ * <p>工具通过 {@link EnhancedToolManager#scanAndRegisterTools()} 扫描注册，调度路径与生产一致
+ * （JSON 参数解析、按参数名匹配、类型转换、反射调用）。
+ * <ul>
+ *     <li>{@code shape}：工具签名（单个 Long 参数 / 4 个标量参数 / 单个 Map 参数 / 嵌套对象列表）</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnhancedToolManagerBenchmark {
+
+    @Param({"single", "scalars", "map", "nested"})
+    public String shape;
+
+    private GenericApplicationContext applicationContext;
+    private EnhancedToolManager toolManager;
+    private MethodHandle parseParameters;
+    private Method toolMethod;
+    private String toolName;
+    private String params;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean(BenchmarkTools.class);
+        applicationContext.refresh();
+
+        toolManager = new EnhancedToolManager();
+        Field contextField = EnhancedToolManager.class.getDeclaredField("applicationContext");
+        contextField.setAccessible(true);
+        contextField.set(toolManager, applicationContext);
+        toolManager.scanAndRegisterTools();
+
+        Method parseMethod = EnhancedToolManager.class.getDeclaredMethod("parseParameters", String.class, Method.class);
+        parseMethod.setAccessible(true);
+        parseParameters = MethodHandles.lookup().unreflect(parseMethod);
+
+        switch (shape) {
+            case "single" -> {
+                toolName = "bench.getUser";
+                toolMethod = BenchmarkTools.class.getMethod("getUser", Long.class);
+                params = "{\"userId\": 10086}";
+            }
+            case "scalars" -> {
+                toolName = "bench.search";
+                toolMethod = BenchmarkTools.class.getMethod("search", String.class, Integer.class, Integer.class, Boolean.class);
+                params = "{\"keyword\": \"lumina agent\", \"page\": 2, \"size\": \"20\", \"fuzzy\": true}";
+            }
+            case "map" -> {
+                toolName = "bench.query";
+                toolMethod = BenchmarkTools.class.getMethod("query", Map.class);
+                params = "{\"tenantId\": 1, \"status\": \"ACTIVE\", \"tags\": [\"a\", \"b\", \"c\"], \"limit\": 50}";
+            }
+            case "nested" -> {
+                toolName = "bench.batch";
+                toolMethod = BenchmarkTools.class.getMethod("batch", String.class, List.class);
+                StringBuilder items = new StringBuilder();
+                for (int i = 0; i < 20; i++) {
+                    items.append(i == 0 ? "" : ",").append("{\"id\": ").append(i).append(", \"name\": \"item-").append(i).append("\"}");
+                }
+                params = "{\"operation\": \"update\", \"items\": [" + items + "]}";
+            }
+            default -> throw new IllegalArgumentException("未知的工具签名: " + shape);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * 仅参数解析
+     */
+    @Benchmark
+    public Object[] parseParameters() throws Throwable {
+        return (Object[]) parseParameters.invoke(toolManager, params, toolMethod);
+    }
+
+    /**
+     * 完整工具调度（查找工具、解析参数、反射调用）
+     */
+    @Benchmark
+    public Object executeTool() throws Exception {
+        return toolManager.executeTool(toolName, params);
+    }
+
+    /**
+     * 基准测试用工具
+     */
+    @RestController
+    public static class BenchmarkTools {
+
+        @AgentTool(name = "bench.getUser", description = "查询用户")
+        public Long getUser(Long userId) {
+            return userId;
+        }
+
+        @AgentTool(name = "bench.search", description = "搜索")
+        public String search(String keyword, Integer page, Integer size, Boolean fuzzy) {
+            return keyword;
+        }
+
+        @AgentTool(name = "bench.query", description = "条件查询")
+        public Map<String, Object> query(Map<String, Object> filter) {
+            return filter;
+        }
+
+        @AgentTool(name = "bench.batch", description = "批量操作")
+        public int batch(String operation, List<Object> items) {
+            return items != null ? items.size() : 0;
+        }
+    }
+}
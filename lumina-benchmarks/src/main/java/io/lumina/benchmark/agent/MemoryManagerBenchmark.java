@@ -0,0 +1,99 @@
+package io.lumina.benchmark.agent;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.manager.MemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话记忆读写基准测试
+ *
+ * <p>未注入 RedisTemplate，测量的是内存存储路径（记忆管理自身的开销，不含网络往返）。
+ * <ul>
+ *     <li>{@code historySize}：会话中已有的消息数</li>
+ *     <li>{@code messageChars}：单条消息长度（字符，影响 Token 估算）</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryManagerBenchmark {
+
+    private static final String SESSION_ID = "bench:session";
+
+    @Param({"10", "100"})
+    public int historySize;
+
+    @Param({"64", "1024"})
+    public int messageChars;
+
+    private MemoryManager memoryManager;
+    private List<MemoryManager.Memory> turn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LuminaAgentProperties properties = new LuminaAgentProperties();
+        properties.getMemory().setMaxSize(historySize);
+        memoryManager = new MemoryManager(properties);
+
+        String content = message(messageChars);
+        for (int i = 0; i < historySize; i++) {
+            memoryManager.addMemory(SESSION_ID, i % 2 == 0 ? "user" : "assistant", content);
+        }
+        turn = List.of(
+                new MemoryManager.Memory("user", content, System.currentTimeMillis()),
+                new MemoryManager.Memory("assistant", content, System.currentTimeMillis()));
+    }
+
+    /**
+     * 追加一轮对话（会话已满，每次追加都会裁剪最旧消息）
+     */
+    @Benchmark
+    public void addTurn() {
+        memoryManager.addMemories(SESSION_ID, turn);
+    }
+
+    /**
+     * 读取最近全部消息
+     */
+    @Benchmark
+    public List<MemoryManager.Memory> getRecentMemories() {
+        return memoryManager.getRecentMemories(SESSION_ID, historySize);
+    }
+
+    /**
+     * 读取 Token 预算内的历史（默认预算和条数）
+     */
+    @Benchmark
+    public List<MemoryManager.Memory> getHistory() {
+        return memoryManager.getHistory(SESSION_ID);
+    }
+
+    private static String message(int chars) {
+        String text = "Lumina 会话记忆基准测试消息 memory benchmark message ";
+        StringBuilder builder = new StringBuilder(chars);
+        for (int i = 0; i < chars; i++) {
+            builder.append(text.charAt(i % text.length()));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package io.lumina.benchmark.agent;
+
+import io.lumina.agent.config.LuminaAgentProperties;
+import io.lumina.agent.loader.PromptLoader;
+import io.lumina.agent.loader.PromptTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提示词模板填充基准测试
+ *
+ * <ul>
+ *     <li>{@code templateChars}：模板长度（字符）</li>
+ *     <li>{@code variables}：模板中的变量个数</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptLoaderBenchmark {
+
+    @Param({"256", "4096"})
+    public int templateChars;
+
+    @Param({"1", "8"})
+    public int variables;
+
+    private PromptLoader promptLoader;
+    private PromptTemplate compiled;
+    private String template;
+    private Object[] positional;
+    private Map<String, Object> named;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        promptLoader = new PromptLoader(new LuminaAgentProperties());
+
+        StringBuilder builder = new StringBuilder();
+        positional = new Object[variables];
+        named = new HashMap<>();
+        int segment = Math.max(1, templateChars / (variables + 1));
+        for (int i = 0; i < variables; i++) {
+            appendText(builder, segment);
+            builder.append('{').append(i).append('}');
+            positional[i] = "value-" + i;
+            named.put(Integer.toString(i), "value-" + i);
+        }
+        appendText(builder, segment);
+        template = builder.toString();
+        compiled = PromptTemplate.compile(template);
+    }
+
+    /**
+     * 按位置参数填充（经过内联模板缓存）
+     */
+    @Benchmark
+    public String fillTemplate() {
+        return promptLoader.fillTemplate(template, positional);
+    }
+
+    /**
+     * 预编译模板按位置参数渲染
+     */
+    @Benchmark
+    public String renderPositional() {
+        return compiled.renderPositional(positional);
+    }
+
+    /**
+     * 预编译模板按名称渲染
+     */
+    @Benchmark
+    public String renderNamed() {
+        return compiled.render(named);
+    }
+
+    private static void appendText(StringBuilder builder, int chars) {
+        String text = "You are a helpful assistant for the Lumina platform. ";
+        for (int i = 0; i < chars; i++) {
+            builder.append(text.charAt(i % text.length()));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.lumina.benchmark.base;
+
+import io.lumina.base.annotation.RequirePermission;
+import io.lumina.base.annotation.RequireRole;
+import io.lumina.base.interceptor.PermissionCheckInterceptor;
+import io.lumina.common.core.BaseContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限校验基准测试
+ *
+ * <p>所需权限位于用户权限列表末尾（最坏情况的线性查找）。
+ * <ul>
+ *     <li>{@code permissions}：用户拥有的权限数</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    private static final String REQUIRED_PERMISSION = "system:user:query";
+
+    @Param({"10", "100", "1000"})
+    public int permissions;
+
+    private PermissionCheckInterceptor interceptor;
+    private HandlerMethod permissionHandler;
+    private HandlerMethod roleAndPermissionHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        interceptor = new PermissionCheckInterceptor();
+        BenchmarkController controller = new BenchmarkController();
+        permissionHandler = new HandlerMethod(controller, BenchmarkController.class.getMethod("query"));
+        roleAndPermissionHandler = new HandlerMethod(controller, BenchmarkController.class.getMethod("update"));
+
+        String[] granted = new String[permissions];
+        for (int i = 0; i < permissions - 1; i++) {
+            granted[i] = "system:module" + i + ":query";
+        }
+        granted[permissions - 1] = REQUIRED_PERMISSION;
+        BaseContext.setTenantId(1L);
+        BaseContext.setRoles(new String[]{"USER", "TENANT_ADMIN"});
+        BaseContext.setPermissions(granted);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BaseContext.clear();
+    }
+
+    @Benchmark
+    public boolean hasPermission() {
+        return BaseContext.hasPermission(REQUIRED_PERMISSION);
+    }
+
+    @Benchmark
+    public boolean hasWildcardMiss() {
+        return BaseContext.hasPermission("system:tenant:delete");
+    }
+
+    @Benchmark
+    public boolean preHandlePermission() throws Exception {
+        return interceptor.preHandle(null, null, permissionHandler);
+    }
+
+    @Benchmark
+    public boolean preHandleRoleAndPermission() throws Exception {
+        return interceptor.preHandle(null, null, roleAndPermissionHandler);
+    }
+
+    /**
+     * 基准测试用处理器
+     */
+    public static class BenchmarkController {
+
+        @RequirePermission(REQUIRED_PERMISSION)
+        public void query() {
+        }
+
+        @RequireRole("TENANT_ADMIN")
+        @RequirePermission(value = {"system:user:update", REQUIRED_PERMISSION})
+        public void update() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.lumina.benchmark.base;
+
+import io.lumina.base.mybatis.TenantLineInterceptor;
+import io.lumina.common.core.BaseContext;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租户隔离 SQL 改写基准测试
+ *
+ * <p>每次调用构建新的 BoundSql（改写会修改 SQL），测量值包含 SQL 解析、表名提取、条件追加和 SQL 重新生成。
+ * <ul>
+ *     <li>{@code sql}：SQL 形态（简单查询 / 多表关联 / UNION / 不需要租户隔离的表 / 更新语句）</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantLineInterceptorBenchmark {
+
+    @Param({"simple", "join", "union", "global", "update"})
+    public String sql;
+
+    private TenantLineInterceptor interceptor;
+    private Configuration configuration;
+    private String statement;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        interceptor = new TenantLineInterceptor();
+        configuration = new Configuration();
+        BaseContext.setTenantId(1L);
+
+        statement = switch (sql) {
+            case "simple" -> "SELECT user_id, username, real_name, email, phone, status FROM lumina_user "
+                    + "WHERE username = ? AND deleted = 0";
+            case "join" -> "SELECT r.role_id, r.role_code, r.role_name FROM lumina_role r "
+                    + "INNER JOIN lumina_user_role ur ON r.role_id = ur.role_id "
+                    + "WHERE ur.user_id = ? AND r.deleted = 0 ORDER BY r.role_id";
+            case "union" -> "SELECT user_id, username FROM lumina_user WHERE status = 1 "
+                    + "UNION SELECT user_id, username FROM lumina_user WHERE status = 2";
+            case "global" -> "SELECT permission_id, permission_code, permission_name FROM lumina_permission "
+                    + "WHERE deleted = 0";
+            case "update" -> "UPDATE lumina_user SET real_name = ?, email = ?, update_time = ? WHERE user_id = ?";
+            default -> throw new IllegalArgumentException("未知的 SQL 形态: " + sql);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BaseContext.clear();
+    }
+
+    @Benchmark
+    public String beforeQuery() throws SQLException {
+        BoundSql boundSql = new BoundSql(configuration, statement, Collections.emptyList(), null);
+        interceptor.beforeQuery(null, null, null, null, null, boundSql);
+        return boundSql.getSql();
+    }
+}
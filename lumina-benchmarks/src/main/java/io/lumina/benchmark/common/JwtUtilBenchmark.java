@@ -0,0 +1,84 @@
+package io.lumina.benchmark.common;
+
+import io.lumina.common.core.LoginUser;
+import io.lumina.common.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 校验与解析基准测试
+ *
+ * <ul>
+ *     <li>{@code permissions}：Token 中携带的权限数（影响 Token 大小和解析开销）</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    @Param({"0", "20", "200"})
+    public int permissions;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secretKey", "lumina-secret-key-for-jwt-token-generation-must-be-long-enough");
+        setField(jwtUtil, "expirationTime", 604800000L);
+
+        List<String> permissionList = new ArrayList<>();
+        for (int i = 0; i < permissions; i++) {
+            permissionList.add("system:module" + i + ":query");
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 10086L);
+        claims.put("tenantId", 1L);
+        claims.put("roles", List.of("TENANT_ADMIN", "USER"));
+        claims.put("permissions", permissionList);
+        claims.put("nickname", "benchmark");
+        claims.put("email", "bench@lumina.io");
+        token = jwtUtil.generateToken("admin", claims);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public LoginUser parseTokenToLoginUser() {
+        return jwtUtil.parseTokenToLoginUser(token);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
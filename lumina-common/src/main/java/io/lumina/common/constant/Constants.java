@@ -38,6 +38,11 @@ public class Constants {
      */
     public static final Integer NOT_FOUND_CODE = 404;
 
+    /**
+     * 请求过多状态码（超出容量被拒绝）
+     */
+    public static final Integer TOO_MANY_REQUESTS_CODE = 429;
+
     /**
      * UTF-8 编码
      */
@@ -44,4 +44,11 @@ public class BusinessException extends BaseException {
     public static BusinessException conflict(String msg) {
         return new BusinessException(409, msg);
     }
+
+    /**
+     * 请求过多（超出容量被拒绝）
+     */
+    public static BusinessException tooManyRequests(String msg) {
+        return new BusinessException(429, msg);
+    }
 }
@@ -1,8 +1,14 @@
 package io.lumina.agent.api.controller;
 
+import io.lumina.agent.api.dto.BatchExecuteAgentDTO;
 import io.lumina.agent.api.dto.CreateAgentDTO;
 import io.lumina.agent.api.vo.AgentVO;
+import io.lumina.agent.config.LuminaAgentProperties;
 import io.lumina.agent.domain.model.Agent;
+import io.lumina.agent.domain.model.AgentJob;
+import io.lumina.agent.model.BatchItemResult;
+import io.lumina.agent.model.ExecuteChunk;
+import io.lumina.agent.service.AgentJobService;
 import io.lumina.agent.service.AgentService;
 import io.lumina.common.core.PageResult;
 import io.lumina.common.core.R;
@@ -11,8 +17,13 @@ import io.lumina.common.util.CollectionUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -30,9 +41,25 @@ import javax.validation.constraints.NotNull;
 @Validated
 public class AgentController {
 
+    /**
+     * 请求超时时间 Header（毫秒）
+     */
+    private static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    /**
+     * 异步请求超时时间相对执行截止时间上限的余量（毫秒），确保执行先于请求超时结束
+     */
+    private static final long ASYNC_TIMEOUT_MARGIN = 5000L;
+
     @Autowired
     private AgentService agentService;
 
+    @Autowired
+    private AgentJobService agentJobService;
+
+    @Autowired
+    private LuminaAgentProperties agentProperties;
+
     /**
      * 创建 Agent
      */
@@ -139,20 +166,105 @@ public class AgentController {
     }
 
     /**
-     * 执行 Agent
+     * 执行 Agent（可通过 X-Request-Timeout 指定超时时间，指定 sessionId 时进行多轮对话）
+     *
+     * <p>异步处理，不占用请求线程；客户端断开或请求超时时取消执行。
      */
     @PostMapping("/{id}/execute")
-    public R<String> executeAgent(
+    public DeferredResult<R<String>> executeAgent(
+            @PathVariable("id") Long id,
+            @RequestParam String task,
+            @RequestParam(required = false) String sessionId,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
+        log.info("执行 Agent: id={}, sessionId={}, task={}", id, sessionId, task);
+
+        if (task == null || task.trim().isEmpty()) {
+            throw new BusinessException("任务描述不能为空");
+        }
+
+        DeferredResult<R<String>> deferredResult = new DeferredResult<>(
+                agentProperties.getDeadline().getMaxTimeout() + ASYNC_TIMEOUT_MARGIN);
+        Disposable execution = agentService.executeAgent(id, task, sessionId, timeout)
+                .subscribe(result -> deferredResult.setResult(R.success(result)), deferredResult::setErrorResult);
+        // 客户端断开、请求超时或出错时取消执行（正常完成后取消无效果）
+        deferredResult.onError(e -> execution.dispose());
+        deferredResult.onCompletion(execution::dispose);
+        return deferredResult;
+    }
+
+    /**
+     * 流式执行 Agent（Server-Sent Events，客户端断开时取消执行）
+     */
+    @PostMapping(value = "/{id}/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ExecuteChunk>> streamAgent(
+            @PathVariable("id") Long id,
+            @RequestParam String task,
+            @RequestParam(required = false) String sessionId,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
+        log.info("流式执行 Agent: id={}, sessionId={}, task={}", id, sessionId, task);
+
+        if (task == null || task.trim().isEmpty()) {
+            throw new BusinessException("任务描述不能为空");
+        }
+
+        return agentService.streamAgent(id, task, sessionId, timeout)
+                .map(chunk -> ServerSentEvent.<ExecuteChunk>builder()
+                        .id(String.valueOf(chunk.getSequence()))
+                        .event(chunk.getType())
+                        .data(chunk)
+                        .build());
+    }
+
+    /**
+     * 批量执行 Agent（NDJSON，按完成顺序逐行返回）
+     */
+    @PostMapping(value = "/{id}/execute/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchItemResult> executeAgentBatch(
             @PathVariable("id") Long id,
-            @RequestParam String task) {
-        log.info("执行 Agent: id={}, task={}", id, task);
+            @RequestBody BatchExecuteAgentDTO dto,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
+        if (dto.getTasks() == null || dto.getTasks().isEmpty()) {
+            throw new BusinessException("任务列表不能为空");
+        }
+        log.info("批量执行 Agent: id={}, tasks={}, parallelism={}", id, dto.getTasks().size(), dto.getParallelism());
+
+        return agentService.executeAgentBatch(id, dto.getTasks(), dto.getParallelism(), timeout);
+    }
+
+    /**
+     * 清空会话记忆
+     */
+    @DeleteMapping("/{id}/sessions/{sessionId}")
+    public R<Void> clearSession(
+            @PathVariable("id") Long id,
+            @PathVariable("sessionId") String sessionId) {
+        log.info("清空会话记忆: id={}, sessionId={}", id, sessionId);
+        agentService.clearSession(id, sessionId);
+        return R.success();
+    }
+
+    /**
+     * 提交异步执行任务（任务进入队列，由集群中任一节点执行）
+     */
+    @PostMapping("/{id}/jobs")
+    public R<AgentJob> submitJob(
+            @PathVariable("id") Long id,
+            @RequestParam String task,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
+        log.info("提交 Agent 异步任务: id={}, task={}", id, task);
 
         if (task == null || task.trim().isEmpty()) {
             throw new BusinessException("任务描述不能为空");
         }
 
-        String result = agentService.executeAgent(id, task);
+        return R.success(agentJobService.submitJob(id, task, timeout));
+    }
 
-        return R.success(result);
+    /**
+     * 查询异步任务状态与结果
+     */
+    @GetMapping("/jobs/{jobId}")
+    public R<AgentJob> getJob(@PathVariable("jobId") String jobId) {
+        return R.success(agentJobService.getJob(jobId));
     }
 }
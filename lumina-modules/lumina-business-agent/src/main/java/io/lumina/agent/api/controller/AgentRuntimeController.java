@@ -0,0 +1,220 @@
+package io.lumina.agent.api.controller;
+
+import io.lumina.agent.engine.admission.BulkheadRegistry;
+import io.lumina.agent.engine.cache.ResponseCache;
+import io.lumina.agent.engine.cache.ToolResultCache;
+import io.lumina.agent.engine.coalesce.RequestCoalescer;
+import io.lumina.agent.engine.metrics.RunMetricsAggregator;
+import io.lumina.agent.engine.quota.QuotaManager;
+import io.lumina.agent.engine.trace.RunTimeline;
+import io.lumina.agent.engine.trace.RunTimelineBuffer;
+import io.lumina.agent.engine.warmup.AgentWarmup;
+import io.lumina.agent.engine.pool.AgentPool;
+import io.lumina.agent.executor.ToolExecutors;
+import io.lumina.agent.llm.ChatModelFactory;
+import io.lumina.agent.loader.PromptLoader;
+import io.lumina.agent.manager.MemoryCompactor;
+import io.lumina.common.core.R;
+import io.lumina.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agent 运行时状态 Controller
+ *
+ * <p>暴露 Agent 执行引擎的运行时统计信息（实例池、舱壁饱和度、工具执行舱壁、配额、响应缓存命中率、工具结果缓存、请求合并、对冲请求、模型熔断、Token 用量、会话压缩、执行时间线、提示词模板缓存、启动预热等）。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/agents/runtime")
+public class AgentRuntimeController {
+
+    @Autowired
+    private AgentPool agentPool;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private ToolExecutors toolExecutors;
+
+    @Autowired
+    private QuotaManager quotaManager;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ToolResultCache toolResultCache;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private RunMetricsAggregator runMetricsAggregator;
+
+    @Autowired
+    private RunTimelineBuffer runTimelineBuffer;
+
+    @Autowired
+    private PromptLoader promptLoader;
+
+    @Autowired
+    private MemoryCompactor memoryCompactor;
+
+    @Autowired
+    private ChatModelFactory chatModelFactory;
+
+    @Autowired
+    private AgentWarmup agentWarmup;
+
+    /**
+     * 查询 Agent 实例池统计
+     */
+    @GetMapping("/pool")
+    public R<Map<String, Object>> getPoolStats() {
+        return R.success(agentPool.getStats());
+    }
+
+    /**
+     * 查询各业务类型舱壁饱和度
+     */
+    @GetMapping("/bulkheads")
+    public R<List<Map<String, Object>>> getBulkheadStats() {
+        return R.success(bulkheadRegistry.getStats());
+    }
+
+    /**
+     * 查询租户与业务类型配额统计
+     */
+    @GetMapping("/quotas")
+    public R<Map<String, Object>> getQuotaStats() {
+        return R.success(quotaManager.getStats());
+    }
+
+    /**
+     * 查询各工具分类执行舱壁统计（并发、排队、拒绝、超时）
+     */
+    @GetMapping("/tool-executors")
+    public R<List<Map<String, Object>>> getToolExecutorStats() {
+        return R.success(toolExecutors.getStats());
+    }
+
+    /**
+     * 查询各业务类型响应缓存命中统计
+     */
+    @GetMapping("/response-cache")
+    public R<List<Map<String, Object>>> getResponseCacheStats() {
+        return R.success(responseCache.getStats());
+    }
+
+    /**
+     * 查询各工具结果缓存命中、执行内去重和失效统计
+     */
+    @GetMapping("/tool-cache")
+    public R<List<Map<String, Object>>> getToolCacheStats() {
+        return R.success(toolResultCache.getStats());
+    }
+
+    /**
+     * 查询各业务类型请求合并统计
+     */
+    @GetMapping("/coalescing")
+    public R<List<Map<String, Object>>> getCoalescingStats() {
+        return R.success(requestCoalescer.getStats());
+    }
+
+    /**
+     * 查询按业务类型和租户汇总的 Token 用量与耗时
+     */
+    @GetMapping("/usage")
+    public R<List<Map<String, Object>>> getUsageStats() {
+        return R.success(runMetricsAggregator.getStats());
+    }
+
+    /**
+     * 查询会话压缩统计
+     */
+    @GetMapping("/memory-compaction")
+    public R<Map<String, Object>> getMemoryCompactionStats() {
+        return R.success(memoryCompactor.getStats());
+    }
+
+    /**
+     * 查询各模型对冲请求统计
+     */
+    @GetMapping("/hedging")
+    public R<List<Map<String, Object>>> getHedgeStats() {
+        return R.success(chatModelFactory.getHedgeStats());
+    }
+
+    /**
+     * 查询各模型熔断状态
+     */
+    @GetMapping("/circuit-breakers")
+    public R<List<Map<String, Object>>> getCircuitBreakerStats() {
+        return R.success(chatModelFactory.getCircuitBreakerStats());
+    }
+
+    /**
+     * 查询启动预热状态
+     */
+    @GetMapping("/warmup")
+    public R<Map<String, Object>> getWarmupStatus() {
+        return R.success(agentWarmup.getStatus());
+    }
+
+    /**
+     * 查询最近的执行时间线
+     */
+    @GetMapping("/timelines")
+    public R<List<Map<String, Object>>> getRecentTimelines(
+            @RequestParam(required = false) String businessType,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return R.success(runTimelineBuffer.recent(businessType, Math.min(limit, 200)).stream()
+                .map(RunTimeline::toMap)
+                .collect(java.util.stream.Collectors.toList()));
+    }
+
+    /**
+     * 按执行 ID 查询执行时间线
+     */
+    @GetMapping("/timelines/{runId}")
+    public R<Map<String, Object>> getTimeline(@PathVariable("runId") String runId) {
+        RunTimeline timeline = runTimelineBuffer.get(runId);
+        if (timeline == null) {
+            throw BusinessException.notFound("执行时间线不存在或已过期: " + runId);
+        }
+        return R.success(timeline.toMap());
+    }
+
+    /**
+     * 查询提示词模板缓存统计
+     */
+    @GetMapping("/prompts")
+    public R<Map<String, Object>> getPromptStats() {
+        return R.success(promptLoader.getStats());
+    }
+
+    /**
+     * 刷新提示词模板缓存（下次执行时重新加载并编译）
+     */
+    @PostMapping("/prompts/refresh")
+    public R<Void> refreshPrompts() {
+        log.info("刷新提示词模板缓存");
+        promptLoader.invalidateAll();
+        return R.success();
+    }
+}
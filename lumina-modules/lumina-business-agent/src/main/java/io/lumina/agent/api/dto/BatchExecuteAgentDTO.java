@@ -0,0 +1,28 @@
+package io.lumina.agent.api.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量执行 Agent DTO
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Data
+public class BatchExecuteAgentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务描述列表
+     */
+    private List<String> tasks;
+
+    /**
+     * 并发上限（为空时使用默认配置）
+     */
+    private Integer parallelism;
+}
@@ -0,0 +1,71 @@
+package io.lumina.agent.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agent 异步任务队列配置
+ *
+ * <p>任务队列基于 Redis Stream 消费组实现，每个节点作为一个消费者，增加节点即可水平扩展执行能力。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "lumina.agent.job")
+public class AgentJobProperties {
+
+    /**
+     * 任务队列 Stream Key（默认：lumina:agent:jobs）
+     */
+    private String streamKey = "lumina:agent:jobs";
+
+    /**
+     * 消费组名称（默认：lumina-agent-workers）
+     */
+    private String group = "lumina-agent-workers";
+
+    /**
+     * 是否在本节点启动 Worker（默认：true，为 false 时本节点只提交任务）
+     */
+    private Boolean workerEnabled = true;
+
+    /**
+     * 本节点最大并发执行任务数（默认：4）
+     */
+    private Integer concurrency = 4;
+
+    /**
+     * 拉取任务阻塞等待时间（毫秒，默认：2000）
+     */
+    private Long pollTimeout = 2000L;
+
+    /**
+     * 待确认任务空闲多久后可被其他节点接管（毫秒，默认：60000）
+     *
+     * <p>执行中的任务会定期续期，只有 Worker 宕机后遗留的任务才会被接管。
+     */
+    private Long claimIdleTime = 60000L;
+
+    /**
+     * 接管检查与续期间隔（毫秒，默认：15000，应小于 claimIdleTime）
+     */
+    private Long claimInterval = 15000L;
+
+    /**
+     * 最大尝试执行次数，超出后标记失败（默认：3）
+     */
+    private Integer maxAttempts = 3;
+
+    /**
+     * 任务结果保存时间（秒，默认：86400）
+     */
+    private Long resultTtl = 86400L;
+
+    /**
+     * Stream 最大长度（近似裁剪，默认：100000）
+     */
+    private Integer maxStreamLength = 100000;
+}
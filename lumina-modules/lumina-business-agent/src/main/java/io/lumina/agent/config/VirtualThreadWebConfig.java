@@ -0,0 +1,34 @@
+package io.lumina.agent.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Web 容器虚拟线程配置
+ *
+ * <p>{@code lumina.agent.executor.type=virtual} 时，Tomcat 使用虚拟线程处理请求，
+ * 同步执行 Agent 的请求在等待 LLM 响应期间不再占用平台线程。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "lumina.agent.executor", name = "type", havingValue = "virtual")
+public class VirtualThreadWebConfig {
+
+    /**
+     * Tomcat 请求处理使用虚拟线程
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Tomcat 请求处理使用虚拟线程");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lumina-http-vt-", 0).factory()));
+    }
+}
@@ -0,0 +1,67 @@
+package io.lumina.agent.domain.enums;
+
+import lombok.Getter;
+
+/**
+ * Agent 异步任务状态枚举
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Getter
+public enum AgentJobStatusEnum {
+
+    /**
+     * 排队中
+     */
+    PENDING("pending", "排队中"),
+
+    /**
+     * 执行中
+     */
+    RUNNING("running", "执行中"),
+
+    /**
+     * 执行成功
+     */
+    SUCCEEDED("succeeded", "执行成功"),
+
+    /**
+     * 执行失败
+     */
+    FAILED("failed", "执行失败");
+
+    /**
+     * 状态代码
+     */
+    private final String code;
+
+    /**
+     * 状态描述
+     */
+    private final String description;
+
+    AgentJobStatusEnum(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 是否为终止状态
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+
+    /**
+     * 根据代码获取枚举
+     */
+    public static AgentJobStatusEnum fromCode(String code) {
+        for (AgentJobStatusEnum status : values()) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("未知的任务状态: " + code);
+    }
+}
@@ -0,0 +1,85 @@
+package io.lumina.agent.domain.model;
+
+import io.lumina.agent.model.ExecuteResult;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Agent 异步任务
+ *
+ * <p>提交后进入 Redis Stream 队列，由任意节点的 Worker 执行，结果按 TTL 保存在 Redis 中。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Data
+public class AgentJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务 ID
+     */
+    private String jobId;
+
+    /**
+     * Agent ID
+     */
+    private Long agentId;
+
+    /**
+     * 任务描述
+     */
+    private String task;
+
+    /**
+     * 执行超时时间（毫秒）
+     */
+    private Long timeout;
+
+    /**
+     * 提交者租户 ID
+     */
+    private Long tenantId;
+
+    /**
+     * 提交者用户 ID
+     */
+    private Long userId;
+
+    /**
+     * 任务状态（pending/running/succeeded/failed）
+     */
+    private String status;
+
+    /**
+     * 已尝试执行次数
+     */
+    private Integer attempts;
+
+    /**
+     * 执行节点（Worker 消费者名称）
+     */
+    private String workerId;
+
+    /**
+     * 执行结果
+     */
+    private ExecuteResult result;
+
+    /**
+     * 提交时间（毫秒）
+     */
+    private Long submitTime;
+
+    /**
+     * 开始执行时间（毫秒）
+     */
+    private Long startTime;
+
+    /**
+     * 结束时间（毫秒）
+     */
+    private Long finishTime;
+}
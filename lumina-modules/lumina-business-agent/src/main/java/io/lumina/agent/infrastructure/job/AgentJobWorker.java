@@ -0,0 +1,306 @@
+package io.lumina.agent.infrastructure.job;
+
+import io.lumina.agent.config.AgentJobProperties;
+import io.lumina.agent.domain.enums.AgentJobStatusEnum;
+import io.lumina.agent.domain.model.AgentJob;
+import io.lumina.agent.model.ExecuteResult;
+import io.lumina.agent.service.AgentJobService;
+import io.lumina.agent.service.AgentService;
+import io.lumina.agent.service.impl.AgentJobServiceImpl;
+import io.lumina.common.core.BaseContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.AutoClaimResult;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agent 异步任务 Worker
+ *
+ * <p>每个节点作为 Redis Stream 消费组中的一个消费者拉取任务，本节点并发数由 {@code lumina.agent.job.concurrency} 控制。
+ * <p>执行中的任务定期续期（重置空闲时间）；其他节点宕机后遗留的待确认任务空闲超过
+ * {@code claim-idle-time} 后由本节点接管执行。超过最大尝试次数的任务标记为失败。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "lumina.agent.job", name = "worker-enabled", havingValue = "true", matchIfMissing = true)
+public class AgentJobWorker {
+
+    /**
+     * XAUTOCLAIM 起始 ID
+     */
+    private static final StreamMessageId CLAIM_START = new StreamMessageId(0, 0);
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private AgentJobProperties jobProperties;
+
+    @Autowired
+    private AgentJobService agentJobService;
+
+    @Autowired
+    private AgentService agentService;
+
+    /**
+     * 消费者名称（节点唯一）
+     */
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName()
+            + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * 执行中的任务消息
+     */
+    private final Set<StreamMessageId> inFlight = ConcurrentHashMap.newKeySet();
+
+    private RStream<String, String> stream;
+    private Semaphore slots;
+    private ExecutorService jobExecutor;
+    private Thread pollerThread;
+    private ScheduledExecutorService claimExecutor;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        stream = redissonClient.getStream(jobProperties.getStreamKey(), StringCodec.INSTANCE);
+        createGroupIfAbsent();
+
+        int concurrency = jobProperties.getConcurrency();
+        slots = new Semaphore(concurrency);
+        jobExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "lumina-agent-job-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        pollerThread = new Thread(this::pollLoop, "lumina-agent-job-poller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+
+        claimExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lumina-agent-job-claimer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = jobProperties.getClaimInterval();
+        claimExecutor.scheduleWithFixedDelay(this::heartbeatAndClaim, interval, interval, TimeUnit.MILLISECONDS);
+
+        log.info("Agent 任务 Worker 已启动: consumer={}, stream={}, group={}, concurrency={}",
+                consumerName, jobProperties.getStreamKey(), jobProperties.getGroup(), concurrency);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (pollerThread != null) {
+            pollerThread.interrupt();
+        }
+        if (claimExecutor != null) {
+            claimExecutor.shutdownNow();
+        }
+        if (jobExecutor != null) {
+            // 未执行完的任务保留在待确认列表中，由其他节点接管
+            jobExecutor.shutdownNow();
+        }
+        log.info("Agent 任务 Worker 已停止: consumer={}, inFlight={}", consumerName, inFlight.size());
+    }
+
+    /**
+     * 拉取新任务（有空闲执行槽位时才拉取）
+     */
+    private void pollLoop() {
+        while (running) {
+            try {
+                slots.acquire();
+                int count = 1 + slots.drainPermits();
+
+                Map<StreamMessageId, Map<String, String>> messages = stream.readGroup(
+                        jobProperties.getGroup(), consumerName,
+                        StreamReadGroupArgs.neverDelivered()
+                                .count(count)
+                                .timeout(Duration.ofMillis(jobProperties.getPollTimeout())));
+
+                int dispatched = dispatch(messages);
+                slots.release(count - dispatched);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("拉取 Agent 任务失败: {}", e.getMessage(), e);
+                slots.release();
+                sleepQuietly(jobProperties.getPollTimeout());
+            }
+        }
+    }
+
+    /**
+     * 续期执行中的任务，并接管其他节点遗留的任务
+     */
+    private void heartbeatAndClaim() {
+        try {
+            // 续期：重置执行中任务的空闲时间，避免被其他节点误接管
+            if (!inFlight.isEmpty()) {
+                stream.fastClaim(jobProperties.getGroup(), consumerName, 0, TimeUnit.MILLISECONDS,
+                        inFlight.toArray(new StreamMessageId[0]));
+            }
+
+            // 接管：只接管本节点能立即执行的数量
+            int available = slots.drainPermits();
+            if (available == 0) {
+                return;
+            }
+            int dispatched = 0;
+            try {
+                AutoClaimResult<String, String> claimed = stream.autoClaim(jobProperties.getGroup(), consumerName,
+                        jobProperties.getClaimIdleTime(), TimeUnit.MILLISECONDS, CLAIM_START, available);
+                if (!claimed.getMessages().isEmpty()) {
+                    log.info("接管遗留 Agent 任务: consumer={}, count={}", consumerName, claimed.getMessages().size());
+                }
+                dispatched = dispatch(claimed.getMessages());
+            } finally {
+                slots.release(available - dispatched);
+            }
+        } catch (Exception e) {
+            log.error("Agent 任务续期/接管失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 分发任务到执行线程（调用方已为每条消息预留执行槽位）
+     *
+     * @return 已分发的消息数
+     */
+    private int dispatch(Map<StreamMessageId, Map<String, String>> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+        for (Map.Entry<StreamMessageId, Map<String, String>> entry : messages.entrySet()) {
+            StreamMessageId messageId = entry.getKey();
+            String jobId = entry.getValue().get(AgentJobServiceImpl.FIELD_JOB_ID);
+            inFlight.add(messageId);
+            jobExecutor.execute(() -> {
+                try {
+                    process(messageId, jobId);
+                } finally {
+                    inFlight.remove(messageId);
+                    slots.release();
+                }
+            });
+        }
+        return messages.size();
+    }
+
+    /**
+     * 执行单个任务，结束后确认消息
+     */
+    private void process(StreamMessageId messageId, String jobId) {
+        AgentJob job = jobId != null ? agentJobService.loadJob(jobId) : null;
+        if (job == null) {
+            log.warn("Agent 任务记录不存在或已过期，丢弃消息: messageId={}, jobId={}", messageId, jobId);
+            ack(messageId);
+            return;
+        }
+        if (AgentJobStatusEnum.fromCode(job.getStatus()).isFinished()) {
+            // 重复投递：任务已完成，只确认消息
+            ack(messageId);
+            return;
+        }
+
+        int attempts = job.getAttempts() != null ? job.getAttempts() + 1 : 1;
+        job.setAttempts(attempts);
+        if (attempts > jobProperties.getMaxAttempts()) {
+            log.error("Agent 任务超过最大尝试次数，标记失败: jobId={}, attempts={}", jobId, attempts - 1);
+            finish(job, ExecuteResult.failure("任务超过最大尝试次数: " + jobProperties.getMaxAttempts()));
+            ack(messageId);
+            return;
+        }
+
+        job.setStatus(AgentJobStatusEnum.RUNNING.getCode());
+        job.setWorkerId(consumerName);
+        job.setStartTime(System.currentTimeMillis());
+        agentJobService.saveJob(job);
+
+        log.info("开始执行 Agent 任务: jobId={}, agentId={}, attempts={}", jobId, job.getAgentId(), attempts);
+        ExecuteResult result;
+        try {
+            // 以提交者身份执行（租户隔离）
+            BaseContext.setTenantId(job.getTenantId());
+            BaseContext.setUserId(job.getUserId());
+            result = agentService.executeAgentForResult(job.getAgentId(), job.getTask(), null, job.getTimeout());
+        } catch (Exception e) {
+            log.error("Agent 任务执行失败: jobId={}, error={}", jobId, e.getMessage(), e);
+            result = ExecuteResult.failure(e.getMessage());
+        } finally {
+            BaseContext.clear();
+        }
+
+        if (!running && Thread.currentThread().isInterrupted()) {
+            // 节点停止导致中断：不确认消息，由其他节点接管重试
+            log.warn("节点停止，Agent 任务交由其他节点重试: jobId={}", jobId);
+            return;
+        }
+
+        finish(job, result);
+        ack(messageId);
+        log.info("Agent 任务执行结束: jobId={}, success={}", jobId, result.getSuccess());
+    }
+
+    private void finish(AgentJob job, ExecuteResult result) {
+        job.setStatus(Boolean.TRUE.equals(result.getSuccess())
+                ? AgentJobStatusEnum.SUCCEEDED.getCode()
+                : AgentJobStatusEnum.FAILED.getCode());
+        job.setResult(result);
+        job.setFinishTime(System.currentTimeMillis());
+        agentJobService.saveJob(job);
+    }
+
+    private void ack(StreamMessageId messageId) {
+        stream.ack(jobProperties.getGroup(), messageId);
+    }
+
+    private void createGroupIfAbsent() {
+        try {
+            stream.createGroup(StreamCreateGroupArgs.name(jobProperties.getGroup()).id(StreamMessageId.ALL).makeStream());
+            log.info("创建 Agent 任务消费组: stream={}, group={}", jobProperties.getStreamKey(), jobProperties.getGroup());
+        } catch (Exception e) {
+            // 消费组已存在（BUSYGROUP）
+            log.debug("Agent 任务消费组已存在: group={}", jobProperties.getGroup());
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.lumina.agent.service;
+
+import io.lumina.agent.domain.model.AgentJob;
+
+/**
+ * Agent 异步任务服务接口
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public interface AgentJobService {
+
+    /**
+     * 提交异步任务
+     *
+     * @param agentId Agent ID
+     * @param task    任务描述
+     * @param timeout 超时时间（毫秒，为空时使用默认配置）
+     * @return 任务（排队中）
+     */
+    AgentJob submitJob(Long agentId, String task, Long timeout);
+
+    /**
+     * 查询任务（只能查询本租户提交的任务）
+     *
+     * @param jobId 任务 ID
+     * @return 任务
+     */
+    AgentJob getJob(String jobId);
+
+    /**
+     * 读取任务记录（不做租户校验，供 Worker 使用）
+     *
+     * @param jobId 任务 ID
+     * @return 任务，不存在或已过期时返回 null
+     */
+    AgentJob loadJob(String jobId);
+
+    /**
+     * 保存任务记录（刷新过期时间）
+     *
+     * @param job 任务
+     */
+    void saveJob(AgentJob job);
+}
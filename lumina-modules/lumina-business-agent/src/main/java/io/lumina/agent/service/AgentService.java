@@ -1,7 +1,14 @@
 package io.lumina.agent.service;
 
 import io.lumina.agent.domain.model.Agent;
+import io.lumina.agent.model.BatchItemResult;
+import io.lumina.agent.model.ExecuteChunk;
+import io.lumina.agent.model.ExecuteResult;
 import io.lumina.common.core.PageResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * Agent 服务接口
@@ -57,9 +64,56 @@ public interface AgentService {
     /**
      * 执行 Agent 任务
      *
+     * <p>执行在 Agent 执行器上进行，取消订阅（如客户端断开）时中断执行并以取消结束。
+     *
      * @param agentId Agent ID
-     * @param task    任务描述
+     * @param task      任务描述
+     * @param sessionId 会话 ID（为空表示无状态执行）
+     * @param timeout   超时时间（毫秒，为空时使用默认配置）
+     * @return 执行结果（执行失败时以 {@link io.lumina.common.exception.BusinessException} 结束）
+     */
+    Mono<String> executeAgent(Long agentId, String task, String sessionId, Long timeout);
+
+    /**
+     * 执行 Agent 任务并返回完整执行结果（失败时不抛出异常）
+     *
+     * <p>在调用线程上同步执行，不支持调用方取消，只受截止时间（{@code timeout}）约束。
+     *
+     * @param agentId Agent ID
+     * @param task      任务描述
+     * @param sessionId 会话 ID（为空表示无状态执行）
+     * @param timeout   超时时间（毫秒，为空时使用默认配置）
      * @return 执行结果
      */
-    String executeAgent(Long agentId, String task);
+    ExecuteResult executeAgentForResult(Long agentId, String task, String sessionId, Long timeout);
+
+    /**
+     * 流式执行 Agent 任务
+     *
+     * @param agentId Agent ID
+     * @param task      任务描述
+     * @param sessionId 会话 ID（为空表示无状态执行）
+     * @param timeout   超时时间（毫秒，为空时使用默认配置）
+     * @return 执行片段流
+     */
+    Flux<ExecuteChunk> streamAgent(Long agentId, String task, String sessionId, Long timeout);
+
+    /**
+     * 批量执行 Agent 任务
+     *
+     * @param agentId     Agent ID
+     * @param tasks       任务描述列表
+     * @param parallelism 并发上限
+     * @param timeout     单个任务超时时间（毫秒，为空时使用默认配置）
+     * @return 批量执行结果流（按完成顺序）
+     */
+    Flux<BatchItemResult> executeAgentBatch(Long agentId, List<String> tasks, Integer parallelism, Long timeout);
+
+    /**
+     * 清空会话记忆
+     *
+     * @param agentId   Agent ID
+     * @param sessionId 会话 ID
+     */
+    void clearSession(Long agentId, String sessionId);
 }
@@ -0,0 +1,131 @@
+package io.lumina.agent.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lumina.agent.config.AgentJobProperties;
+import io.lumina.agent.domain.enums.AgentJobStatusEnum;
+import io.lumina.agent.domain.model.Agent;
+import io.lumina.agent.domain.model.AgentJob;
+import io.lumina.agent.service.AgentJobService;
+import io.lumina.agent.service.AgentService;
+import io.lumina.common.core.BaseContext;
+import io.lumina.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agent 异步任务服务实现
+ *
+ * <p>任务记录以 JSON 形式保存在 Redis（带 TTL），任务 ID 写入 Redis Stream 供各节点 Worker 消费。
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class AgentJobServiceImpl implements AgentJobService {
+
+    /**
+     * 任务记录 Redis Key 前缀
+     */
+    private static final String JOB_KEY_PREFIX = "lumina:agent:job:";
+
+    /**
+     * Stream 消息中的任务 ID 字段
+     */
+    public static final String FIELD_JOB_ID = "jobId";
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private AgentJobProperties jobProperties;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public AgentJob submitJob(Long agentId, String task, Long timeout) {
+        // 提交前校验 Agent 存在且已启用，避免无效任务进入队列
+        Agent agent = agentService.getAgentById(agentId);
+        if (!agent.isActive()) {
+            throw new BusinessException("Agent 未启用，无法执行任务");
+        }
+
+        AgentJob job = new AgentJob();
+        job.setJobId(UUID.randomUUID().toString().replace("-", ""));
+        job.setAgentId(agentId);
+        job.setTask(task);
+        job.setTimeout(timeout);
+        job.setTenantId(BaseContext.getTenantId());
+        job.setUserId(BaseContext.getUserId());
+        job.setStatus(AgentJobStatusEnum.PENDING.getCode());
+        job.setAttempts(0);
+        job.setSubmitTime(System.currentTimeMillis());
+
+        // 先保存任务记录再入队，Worker 读取到消息时记录一定存在
+        saveJob(job);
+
+        RStream<String, String> stream = redissonClient.getStream(jobProperties.getStreamKey(), StringCodec.INSTANCE);
+        stream.add(StreamAddArgs.entry(FIELD_JOB_ID, job.getJobId())
+                .trimNonStrict().maxLen(jobProperties.getMaxStreamLength()).noLimit());
+
+        log.info("提交 Agent 异步任务: jobId={}, agentId={}", job.getJobId(), agentId);
+        return job;
+    }
+
+    @Override
+    public AgentJob getJob(String jobId) {
+        AgentJob job = loadJob(jobId);
+        if (job == null) {
+            throw BusinessException.notFound("任务不存在或已过期: " + jobId);
+        }
+
+        // 租户隔离：只能查询本租户提交的任务
+        Long tenantId = BaseContext.getTenantId();
+        if (!BaseContext.isSuperAdmin() && tenantId != null && !tenantId.equals(job.getTenantId())) {
+            throw BusinessException.notFound("任务不存在或已过期: " + jobId);
+        }
+        return job;
+    }
+
+    @Override
+    public AgentJob loadJob(String jobId) {
+        String json = getJobBucket(jobId).get();
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, AgentJob.class);
+        } catch (JsonProcessingException e) {
+            log.error("解析任务记录失败: jobId={}", jobId, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveJob(AgentJob job) {
+        try {
+            getJobBucket(job.getJobId()).set(objectMapper.writeValueAsString(job),
+                    jobProperties.getResultTtl(), TimeUnit.SECONDS);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("保存任务记录失败: " + job.getJobId(), e);
+        }
+    }
+
+    private RBucket<String> getJobBucket(String jobId) {
+        return redissonClient.getBucket(JOB_KEY_PREFIX + jobId, StringCodec.INSTANCE);
+    }
+}
@@ -6,9 +6,13 @@ import io.lumina.agent.domain.model.Agent;
 import io.lumina.agent.engine.AgentExecutionEngine;
 import io.lumina.agent.infrastructure.entity.AgentDO;
 import io.lumina.agent.infrastructure.mapper.AgentMapper;
+import io.lumina.agent.manager.MemoryManager;
 import io.lumina.agent.model.AgentConfig;
+import io.lumina.agent.model.BatchItemResult;
+import io.lumina.agent.model.ExecuteChunk;
 import io.lumina.agent.model.ExecuteResult;
 import io.lumina.agent.service.AgentService;
+import io.lumina.common.core.BaseContext;
 import io.lumina.common.core.PageResult;
 import io.lumina.common.exception.BusinessException;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +21,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +44,9 @@ public class AgentServiceImpl implements AgentService {
     @Autowired
     private AgentMapper agentMapper;
 
+    @Autowired
+    private MemoryManager memoryManager;
+
     /**
      * Domain -> DO 转换
      */
@@ -170,9 +179,71 @@ public class AgentServiceImpl implements AgentService {
     }
 
     @Override
-    public String executeAgent(Long agentId, String task) {
-        log.info("执行 Agent: id={}, task={}", agentId, task);
+    public Mono<String> executeAgent(Long agentId, String task, String sessionId, Long timeout) {
+        log.info("执行 Agent: id={}, sessionId={}, task={}", agentId, sessionId, task);
+
+        Agent agent = getActiveAgent(agentId);
+
+        // 使用响应式执行：取消订阅时中断执行线程，Agent 调用链随之取消
+        return agentExecutionEngine.execute(
+                        agent.getAgentType().toLowerCase(),
+                        task,
+                        buildAgentConfig(agent, sessionId, timeout))
+                .map(result -> {
+                    if (!Boolean.TRUE.equals(result.getSuccess())) {
+                        throw new BusinessException("Agent 执行失败: " + result.getError());
+                    }
+                    log.info("Agent 执行成功: id={}", agentId);
+                    return result.getResult();
+                });
+    }
+
+    @Override
+    public ExecuteResult executeAgentForResult(Long agentId, String task, String sessionId, Long timeout) {
+        log.info("执行 Agent: id={}, sessionId={}, task={}", agentId, sessionId, task);
+
+        Agent agent = getActiveAgent(agentId);
+
+        // 执行 Agent
+        return agentExecutionEngine.executeSync(
+                agent.getAgentType().toLowerCase(),
+                task,
+                buildAgentConfig(agent, sessionId, timeout)
+        );
+    }
+
+    @Override
+    public Flux<ExecuteChunk> streamAgent(Long agentId, String task, String sessionId, Long timeout) {
+        log.info("流式执行 Agent: id={}, sessionId={}, task={}", agentId, sessionId, task);
+
+        Agent agent = getActiveAgent(agentId);
+
+        return agentExecutionEngine.stream(
+                agent.getAgentType().toLowerCase(),
+                task,
+                buildAgentConfig(agent, sessionId, timeout)
+        );
+    }
+
+    @Override
+    public Flux<BatchItemResult> executeAgentBatch(Long agentId, List<String> tasks, Integer parallelism, Long timeout) {
+        log.info("批量执行 Agent: id={}, tasks={}, parallelism={}", agentId, tasks.size(), parallelism);
+
+        // Agent 与配置只加载一次
+        Agent agent = getActiveAgent(agentId);
 
+        return agentExecutionEngine.executeBatch(
+                agent.getAgentType().toLowerCase(),
+                tasks,
+                buildAgentConfig(agent, null, timeout),
+                parallelism
+        );
+    }
+
+    /**
+     * 查询并检查 Agent 是否可执行
+     */
+    private Agent getActiveAgent(Long agentId) {
         // 查询 Agent
         Agent agent = getAgentById(agentId);
 
@@ -180,24 +251,33 @@ public class AgentServiceImpl implements AgentService {
         if (!agent.isActive()) {
             throw new BusinessException("Agent 未启用，无法执行任务");
         }
+        return agent;
+    }
+
+    @Override
+    public void clearSession(Long agentId, String sessionId) {
+        memoryManager.clearMemories(scopeSessionId(agentId, sessionId));
+        log.info("清空会话记忆: agentId={}, sessionId={}", agentId, sessionId);
+    }
 
-        // 构建配置
+    /**
+     * 构建执行配置
+     */
+    private AgentConfig buildAgentConfig(Agent agent, String sessionId, Long timeout) {
         AgentConfig config = new AgentConfig();
         config.setAgentName(agent.getAgentName());
         config.setAgentType(agent.getAgentType());
-
-        // 执行 Agent
-        ExecuteResult result = agentExecutionEngine.executeSync(
-                agent.getAgentType().toLowerCase(),
-                task,
-                config
-        );
-
-        if (!result.getSuccess()) {
-            throw new BusinessException("Agent 执行失败: " + result.getError());
+        config.setTimeout(timeout);
+        if (StringUtils.hasText(sessionId)) {
+            config.setSessionId(scopeSessionId(agent.getAgentId(), sessionId));
         }
+        return config;
+    }
 
-        log.info("Agent 执行成功: id={}", agentId);
-        return result.getResult();
+    /**
+     * 会话 ID 按租户和 Agent 隔离，客户端无法读取其他租户或其他 Agent 的会话
+     */
+    private String scopeSessionId(Long agentId, String sessionId) {
+        return BaseContext.getTenantId() + ":" + agentId + ":" + sessionId;
     }
 }
@@ -0,0 +1,280 @@
+package io.lumina.agent.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agent 执行接口压测工具
+ *
+ * <p>向 {@code POST /api/v1/agents/{id}/execute} 施压，输出吞吐量和延迟百分位。
+ * 配合模拟模型（{@code LLM_TYPE=simulator}）可在无网络环境下评估服务容量和性能回归。
+ * <p>只依赖 JDK，可直接以单文件方式运行：
+ * <pre>
+ * java lumina-modules/lumina-business-agent/src/test/java/io/lumina/agent/loadtest/AgentLoadGenerator.java \
+ *     --url http://localhost:8081 --agent 1 --concurrency 32 --duration 60 --warmup 10
+ * </pre>
+ * 参数：
+ * <ul>
+ *     <li>{@code --url}：服务地址（默认 http://localhost:8081）</li>
+ *     <li>{@code --agent}：Agent ID（默认 1）</li>
+ *     <li>{@code --task}：任务描述（默认 "压测任务"），包含 {n} 时替换为请求序号</li>
+ *     <li>{@code --concurrency}：闭环模式下的并发数（默认 16）</li>
+ *     <li>{@code --rate}：开环模式下的固定请求速率（请求/秒），指定后按计划发送时间计算延迟，避免协调遗漏</li>
+ *     <li>{@code --requests} / {@code --duration}：总请求数 / 持续时间（秒，默认 30 秒）</li>
+ *     <li>{@code --warmup}：预热时间（秒，默认 5，不计入统计）</li>
+ *     <li>{@code --timeout}：通过 X-Request-Timeout 传递的执行超时（毫秒）</li>
+ *     <li>{@code --header}：附加请求头（如 {@code --header X-Tenant-Id:1}，可重复）</li>
+ * </ul>
+ *
+ * @author Lumina Team
+ * @since 1.0.0
+ */
+public final class AgentLoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Options options;
+    private final HttpClient httpClient;
+
+    /**
+     * 请求序号
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 统计开始时间（预热结束时间，System.nanoTime 基准）
+     */
+    private final long measureStartNanos;
+
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private AgentLoadGenerator(Options options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.measureStartNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new AgentLoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("压测开始: url=%s, agent=%d, mode=%s, warmup=%ds%n", options.url, options.agentId,
+                options.rate > 0 ? "open-loop " + options.rate + " req/s" : "closed-loop x" + options.concurrency,
+                options.warmupSeconds);
+
+        long endNanos = options.requests > 0
+                ? Long.MAX_VALUE
+                : measureStartNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        Recorder recorder = new Recorder();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.rate > 0) {
+                runOpenLoop(executor, endNanos, recorder);
+            } else {
+                for (int i = 0; i < options.concurrency; i++) {
+                    executor.submit(() -> runClosedLoop(endNanos, recorder));
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - Math.max(measureStartNanos, recorder.firstMeasuredNanos());
+        report(recorder.snapshot(), elapsedNanos);
+    }
+
+    /**
+     * 闭环模式：每个并发槽位收到响应后立即发送下一个请求
+     */
+    private void runClosedLoop(long endNanos, Recorder recorder) {
+        while (System.nanoTime() < endNanos && hasMoreRequests()) {
+            long startNanos = System.nanoTime();
+            execute(startNanos, recorder);
+        }
+    }
+
+    /**
+     * 开环模式：按固定速率发送请求，延迟从计划发送时间开始计算
+     */
+    private void runOpenLoop(ExecutorService executor, long endNanos, Recorder recorder) throws InterruptedException {
+        long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / options.rate);
+        long scheduledNanos = System.nanoTime();
+        while (scheduledNanos < endNanos && hasMoreRequests()) {
+            long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            long intendedStart = scheduledNanos;
+            executor.submit(() -> execute(intendedStart, recorder));
+            scheduledNanos += intervalNanos;
+        }
+    }
+
+    private boolean hasMoreRequests() {
+        return options.requests <= 0 || sequence.get() < options.requests;
+    }
+
+    private void execute(long startNanos, Recorder recorder) {
+        long n = sequence.incrementAndGet();
+        if (options.requests > 0 && n > options.requests) {
+            return;
+        }
+        String error = null;
+        try {
+            HttpResponse<String> response = httpClient.send(buildRequest(n), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                error = "HTTP " + response.statusCode();
+            } else if (!response.body().contains("\"code\":200")) {
+                error = "code " + extractCode(response.body());
+            }
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName();
+        }
+
+        if (startNanos < measureStartNanos) {
+            return;
+        }
+        recorder.record(startNanos, System.nanoTime() - startNanos);
+        if (error == null) {
+            successes.increment();
+        } else {
+            errors.computeIfAbsent(error, k -> new LongAdder()).increment();
+        }
+    }
+
+    private HttpRequest buildRequest(long n) {
+        String task = options.task.replace("{n}", Long.toString(n));
+        URI uri = URI.create(options.url + "/api/v1/agents/" + options.agentId + "/execute?task="
+                + URLEncoder.encode(task, StandardCharsets.UTF_8));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofMillis(options.timeoutMillis > 0 ? options.timeoutMillis + 5000 : 600000));
+        if (options.timeoutMillis > 0) {
+            builder.header("X-Request-Timeout", Long.toString(options.timeoutMillis));
+        }
+        options.headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    private static String extractCode(String body) {
+        int index = body.indexOf("\"code\":");
+        if (index < 0) {
+            return "unknown";
+        }
+        int end = index + 7;
+        while (end < body.length() && (Character.isDigit(body.charAt(end)) || body.charAt(end) == '-')) {
+            end++;
+        }
+        return body.substring(index + 7, end);
+    }
+
+    private void report(long[] latencies, long elapsedNanos) {
+        Arrays.sort(latencies);
+        long total = latencies.length;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        System.out.println("==================== 压测结果 ====================");
+        System.out.printf("请求数: %d, 成功: %d, 失败: %d%n", total, successes.sum(), total - successes.sum());
+        System.out.printf("耗时: %.1fs, 吞吐量: %.1f req/s%n", seconds, seconds > 0 ? total / seconds : 0.0);
+        if (total > 0) {
+            System.out.printf("延迟(ms): min=%.1f, mean=%.1f, max=%.1f%n",
+                    latencies[0] / 1e6, Arrays.stream(latencies).average().orElse(0) / 1e6, latencies[(int) total - 1] / 1e6);
+            for (double percentile : PERCENTILES) {
+                int index = (int) Math.ceil(percentile / 100.0 * total) - 1;
+                System.out.printf("  p%-5s %.1f ms%n", percentile % 1 == 0 ? Long.toString((long) percentile) : percentile,
+                        latencies[Math.max(0, Math.min((int) total - 1, index))] / 1e6);
+            }
+        }
+        errors.forEach((error, count) -> System.out.printf("错误 %s: %d%n", error, count.sum()));
+    }
+
+    /**
+     * 延迟记录（线程安全）
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[4096];
+        private int size;
+        private long firstMeasuredNanos = Long.MAX_VALUE;
+
+        synchronized void record(long startNanos, long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            firstMeasuredNanos = Math.min(firstMeasuredNanos, startNanos);
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(latencies, size);
+        }
+
+        synchronized long firstMeasuredNanos() {
+            return firstMeasuredNanos == Long.MAX_VALUE ? System.nanoTime() : firstMeasuredNanos;
+        }
+    }
+
+    /**
+     * 命令行参数
+     */
+    private static final class Options {
+
+        private String url = "http://localhost:8081";
+        private long agentId = 1;
+        private String task = "压测任务";
+        private int concurrency = 16;
+        private int rate;
+        private long requests;
+        private long durationSeconds = 30;
+        private long warmupSeconds = 5;
+        private long timeoutMillis;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("缺少参数值: " + name);
+                }
+                String value = args[++i];
+                switch (name) {
+                    case "--url" -> options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "--agent" -> options.agentId = Long.parseLong(value);
+                    case "--task" -> options.task = value;
+                    case "--concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "--rate" -> options.rate = Integer.parseInt(value);
+                    case "--requests" -> options.requests = Long.parseLong(value);
+                    case "--duration" -> options.durationSeconds = Long.parseLong(value);
+                    case "--warmup" -> options.warmupSeconds = Long.parseLong(value);
+                    case "--timeout" -> options.timeoutMillis = Long.parseLong(value);
+                    case "--header" -> {
+                        int colon = value.indexOf(':');
+                        if (colon <= 0) {
+                            throw new IllegalArgumentException("请求头格式应为 Name:Value: " + value);
+                        }
+                        options.headers.put(value.substring(0, colon).trim(), value.substring(colon + 1).trim());
+                    }
+                    default -> throw new IllegalArgumentException("未知参数: " + name);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -38,7 +38,8 @@ public class BaseToolProvider {
     @AgentTool(
         name = "base.createUser",
         description = "创建新用户。需要提供用户名、密码、真实姓名、邮箱、手机号等信息。返回创建的用户ID。",
-        category = "base.user"
+        category = "base.user",
+        parallelSafe = false
     )
     public Map<String, Object> createUser(String username, String password, String realName,
                                           String email, String phone) {
@@ -81,7 +82,9 @@ public class BaseToolProvider {
     @AgentTool(
         name = "base.getUser",
         description = "根据用户ID查询用户详细信息。返回用户的用户名、真实姓名、邮箱、手机号、状态等信息。",
-        category = "base.user"
+        category = "base.user",
+        cacheable = true,
+        ttl = 60
     )
     public Map<String, Object> getUser(Long userId) {
         log.info("Agent 调用查询用户工具: userId={}", userId);
@@ -119,7 +122,9 @@ public class BaseToolProvider {
     @AgentTool(
         name = "base.getCurrentUserContext",
         description = "获取当前登录用户的上下文信息，包括用户ID、用户名、租户ID、角色和权限。",
-        category = "base.context"
+        category = "base.context",
+        cacheable = true,
+        ttl = 0
     )
     public Map<String, Object> getCurrentUserContext() {
         log.info("Agent 调用获取当前用户上下文工具");
@@ -164,7 +169,9 @@ public class BaseToolProvider {
     @AgentTool(
         name = "base.hasPermission",
         description = "检查当前用户是否拥有指定权限。权限格式如：system:user:create、system:tenant:list 等。",
-        category = "base.permission"
+        category = "base.permission",
+        cacheable = true,
+        ttl = 0
     )
     public Map<String, Object> hasPermission(String permission) {
         log.info("Agent 调用检查权限工具: permission={}", permission);